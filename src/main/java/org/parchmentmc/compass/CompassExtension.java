@@ -17,6 +17,7 @@ public abstract class CompassExtension {
         getStagingData().convention(layout.getProjectDirectory().dir("staging"));
         getStagingDataFormat().convention(MappingIOFormat.ENIGMA_EXPLODED);
         getInputs().convention(layout.getProjectDirectory().dir("input"));
+        getParsedDataCacheSize().convention(256L * 1024 * 1024); // 256 MiB
 
         this.migration = objects.newInstance(MigrationConfiguration.class, this);
     }
@@ -35,6 +36,13 @@ public abstract class CompassExtension {
 
     public abstract DirectoryProperty getInputs();
 
+    /**
+     * The maximum total size in bytes of the cache of parsed mapping data, which is kept in the build directory.
+     *
+     * @return The maximum size of the parsed data cache.
+     */
+    public abstract Property<Long> getParsedDataCacheSize();
+
     /**
      * The configuration for the data migration system.
      *
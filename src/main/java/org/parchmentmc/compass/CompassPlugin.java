@@ -14,6 +14,8 @@ import org.gradle.language.base.plugins.LifecycleBasePlugin;
 import org.parchmentmc.compass.providers.DelegatingProvider;
 import org.parchmentmc.compass.providers.IntermediateProvider;
 import org.parchmentmc.compass.providers.mcpconfig.SRGProvider;
+import org.parchmentmc.compass.storage.cache.ChainedMappingCache;
+import org.parchmentmc.compass.storage.cache.ParsedDataCache;
 import org.parchmentmc.compass.tasks.CopyData;
 import org.parchmentmc.compass.tasks.CreateStagingData;
 import org.parchmentmc.compass.tasks.DisplayMinecraftVersions;
@@ -30,6 +32,8 @@ import javax.inject.Inject;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 
 public class CompassPlugin implements Plugin<Project> {
@@ -46,10 +50,17 @@ public class CompassPlugin implements Plugin<Project> {
     public static final String VALIDATE_DATA_TASK_NAME = "validateData";
     public static final String VALIDATE_STAGING_DATA_TASK_NAME = "validateStagingData";
 
+    public static final String PARSED_DATA_CACHE_DIRECTORY = "compass/parsedDataCache";
+    public static final String CHAINED_MAPPING_CACHE_DIRECTORY = "compass/chainedMappingCache";
+    private static final int CHAINED_MAPPING_CACHE_ENTRIES = 16;
+
     private final NamedDomainObjectSet<IntermediateProvider> intermediates;
     private ManifestsDownloader manifestsDownloader;
     private ObfuscationMapsDownloader obfuscationMapsDownloader;
     private BlackstoneDownloader blackstoneDownloader;
+    private Project project;
+    private ParsedDataCache parsedDataCache;
+    private ChainedMappingCache chainedMappingCache;
 
     @Inject
     public CompassPlugin(ObjectFactory objectFactory) {
@@ -58,6 +69,7 @@ public class CompassPlugin implements Plugin<Project> {
 
     @Override
     public void apply(Project project) {
+        this.project = project;
         final CompassExtension extension = project.getExtensions().create(COMPASS_EXTENSION, CompassExtension.class);
         final TaskContainer tasks = project.getTasks();
 
@@ -97,8 +109,14 @@ public class CompassPlugin implements Plugin<Project> {
         Provider<IMappingFile> obfMapProvider = obfuscationMapsDownloader.getObfuscationMap();
         Provider<IMappingFile> officialMapProvider = obfMapProvider.map(IMappingFile::reverse);
 
-        intermediates.add(new DelegatingProvider("obf", officialMapProvider.map(s -> s.chain(s.reverse()))));
-        intermediates.add(new DelegatingProvider("official", officialMapProvider));
+        // Mapped from the downloaded obfuscation map (and not the intermediates derived from it), so that querying the
+        // source files ensures they are downloaded without reversing or chaining any mapping files
+        Provider<List<File>> obfMapFiles = obfMapProvider.map(map -> Arrays.asList(
+                obfuscationMapsDownloader.getClientDownloadOutput().get().getAsFile(),
+                obfuscationMapsDownloader.getServerDownloadOutput().get().getAsFile()));
+
+        intermediates.add(new DelegatingProvider("obf", officialMapProvider.map(s -> s.chain(s.reverse())), obfMapFiles));
+        intermediates.add(new DelegatingProvider("official", officialMapProvider, obfMapFiles));
         intermediates.add(new SRGProvider("srg", project));
 
         createValidationTask(extension, tasks);
@@ -211,4 +229,33 @@ public class CompassPlugin implements Plugin<Project> {
     public BlackstoneDownloader getBlackstoneDownloader() {
         return blackstoneDownloader;
     }
+
+    /**
+     * Returns the cache of parsed mapping data, which is stored within the build directory.
+     *
+     * @return the parsed data cache
+     */
+    public ParsedDataCache getParsedDataCache() {
+        if (parsedDataCache == null) { // Created lazily, so the build directory and cache size are configured by then
+            final CompassExtension extension = project.getExtensions().getByType(CompassExtension.class);
+            parsedDataCache = new ParsedDataCache(
+                    project.getLayout().getBuildDirectory().dir(PARSED_DATA_CACHE_DIRECTORY).get().getAsFile().toPath(),
+                    extension.getParsedDataCacheSize().get(), project.getLogger());
+        }
+        return parsedDataCache;
+    }
+
+    /**
+     * Returns the cache of chained intermediate mapping files, which is stored within the build directory.
+     *
+     * @return the chained mapping cache
+     */
+    public ChainedMappingCache getChainedMappingCache() {
+        if (chainedMappingCache == null) { // Created lazily, so the build directory is configured by then
+            chainedMappingCache = new ChainedMappingCache(
+                    project.getLayout().getBuildDirectory().dir(CHAINED_MAPPING_CACHE_DIRECTORY).get().getAsFile().toPath(),
+                    CHAINED_MAPPING_CACHE_ENTRIES, project.getLogger());
+        }
+        return chainedMappingCache;
+    }
 }
@@ -24,4 +24,22 @@ public abstract class Sanitizer implements ModifyingDataVisitor, Named {
     public final String getName() {
         return name;
     }
+
+    /**
+     * Returns whether this sanitizer is independent of the order it runs in for the given data type, and so may share
+     * a traversal with other such sanitizers.
+     *
+     * <p>A sanitizer is order-independent for a data type if it only keeps, skips or deletes elements of that type
+     * (never modifying or replacing them), and only needs a single pass over the data. Sanitizers which are
+     * order-independent for every data type they {@linkplain #preVisit(DataType) visit} are run in a shared traversal
+     * by the {@link DataSanitizer}. For this, {@link #preVisit(DataType)} is also consulted before the traversal, so its
+     * result must not depend on the state of a visit.</p>
+     *
+     * @param type the data type
+     * @return whether this sanitizer is order-independent for the data type
+     * @see org.parchmentmc.compass.data.visitation.ModifyingDataVisitorGroup
+     */
+    public boolean isOrderIndependent(DataType type) {
+        return false;
+    }
 }
@@ -10,6 +10,7 @@ import org.parchmentmc.feather.metadata.MethodMetadata;
 import org.parchmentmc.feather.metadata.Reference;
 import org.parchmentmc.feather.metadata.SourceMetadata;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -20,10 +21,14 @@ import static org.parchmentmc.feather.mapping.MappingDataContainer.MethodData;
 
 /**
  * Moves data in bouncer methods to their targets.
+ *
+ * <p>Only the first pass visits every class. The later passes only revisit the classes containing either a bouncer
+ * or a target of a bouncer, which are collected in the first pass.</p>
  */
 public class BouncerDataMover extends Sanitizer {
     private final Map<String, MethodData> data = new HashMap<>();
     private final Set<MethodData> bouncersToDelete = new HashSet<>();
+    private final Set<String> classesToRevisit = new HashSet<>();
     private Pass pass = Pass.COLLECT_BOUNCERS;
 
     public BouncerDataMover() {
@@ -62,6 +67,8 @@ public class BouncerDataMover extends Sanitizer {
 
                 if (pass == Pass.COLLECT_BOUNCERS) {
                     data.put(targetRefString, methodData);
+                    classesToRevisit.add(classData.getName());
+                    classesToRevisit.add(targetRef.getOwner().getMojangName().orElse(""));
                 } else if (pass == Pass.REPLACE_AND_DELETE_BOUNCERS && data.remove(targetRefString) != null) {
                     // The target method did not exist (if it did, its entry would be removed in the map)
                     final String name = targetRef.getName().getMojangName().orElse(null);
@@ -104,12 +111,24 @@ public class BouncerDataMover extends Sanitizer {
         return Action.skip();
     }
 
+    @Override
+    public boolean revisitsModifiedClassesOnly() {
+        return true;
+    }
+
+    @Override
+    public Collection<String> getClassesToRevisit() {
+        // Kept across both revisits, as the last pass must revisit the bouncers whether or not they were modified
+        return classesToRevisit;
+    }
+
     @Override
     public boolean revisit() {
         pass = Pass.values()[pass.ordinal() + 1];
         if (pass == Pass.END) {
             data.clear();
             bouncersToDelete.clear();
+            classesToRevisit.clear();
         }
         return pass != Pass.END;
     }
@@ -34,6 +34,11 @@ public class DescriptorParametersSanitizer extends Sanitizer {
         return DataType.PARAMETERS.test(type);
     }
 
+    @Override
+    public boolean isOrderIndependent(DataType type) {
+        return true; // Only deletes parameters which are not in the descriptor
+    }
+
     @Override
     public Action<ParameterData> modifyParameter(ClassData classData, MethodData methodData, ParameterData paramData,
                                                  @Nullable ClassMetadata classMetadata, @Nullable MethodMetadata methodMetadata) {
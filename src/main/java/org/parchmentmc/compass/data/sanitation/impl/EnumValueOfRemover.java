@@ -26,6 +26,11 @@ public class EnumValueOfRemover extends Sanitizer {
         return DataType.METHODS.test(type);
     }
 
+    @Override
+    public boolean isOrderIndependent(DataType type) {
+        return true; // Only deletes the valueOf methods of enums
+    }
+
     @Override
     public Action<MethodData> modifyMethod(ClassData classData, MethodData methodData,
                                            @Nullable ClassMetadata classMetadata, @Nullable MethodMetadata methodMetadata) {
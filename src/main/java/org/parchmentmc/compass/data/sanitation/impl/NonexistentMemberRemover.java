@@ -26,6 +26,11 @@ public class NonexistentMemberRemover extends Sanitizer {
         return DataType.CLASSES.test(type) || DataType.FIELDS.test(type) || DataType.METHODS.test(type);
     }
 
+    @Override
+    public boolean isOrderIndependent(DataType type) {
+        return true; // Only deletes the members missing from the metadata
+    }
+
     @Override
     public Action<ClassData> modifyClass(ClassData classData, @Nullable ClassMetadata classMetadata) {
         return classMetadata == null ? Action.delete() : Action.nothing();
@@ -31,6 +31,11 @@ public class SyntheticsRemover extends Sanitizer {
         return DataType.FIELDS.test(type) || DataType.METHODS.test(type);
     }
 
+    @Override
+    public boolean isOrderIndependent(DataType type) {
+        return true; // Only deletes synthetic members
+    }
+
     @Override
     public Action<FieldData> modifyField(ClassData classData, FieldData fieldData,
                                          @Nullable ClassMetadata classMetadata, @Nullable FieldMetadata fieldMetadata) {
@@ -1,8 +1,9 @@
 package org.parchmentmc.compass.data.validation;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.parchmentmc.compass.data.visitation.ConcurrentDataVisitor;
 import org.parchmentmc.compass.data.visitation.DataVisitor.DataType;
-import org.parchmentmc.compass.util.MappingUtil;
+import org.parchmentmc.compass.util.MetadataIndex;
 import org.parchmentmc.compass.util.ResultContainer;
 import org.parchmentmc.feather.mapping.MappingDataContainer;
 import org.parchmentmc.feather.metadata.ClassMetadata;
@@ -14,11 +15,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import static com.google.common.collect.ImmutableList.copyOf;
 
@@ -41,6 +42,20 @@ public class DataValidator {
     }
 
     public ResultContainer<List<? extends ValidationIssue>> validate(MappingDataContainer data, @Nullable SourceMetadata metadata) {
+        return validate(data, metadata, className -> true);
+    }
+
+    /**
+     * Validates the given data, only visiting the classes whose names match the given filter. Packages are always
+     * visited.
+     *
+     * @param data        the mapping data
+     * @param metadata    the source metadata, may be {@code null}
+     * @param classFilter the filter for the names of the classes to validate
+     * @return the validation results
+     */
+    public ResultContainer<List<? extends ValidationIssue>> validate(MappingDataContainer data, @Nullable SourceMetadata metadata,
+                                                                     Predicate<? super String> classFilter) {
         final ResultContainer<List<? extends ValidationIssue>> results = new ResultContainer<>();
 
         final Set<Validator> validators = new LinkedHashSet<>(this.validators);
@@ -71,87 +86,125 @@ public class DataValidator {
         // Remove all validators which do not wish to visit classes (and children)
         ctx.preVisit(ctx.classValidators, validators, DataType.CLASSES);
 
-        final Map<String, ClassMetadata> classMetadataMap = MappingUtil.buildClassMetadataMap(metadata);
+        final MetadataIndex metadataIndex = MetadataIndex.of(metadata);
+        final List<MappingDataContainer.ClassData> classes = data.getClasses().stream()
+                .filter(classData -> classFilter.test(classData.getName()))
+                .collect(Collectors.toList());
+
+        final List<ResultContainer.ClassResult<List<? extends ValidationIssue>>> classResults;
+        if (isConcurrent(ctx.classValidators, classes.size())) {
+            // Each thread works on its own context, as the context is only shared across the classes visited in turn
+            final ThreadLocal<Context> contexts = ThreadLocal.withInitial(() -> new Context(validators.size()));
+            classResults = classes.parallelStream()
+                    .map(classData -> validateClass(contexts.get(), ctx.classValidators, metadataIndex, classData))
+                    .collect(Collectors.toList());
+        } else {
+            classResults = new ArrayList<>(classes.size());
+            for (MappingDataContainer.ClassData classData : classes) {
+                classResults.add(validateClass(ctx, ctx.classValidators, metadataIndex, classData));
+            }
+        }
 
-        for (MappingDataContainer.ClassData classData : data.getClasses()) {
-            final ClassMetadata classMetadata = classMetadataMap.get(classData.getName());
+        // Added in the order of the classes, regardless of the order in which they were validated
+        for (ResultContainer.ClassResult<List<? extends ValidationIssue>> classResult : classResults) {
+            // If this class (or its children) has issues, add it to the result
+            if (!classResult.getData().isEmpty() || !classResult.isEmpty()) {
+                results.addClass(classResult);
+            }
+        }
 
-            // Remove all validators which do not wish to visit the children (fields, methods) of this class
-            final ResultContainer.ClassResult<List<? extends ValidationIssue>> classResult =
-                    ctx.removeMatching(ctx.currentClassValidators, ctx.classValidators, ctx.classIssues,
-                            v -> !v.visitClass(classData, classMetadata),
-                            i -> new ResultContainer.ClassResult<>(classData.getName(), i));
+        ctx.postVisit(ctx.classValidators, DataType.CLASSES);
+        // All classes have been visited
 
-            // ********** Fields ********** //
-            // Remove all validators which do not wish to visit the fields of this class
-            ctx.preVisit(ctx.fieldValidators, ctx.currentClassValidators, DataType.FIELDS);
+        return results;
+    }
 
-            for (MappingDataContainer.FieldData fieldData : classData.getFields()) {
-                final FieldMetadata fieldMetadata = MappingUtil.getFieldMetadata(classMetadata, fieldData.getName());
+    /**
+     * Returns whether the classes may be validated concurrently, which is when every validator visiting the classes
+     * is a {@link ConcurrentDataVisitor} and there are at least as many classes as the highest of their thresholds.
+     */
+    private static boolean isConcurrent(Set<Validator> classValidators, int classCount) {
+        if (classValidators.isEmpty()) return false;
+        for (Validator validator : classValidators) {
+            if (!(validator instanceof ConcurrentDataVisitor)
+                    || classCount < ((ConcurrentDataVisitor) validator).getConcurrencyThreshold()) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-                ctx.matching(ctx.fieldValidators, ctx.fieldIssues,
-                        v -> v.visitField(classData, fieldData, classMetadata, fieldMetadata),
-                        i -> classResult.addField(new ResultContainer.FieldResult<>(fieldData.getName(), i)));
+    private static ResultContainer.ClassResult<List<? extends ValidationIssue>> validateClass(Context ctx,
+                                                                                         Set<Validator> classValidators,
+                                                                                         MetadataIndex metadataIndex,
+                                                                                         MappingDataContainer.ClassData classData) {
+        final ClassMetadata classMetadata = metadataIndex.getClassMetadata(classData.getName());
 
-                // Finished visiting one field
-            }
+        // Remove all validators which do not wish to visit the children (fields, methods) of this class
+        final ResultContainer.ClassResult<List<? extends ValidationIssue>> classResult =
+                ctx.removeMatching(ctx.currentClassValidators, classValidators, ctx.classIssues,
+                        v -> !v.visitClass(classData, classMetadata),
+                        i -> new ResultContainer.ClassResult<>(classData.getName(), i));
+
+        // ********** Fields ********** //
+        // Remove all validators which do not wish to visit the fields of this class
+        ctx.preVisit(ctx.fieldValidators, ctx.currentClassValidators, DataType.FIELDS);
 
-            ctx.postVisit(ctx.fieldValidators, DataType.FIELDS);
-            // All fields have been visited
+        for (MappingDataContainer.FieldData fieldData : classData.getFields()) {
+            final FieldMetadata fieldMetadata = metadataIndex.getFieldMetadata(classMetadata, fieldData.getName());
 
-            // ********** Methods ********** //
-            // Remove all validators which do not wish to visit methods (or its parameters)
-            ctx.preVisit(ctx.methodValidators, ctx.currentClassValidators, DataType.METHODS);
+            ctx.matching(ctx.fieldValidators, ctx.fieldIssues,
+                    v -> v.visitField(classData, fieldData, classMetadata, fieldMetadata),
+                    i -> classResult.addField(new ResultContainer.FieldResult<>(fieldData.getName(), i)));
 
-            for (MappingDataContainer.MethodData methodData : classData.getMethods()) {
-                final MethodMetadata methodMetadata = MappingUtil.getMethodMetadata(classMetadata, methodData.getName(),
-                        methodData.getDescriptor());
+            // Finished visiting one field
+        }
 
-                // Remove all validators which do not wish to visit the parameters of this method
-                final ResultContainer.MethodResult<List<? extends ValidationIssue>> methodResult =
-                        ctx.removeMatching(ctx.currentMethodValidators, ctx.methodValidators, ctx.methodIssues,
-                                v -> !v.visitMethod(classData, methodData, classMetadata, methodMetadata),
-                                i -> new ResultContainer.MethodResult<>(methodData.getName(), methodData.getDescriptor(), i));
+        ctx.postVisit(ctx.fieldValidators, DataType.FIELDS);
+        // All fields have been visited
 
-                // ********** Parameters ********** //
-                // Remove all validators which do not wish to visit parameters
-                ctx.preVisit(ctx.paramValidators, ctx.currentMethodValidators, DataType.PARAMETERS);
+        // ********** Methods ********** //
+        // Remove all validators which do not wish to visit methods (or its parameters)
+        ctx.preVisit(ctx.methodValidators, ctx.currentClassValidators, DataType.METHODS);
 
-                for (MappingDataContainer.ParameterData paramData : methodData.getParameters()) {
+        for (MappingDataContainer.MethodData methodData : classData.getMethods()) {
+            final MethodMetadata methodMetadata = metadataIndex.getMethodMetadata(classMetadata, methodData.getName(),
+                    methodData.getDescriptor());
 
-                    ctx.matching(ctx.paramValidators, ctx.paramIssues,
-                            v -> v.visitParameter(classData, methodData, paramData, classMetadata, methodMetadata),
-                            i -> methodResult.addParameter(new ResultContainer.ParameterResult<>(paramData.getIndex(), i)));
+            // Remove all validators which do not wish to visit the parameters of this method
+            final ResultContainer.MethodResult<List<? extends ValidationIssue>> methodResult =
+                    ctx.removeMatching(ctx.currentMethodValidators, ctx.methodValidators, ctx.methodIssues,
+                            v -> !v.visitMethod(classData, methodData, classMetadata, methodMetadata),
+                            i -> new ResultContainer.MethodResult<>(methodData.getName(), methodData.getDescriptor(), i));
 
-                    // Finished visiting one parameter
-                }
+            // ********** Parameters ********** //
+            // Remove all validators which do not wish to visit parameters
+            ctx.preVisit(ctx.paramValidators, ctx.currentMethodValidators, DataType.PARAMETERS);
 
-                ctx.postVisit(ctx.paramValidators, DataType.PARAMETERS);
-                // All parameters of this method have been visited
+            for (MappingDataContainer.ParameterData paramData : methodData.getParameters()) {
 
-                // If this method (or its parameter) has issues, add it to the class' result
-                if (!methodResult.getData().isEmpty() || !methodResult.isEmpty()) {
-                    classResult.addMethod(methodResult);
-                }
+                ctx.matching(ctx.paramValidators, ctx.paramIssues,
+                        v -> v.visitParameter(classData, methodData, paramData, classMetadata, methodMetadata),
+                        i -> methodResult.addParameter(new ResultContainer.ParameterResult<>(paramData.getIndex(), i)));
 
-                // Finished visiting one method
+                // Finished visiting one parameter
             }
 
-            ctx.postVisit(ctx.methodValidators, DataType.METHODS);
-            // All methods of this class have been visited
+            ctx.postVisit(ctx.paramValidators, DataType.PARAMETERS);
+            // All parameters of this method have been visited
 
-            // If this class (or its children) has issues, add it to the result
-            if (!classResult.getData().isEmpty() || !classResult.isEmpty()) {
-                results.addClass(classResult);
+            // If this method (or its parameter) has issues, add it to the class' result
+            if (!methodResult.getData().isEmpty() || !methodResult.isEmpty()) {
+                classResult.addMethod(methodResult);
             }
 
-            // Finished visiting one class
+            // Finished visiting one method
         }
 
-        ctx.postVisit(ctx.classValidators, DataType.CLASSES);
-        // All classes have been visited
+        ctx.postVisit(ctx.methodValidators, DataType.METHODS);
+        // All methods of this class have been visited
 
-        return results;
+        return classResult;
     }
 
     private static class Context {
@@ -182,9 +235,9 @@ public class DataValidator {
                              Consumer<Validator> validatorConsumer, Consumer<List<? extends ValidationIssue>> issuesConsumer) {
             issues.clear();
             workingSet.forEach(v -> {
-                v.issueHandler = issues::add;
+                v.issueHandler.set(issues::add);
                 validatorConsumer.accept(v);
-                v.issueHandler = null;
+                v.issueHandler.remove();
             });
             if (!issues.isEmpty()) {
                 issuesConsumer.accept(copyOf(issues));
@@ -199,9 +252,9 @@ public class DataValidator {
             workingSet.clear();
             workingSet.addAll(superset);
             workingSet.removeIf(v -> {
-                v.issueHandler = issues::add;
+                v.issueHandler.set(issues::add);
                 boolean walkChildren = validatorPredicate.test(v);
-                v.issueHandler = null;
+                v.issueHandler.remove();
                 return walkChildren;
             });
             C result = resultCreator.apply(copyOf(issues));
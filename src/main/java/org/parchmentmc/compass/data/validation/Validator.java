@@ -2,6 +2,7 @@ package org.parchmentmc.compass.data.validation;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.gradle.api.Named;
+import org.parchmentmc.compass.data.visitation.ConcurrentDataVisitor;
 import org.parchmentmc.compass.data.visitation.DataVisitor;
 
 import java.util.function.Consumer;
@@ -15,11 +16,15 @@ import java.util.function.Consumer;
  *
  * <p>Implementors should override one of the {@code visit} methods and implement their validation logic.</p>
  *
+ * <p>Validators which keep no state across classes may implement {@link ConcurrentDataVisitor}, in which case the
+ * classes may be validated concurrently if every validator does so.</p>
+ *
  * @see org.parchmentmc.feather.mapping.MappingDataContainer
  */
 public abstract class Validator implements Named, DataVisitor {
     private final String name;
-    Consumer<? super ValidationIssue> issueHandler;
+    // Per thread, as the classes may be validated concurrently if the validator is a ConcurrentDataVisitor
+    final ThreadLocal<Consumer<? super ValidationIssue>> issueHandler = new ThreadLocal<>();
 
     protected Validator(String name) {
         this.name = name;
@@ -43,14 +48,16 @@ public abstract class Validator implements Named, DataVisitor {
     }
 
     protected void error(String message) {
-        if (issueHandler != null) {
-            issueHandler.accept(new ValidationIssue.ValidationError(this, message));
+        final Consumer<? super ValidationIssue> handler = issueHandler.get();
+        if (handler != null) {
+            handler.accept(new ValidationIssue.ValidationError(this, message));
         }
     }
 
     protected void warning(String message) {
-        if (issueHandler != null) {
-            issueHandler.accept(new ValidationIssue.ValidationWarning(this, message));
+        final Consumer<? super ValidationIssue> handler = issueHandler.get();
+        if (handler != null) {
+            handler.accept(new ValidationIssue.ValidationWarning(this, message));
         }
     }
 }
@@ -2,6 +2,7 @@ package org.parchmentmc.compass.data.validation.impl;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.parchmentmc.compass.data.validation.Validator;
+import org.parchmentmc.compass.data.visitation.ConcurrentDataVisitor;
 import org.parchmentmc.feather.metadata.ClassMetadata;
 import org.parchmentmc.feather.metadata.MethodMetadata;
 import org.parchmentmc.feather.util.AccessFlag;
@@ -13,7 +14,7 @@ import static org.parchmentmc.feather.mapping.MappingDataContainer.ParameterData
 /**
  * Validates that neither bridge methods are not documented, nor are their parameters named or documented.
  */
-public class BridgeValidator extends Validator {
+public class BridgeValidator extends Validator implements ConcurrentDataVisitor {
     private static final String BRIDGE_METHOD_NAME_PREFIX = "access$";
 
     public BridgeValidator() {
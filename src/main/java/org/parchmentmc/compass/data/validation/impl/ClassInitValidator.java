@@ -2,6 +2,7 @@ package org.parchmentmc.compass.data.validation.impl;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.parchmentmc.compass.data.validation.Validator;
+import org.parchmentmc.compass.data.visitation.ConcurrentDataVisitor;
 import org.parchmentmc.feather.metadata.ClassMetadata;
 import org.parchmentmc.feather.metadata.MethodMetadata;
 
@@ -15,7 +16,7 @@ import static org.parchmentmc.feather.mapping.MappingDataContainer.ParameterData
  * @see <a href="https://docs.oracle.com/javase/specs/jvms/se8/html/jvms-2.html#jvms-2.9">The Java&reg; Virtual
  * Machine Specification, Java SE 8 Edition, &sect;2.9 "Special Methods"</a>
  */
-public class ClassInitValidator extends Validator {
+public class ClassInitValidator extends Validator implements ConcurrentDataVisitor {
     private static final String CLASS_INITIALIZATION_METHOD_NAME = "<clinit>";
 
     public ClassInitValidator() {
@@ -2,6 +2,7 @@ package org.parchmentmc.compass.data.validation.impl;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.parchmentmc.compass.data.validation.Validator;
+import org.parchmentmc.compass.data.visitation.ConcurrentDataVisitor;
 import org.parchmentmc.feather.mapping.MappingDataContainer.ClassData;
 import org.parchmentmc.feather.mapping.MappingDataContainer.FieldData;
 import org.parchmentmc.feather.mapping.MappingDataContainer.MethodData;
@@ -14,7 +15,7 @@ import org.parchmentmc.feather.util.AccessFlag;
 /**
  * Validates that the <code>{@value #VALUES_FIELD_NAME}</code> field of {@link Enum enum classes} is not documented.
  */
-public class EnumValidator extends Validator {
+public class EnumValidator extends Validator implements ConcurrentDataVisitor {
     public static final String VALUES_FIELD_NAME = "$VALUES";
     public static final String VALUE_OF_METHOD_NAME = "valueOf";
     public static final String VALUE_OF_METHOD_DESCRIPTOR_FORMAT = "(Ljava/lang/String;)L%s;";
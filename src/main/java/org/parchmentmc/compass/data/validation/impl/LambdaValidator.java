@@ -2,6 +2,7 @@ package org.parchmentmc.compass.data.validation.impl;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.parchmentmc.compass.data.validation.Validator;
+import org.parchmentmc.compass.data.visitation.ConcurrentDataVisitor;
 import org.parchmentmc.feather.metadata.ClassMetadata;
 import org.parchmentmc.feather.metadata.MethodMetadata;
 
@@ -12,7 +13,7 @@ import static org.parchmentmc.feather.mapping.MappingDataContainer.ParameterData
 /**
  * Validates that neither lambda methods nor their parameters are documented.
  */
-public class LambdaValidator extends Validator {
+public class LambdaValidator extends Validator implements ConcurrentDataVisitor {
     private static final String LAMBDA_METHOD_NAME_PREFIX = "lambda$";
 
     public LambdaValidator() {
@@ -2,6 +2,7 @@ package org.parchmentmc.compass.data.validation.impl;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.parchmentmc.compass.data.validation.Validator;
+import org.parchmentmc.compass.data.visitation.ConcurrentDataVisitor;
 import org.parchmentmc.feather.metadata.ClassMetadata;
 import org.parchmentmc.feather.metadata.MethodMetadata;
 
@@ -16,7 +17,7 @@ import static org.parchmentmc.feather.mapping.MappingDataContainer.MethodData;
  *     <li>The methods javadoc does not contain the {@code @param} specification.</li>
  * </ol>
  */
-public class MethodStandardsValidator extends Validator {
+public class MethodStandardsValidator extends Validator implements ConcurrentDataVisitor {
     public MethodStandardsValidator() {
         super("method standards");
     }
@@ -3,6 +3,7 @@ package org.parchmentmc.compass.data.validation.impl;
 import com.google.common.base.Preconditions;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.parchmentmc.compass.data.validation.Validator;
+import org.parchmentmc.compass.data.visitation.ConcurrentDataVisitor;
 import org.parchmentmc.feather.metadata.ClassMetadata;
 import org.parchmentmc.feather.metadata.MethodMetadata;
 
@@ -31,7 +32,7 @@ import static org.parchmentmc.feather.mapping.MappingDataContainer.ParameterData
  * @see <a href="https://docs.oracle.com/javase/specs/jls/se16/html/jls-3.html#jls-3.10.8">JLS 16,
  * &sect;3.10.8 "The Null Literal"</a>
  */
-public class ParameterStandardsValidator extends Validator {
+public class ParameterStandardsValidator extends Validator implements ConcurrentDataVisitor {
     public static final String DEFAULT_STANDARDS_REGEX = "[a-z][A-Za-z0-9]*";
     private static final Pattern STANDARDS_REGEX_PATTERN = Pattern.compile(DEFAULT_STANDARDS_REGEX);
     private Pattern regexPattern = STANDARDS_REGEX_PATTERN;
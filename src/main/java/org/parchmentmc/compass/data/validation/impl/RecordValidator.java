@@ -2,6 +2,7 @@ package org.parchmentmc.compass.data.validation.impl;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.parchmentmc.compass.data.validation.Validator;
+import org.parchmentmc.compass.data.visitation.ConcurrentDataVisitor;
 import org.parchmentmc.compass.util.MethodDescriptorVisitor;
 import org.parchmentmc.feather.mapping.MappingDataContainer;
 import org.parchmentmc.feather.mapping.MappingDataContainer.ClassData;
@@ -12,10 +13,10 @@ import org.parchmentmc.feather.metadata.RecordMetadata;
 import org.parchmentmc.feather.metadata.WithName;
 import org.parchmentmc.feather.metadata.WithType;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -25,8 +26,8 @@ import java.util.stream.Collectors;
  * @see <a href="https://docs.oracle.com/javase/specs/jls/se17/html/jls-8.html#jls-8.10.4.1">The Java&reg; Language
  * Specification, Java SE 17 Edition, &sect;8.10.4.1 "Normal Canonical Constructors"</a>
  */
-public class RecordValidator extends Validator {
-    private final Map<String, String> classesToCanonicalDescriptors = new HashMap<>();
+public class RecordValidator extends Validator implements ConcurrentDataVisitor {
+    private final Map<String, String> classesToCanonicalDescriptors = new ConcurrentHashMap<>();
 
     public RecordValidator() {
         super("record canonical constructor parameters");
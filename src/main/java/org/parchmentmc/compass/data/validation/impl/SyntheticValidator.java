@@ -2,6 +2,7 @@ package org.parchmentmc.compass.data.validation.impl;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.parchmentmc.compass.data.validation.Validator;
+import org.parchmentmc.compass.data.visitation.ConcurrentDataVisitor;
 import org.parchmentmc.feather.metadata.ClassMetadata;
 import org.parchmentmc.feather.metadata.FieldMetadata;
 import org.parchmentmc.feather.metadata.MethodMetadata;
@@ -15,7 +16,7 @@ import static org.parchmentmc.feather.mapping.MappingDataContainer.ParameterData
 /**
  * Validates that synthetic fields, methods, and their parameters are not documented (or named, for parameters).
  */
-public class SyntheticValidator extends Validator {
+public class SyntheticValidator extends Validator implements ConcurrentDataVisitor {
     public SyntheticValidator() {
         super("synthetic fields and methods");
     }
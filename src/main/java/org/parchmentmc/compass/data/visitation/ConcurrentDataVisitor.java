@@ -0,0 +1,51 @@
+package org.parchmentmc.compass.data.visitation;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.parchmentmc.feather.mapping.MappingDataContainer;
+import org.parchmentmc.feather.metadata.SourceMetadata;
+
+/**
+ * A {@link DataVisitor} which keeps no state across classes, and so may visit multiple classes at the same time.
+ *
+ * <p>When {@link DataVisitor#visit(int, DataVisitor, MappingDataContainer, SourceMetadata)} is called with a visitor
+ * of this type, the classes of the container are split across a {@link java.util.concurrent.ForkJoinPool} and visited
+ * concurrently. The order of calls is then guaranteed as follows:</p>
+ * <ul>
+ *     <li>{@link #visit(MappingDataContainer, SourceMetadata)}, {@link #revisit()}, and the {@link #preVisit(DataType)}
+ *     and {@link #postVisit(DataType)} calls for {@link DataType#PACKAGES} and {@link DataType#CLASSES} are made from
+ *     the calling thread, in the same order as for any other visitor.</li>
+ *     <li>{@code preVisit(CLASSES)} happens-before the visitation of any class, and all visitations of classes
+ *     happen-before {@code postVisit(CLASSES)}.</li>
+ *     <li>All calls for a single class, from {@link #visitClass} through the {@code preVisit} and {@code postVisit}
+ *     calls of its {@linkplain DataType#FIELDS fields}, {@linkplain DataType#METHODS methods} and
+ *     {@linkplain DataType#PARAMETERS parameters}, are made from one thread, in the same order as for any other
+ *     visitor.</li>
+ *     <li>Calls for different classes may happen concurrently, and in any order relative to each other.</li>
+ * </ul>
+ *
+ * <p>Therefore, implementations must be safe for concurrent calls of the class-level and member-level methods, such as
+ * by only collecting results into concurrent collections. Only {@link DataVisitor#visit(int, DataVisitor,
+ * MappingDataContainer, SourceMetadata)} visits concurrently; modifying visitation and {@link DataVisitorStream} visit
+ * classes one at a time regardless.</p>
+ */
+public interface ConcurrentDataVisitor extends DataVisitor {
+    /**
+     * Returns the minimum number of classes for the container to be visited concurrently. Containers with fewer
+     * classes are visited sequentially on the calling thread, as splitting them would cost more than it saves.
+     *
+     * @return the minimum number of classes for concurrent visitation
+     */
+    default int getConcurrencyThreshold() {
+        return 256;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This is always called from the thread which started the visitation.</p>
+     */
+    @Override
+    default boolean visit(MappingDataContainer container, @Nullable SourceMetadata metadata) {
+        return true;
+    }
+}
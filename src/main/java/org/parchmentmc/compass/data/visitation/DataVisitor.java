@@ -130,6 +130,7 @@ public interface DataVisitor {
      * @param container    the mapping data container to be visited
      * @param metadata     the source metadata, may be {@code null}
      * @throws IllegalArgumentException if the revisit limit is negative
+     * @see ConcurrentDataVisitor
      */
     static void visit(int revisitLimit, DataVisitor visitor, MappingDataContainer container, @Nullable SourceMetadata metadata) {
         Preconditions.checkArgument(revisitLimit >= 0, "Revisit limit cannot be negative");
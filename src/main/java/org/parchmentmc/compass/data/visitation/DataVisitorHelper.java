@@ -2,8 +2,9 @@ package org.parchmentmc.compass.data.visitation;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.parchmentmc.compass.data.visitation.DataVisitor.DataType;
+import org.parchmentmc.compass.data.visitation.EditJournal.Kind;
 import org.parchmentmc.compass.data.visitation.ModifyingDataVisitor.Action;
-import org.parchmentmc.compass.util.MappingUtil;
+import org.parchmentmc.compass.util.MetadataIndex;
 import org.parchmentmc.feather.mapping.MappingDataBuilder;
 import org.parchmentmc.feather.mapping.MappingDataBuilder.MutablePackageData;
 import org.parchmentmc.feather.mapping.MappingDataContainer;
@@ -12,9 +13,13 @@ import org.parchmentmc.feather.metadata.FieldMetadata;
 import org.parchmentmc.feather.metadata.MethodMetadata;
 import org.parchmentmc.feather.metadata.SourceMetadata;
 
-import java.util.HashSet;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import static org.parchmentmc.feather.mapping.MappingDataBuilder.ClassData;
 import static org.parchmentmc.feather.mapping.MappingDataBuilder.FieldData;
@@ -30,7 +35,7 @@ import static org.parchmentmc.feather.mapping.MappingDataBuilder.ParameterData;
 class DataVisitorHelper {
     public static void visit(int revisitLimit, DataVisitor visitor, MappingDataContainer container,
                              @Nullable SourceMetadata metadata) {
-        Map<String, ClassMetadata> classMetadataMap = null;
+        MetadataIndex metadataIndex = null;
         int visitCount = 0;
         do {
             if (!visitor.visit(container, metadata)) return;
@@ -47,214 +52,364 @@ class DataVisitorHelper {
 
             if (!visitor.preVisit(DataType.CLASSES)) continue;
 
-            if (classMetadataMap == null) { // Build the map once, only when required
-                classMetadataMap = MappingUtil.buildClassMetadataMap(metadata);
+            if (metadataIndex == null) { // Build the index once, only when required
+                metadataIndex = MetadataIndex.of(metadata);
             }
 
             // Classes
-            for (ClassData classData : container.getClasses()) {
-                @Nullable ClassMetadata classMeta = classMetadataMap.get(classData.getName());
+            if (visitor instanceof ConcurrentDataVisitor
+                    && container.getClasses().size() >= ((ConcurrentDataVisitor) visitor).getConcurrencyThreshold()) {
+                visitClassesConcurrently(visitor, metadataIndex, container.getClasses());
+            } else {
+                for (ClassData classData : container.getClasses()) {
+                    visitClass(visitor, metadataIndex, classData, metadataIndex.getClassMetadata(classData.getName()));
+                }
+            }
 
-                if (!visitor.visitClass(classData, classMeta)) continue;
+            visitor.postVisit(DataType.CLASSES);
+        } while (visitCount < revisitLimit && visitor.revisit());
+    }
 
-                // Fields
-                if (visitor.preVisit(DataType.FIELDS)) {
-                    for (FieldData fieldData : classData.getFields()) {
-                        @Nullable FieldMetadata fieldMeta = MappingUtil.getFieldMetadata(classMeta, fieldData.getName());
+    // Returns once all classes are visited, so the caller's postVisit(CLASSES) happens after every class visitation
+    private static void visitClassesConcurrently(DataVisitor visitor, MetadataIndex metadataIndex,
+                                                 Collection<? extends ClassData> classes) {
+        final List<? extends ClassData> classList = classes instanceof List
+                ? (List<? extends ClassData>) classes : new ArrayList<>(classes);
+        ForkJoinPool.commonPool().invoke(new VisitClassesTask(visitor, metadataIndex, classList, 0, classList.size()));
+    }
 
-                        visitor.visitField(classData, fieldData, classMeta, fieldMeta);
-                    }
+    static void visitClass(DataVisitor visitor, MetadataIndex metadataIndex, ClassData classData,
+                           @Nullable ClassMetadata classMeta) {
+        if (!visitor.visitClass(classData, classMeta)) return;
 
-                    visitor.postVisit(DataType.FIELDS);
-                }
+        // Fields
+        if (visitor.preVisit(DataType.FIELDS)) {
+            for (FieldData fieldData : classData.getFields()) {
+                @Nullable FieldMetadata fieldMeta = metadataIndex.getFieldMetadata(classMeta, fieldData.getName());
 
-                // Methods
-                if (!visitor.preVisit(DataType.METHODS)) continue;
+                visitor.visitField(classData, fieldData, classMeta, fieldMeta);
+            }
 
-                for (MethodData methodData : classData.getMethods()) {
-                    @Nullable MethodMetadata methodMeta = MappingUtil.getMethodMetadata(classMeta, methodData.getName(), methodData.getDescriptor());
+            visitor.postVisit(DataType.FIELDS);
+        }
 
-                    if (!visitor.visitMethod(classData, methodData, classMeta, methodMeta)) continue;
+        // Methods
+        if (!visitor.preVisit(DataType.METHODS)) return;
 
-                    // Parameters
-                    if (!visitor.preVisit(DataType.PARAMETERS)) continue;
+        for (MethodData methodData : classData.getMethods()) {
+            @Nullable MethodMetadata methodMeta = metadataIndex.getMethodMetadata(classMeta, methodData.getName(), methodData.getDescriptor());
 
-                    for (ParameterData paramData : methodData.getParameters()) {
-                        visitor.visitParameter(classData, methodData, paramData, classMeta, methodMeta);
-                    }
+            if (!visitor.visitMethod(classData, methodData, classMeta, methodMeta)) continue;
 
-                    visitor.postVisit(DataType.PARAMETERS);
-                }
+            // Parameters
+            if (!visitor.preVisit(DataType.PARAMETERS)) continue;
 
-                visitor.postVisit(DataType.METHODS);
+            for (ParameterData paramData : methodData.getParameters()) {
+                visitor.visitParameter(classData, methodData, paramData, classMeta, methodMeta);
             }
 
-            visitor.postVisit(DataType.CLASSES);
-        } while (visitCount < revisitLimit && visitor.revisit());
+            visitor.postVisit(DataType.PARAMETERS);
+        }
+
+        visitor.postVisit(DataType.METHODS);
+    }
+
+    // Visits a range of classes, splitting it in halves until the range is small enough to visit directly
+    private static class VisitClassesTask extends RecursiveAction {
+        private static final int SPLIT_THRESHOLD = 64;
+
+        private final DataVisitor visitor;
+        private final MetadataIndex metadataIndex;
+        private final List<? extends ClassData> classes;
+        private final int start;
+        private final int end;
+
+        VisitClassesTask(DataVisitor visitor, MetadataIndex metadataIndex, List<? extends ClassData> classes,
+                         int start, int end) {
+            this.visitor = visitor;
+            this.metadataIndex = metadataIndex;
+            this.classes = classes;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= SPLIT_THRESHOLD) {
+                for (int i = start; i < end; i++) {
+                    final ClassData classData = classes.get(i);
+                    visitClass(visitor, metadataIndex, classData, metadataIndex.getClassMetadata(classData.getName()));
+                }
+                return;
+            }
+
+            final int middle = (start + end) >>> 1;
+            invokeAll(new VisitClassesTask(visitor, metadataIndex, classes, start, middle),
+                    new VisitClassesTask(visitor, metadataIndex, classes, middle, end));
+        }
     }
 
     // ModifyingDataVisitor
 
     public static void visitModify(int revisitLimit, ModifyingDataVisitor visitor, MappingDataBuilder data,
-                                   @Nullable SourceMetadata metadata) {
-        Map<String, ClassMetadata> classMetadataMap = null;
-        Context ctx = new Context(visitor);
+                                   @Nullable SourceMetadata metadata, @Nullable EditJournal recordingJournal) {
+        // The edits are applied through a journal regardless; without one to record into, a scratch journal is used and
+        // cleared once its edits are applied, so no data of the actions is kept
+        final boolean recording = recordingJournal != null;
+        final EditJournal journal = recording ? recordingJournal : new EditJournal();
+        Context ctx = new Context(visitor, journal);
         int visitCount = 0;
+        // The names of the classes to visit in this pass, or null to visit all classes
+        @Nullable Set<String> classesToVisit = null;
         do {
             if (!visitor.visit(data, metadata)) return;
             visitCount++;
-            ctx.reset(visitor);
+            final @Nullable Set<String> visiting = classesToVisit;
+            classesToVisit = null;
 
             // Packages
             if (visitor.preVisit(DataType.PACKAGES)) {
+                final int start = journal.size();
                 for (MutablePackageData packageData : data.getPackages()) {
                     final Action<PackageData> action = visitor.modifyPackage(packageData);
 
                     if (action.type == Action.ActionType.MODIFY && action.data != null) {
                         packageData.clearJavadoc().addJavadoc(action.data.getJavadoc());
-                    } else if (action.type == Action.ActionType.REPLACE && action.data != null) {
-                        ctx.packagesToAdd.add(action.data);
+                        journal.record(DataType.PACKAGES, Kind.MODIFY, null, packageData.getName(), null, (byte) 0, action.data);
                     }
                     if (action.type.removeExisting || packageData.getJavadoc().isEmpty()) {
-                        ctx.packagesToRemove.add(packageData.getName());
+                        journal.record(DataType.PACKAGES, Kind.REMOVE, null, packageData.getName(), null, (byte) 0, null);
+                    }
+                    if (action.type == Action.ActionType.REPLACE && action.data != null) {
+                        journal.record(DataType.PACKAGES, Kind.ADD, null, action.data.getName(), null, (byte) 0, action.data);
                     }
                     // Ignore skip, as package data have no children
                 }
-                ctx.packagesToRemove.forEach(data::removePackage);
-                ctx.packagesToRemove.clear();
-                ctx.packagesToAdd.forEach(p -> data.getOrCreatePackage(p.getName()).addJavadoc(p.getJavadoc()));
-                ctx.packagesToAdd.clear();
+                applyPackages(journal, start, data);
+                if (!recording) journal.clear();
 
                 visitor.postVisit(DataType.PACKAGES);
             }
 
             if (!visitor.preVisit(DataType.CLASSES)) continue;
 
-            if (classMetadataMap == null) { // Build the map once, only when required
-                classMetadataMap = MappingUtil.buildClassMetadataMap(metadata);
+            if (ctx.metadataIndex == null) { // Build the index once, only when required
+                ctx.metadataIndex = MetadataIndex.of(metadata);
             }
 
             // Classes
-            for (MutableClassData classData : data.getClasses()) {
-                @Nullable ClassMetadata classMeta = classMetadataMap.get(classData.getName());
-
-                if (sanitizeClass(ctx, classData, classMeta)) {
-                    ctx.classesToRemove.add(classData.getName());
-                }
+            final int start = journal.size();
+            for (MutableClassData classData : visiting != null ? getClasses(data, visiting) : data.getClasses()) {
+                sanitizeClass(ctx, classData, ctx.metadataIndex.getClassMetadata(classData.getName()));
             }
-            ctx.classesToRemove.forEach(data::removeClass);
-            ctx.classesToRemove.clear();
-            ctx.classesToAdd.forEach(c -> copyClass(data.getOrCreateClass(c.getName()), c));
-            ctx.classesToAdd.clear();
+            applyClasses(journal, start, data);
 
             visitor.postVisit(DataType.CLASSES);
+
+            if (visitor.revisitsModifiedClassesOnly()) {
+                // Sorted, so the classes are revisited in a stable order
+                classesToVisit = new TreeSet<>(visitor.getClassesToRevisit());
+                // Every entry of the class level has a class name, as either the edited class or the owner of a member
+                for (int i = start; i < journal.size(); i++) {
+                    classesToVisit.add(journal.getClassName(i));
+                }
+            }
+            if (!recording) journal.clear();
         } while (visitCount < revisitLimit && visitor.revisit());
     }
 
-    // Return true to delete
-    private static boolean sanitizeClass(Context ctx, MutableClassData classData, @Nullable ClassMetadata classMeta) {
+    private static List<MutableClassData> getClasses(MappingDataBuilder data, Set<String> classNames) {
+        final List<MutableClassData> classes = new ArrayList<>(classNames.size());
+        for (String className : classNames) {
+            final MutableClassData classData = data.getClass(className);
+            if (classData != null) { // Classes which have since been deleted are skipped
+                classes.add(classData);
+            }
+        }
+        return classes;
+    }
+
+    private static void sanitizeClass(Context ctx, MutableClassData classData, @Nullable ClassMetadata classMeta) {
         final Action<ClassData> action = ctx.visitor.modifyClass(classData, classMeta);
 
         if (action.type == Action.ActionType.MODIFY && action.data != null) {
             classData.clearJavadoc().addJavadoc(action.data.getJavadoc());
-        } else if (action.type == Action.ActionType.REPLACE && action.data != null) {
-            ctx.classesToAdd.add(action.data);
+            ctx.journal.record(DataType.CLASSES, Kind.MODIFY, classData.getName(), classData.getName(), null, (byte) 0, action.data);
         }
 
         if (!action.skip) {
             // Visit fields
             if (ctx.visitor.preVisit(DataType.FIELDS)) {
+                final int start = ctx.journal.size();
                 for (MutableFieldData fieldData : classData.getFields()) {
-                    if (sanitizeField(ctx, classData, fieldData, classMeta)) {
-                        ctx.fieldsToRemove.add(fieldData.getName());
-                    }
+                    sanitizeField(ctx, classData, fieldData, classMeta);
                 }
-                ctx.fieldsToRemove.forEach(classData::removeField);
-                ctx.fieldsToRemove.clear();
-                ctx.fieldsToAdd.forEach(f -> classData.createField(f.getName(), f.getDescriptor()).addJavadoc(f.getJavadoc()));
-                ctx.fieldsToAdd.clear();
+                applyFields(ctx.journal, start, classData);
 
                 ctx.visitor.postVisit(DataType.FIELDS);
             }
 
             // Visit methods
             if (ctx.visitor.preVisit(DataType.METHODS)) {
+                final int start = ctx.journal.size();
                 for (MutableMethodData methodData : classData.getMethods()) {
-                    if (sanitizeMethod(ctx, classData, methodData, classMeta)) {
-                        ctx.methodsToRemove.add(new String[]{methodData.getName(), methodData.getDescriptor()});
-                    }
+                    sanitizeMethod(ctx, classData, methodData, classMeta);
                 }
-                ctx.methodsToRemove.forEach(arr -> classData.removeMethod(arr[0], arr[1]));
-                ctx.methodsToRemove.clear();
-                ctx.methodsToAdd.forEach(m -> copyMethod(classData.createMethod(m.getName(), m.getDescriptor()), m));
-                ctx.methodsToAdd.clear();
+                applyMethods(ctx.journal, start, classData);
 
                 ctx.visitor.postVisit(DataType.METHODS);
             }
         }
 
-        return action.type.removeExisting
-                || (classData.getJavadoc().isEmpty() && classData.getFields().isEmpty() && classData.getMethods().isEmpty());
+        if (action.type.removeExisting
+                || (classData.getJavadoc().isEmpty() && classData.getFields().isEmpty() && classData.getMethods().isEmpty())) {
+            ctx.journal.record(DataType.CLASSES, Kind.REMOVE, classData.getName(), classData.getName(), null, (byte) 0, null);
+        }
+        if (action.type == Action.ActionType.REPLACE && action.data != null) {
+            ctx.journal.record(DataType.CLASSES, Kind.ADD, action.data.getName(), action.data.getName(), null, (byte) 0, action.data);
+        }
     }
 
-    private static boolean sanitizeField(Context ctx, ClassData classData, MutableFieldData fieldData,
-                                         @Nullable ClassMetadata classMeta) {
+    private static void sanitizeField(Context ctx, ClassData classData, MutableFieldData fieldData,
+                                      @Nullable ClassMetadata classMeta) {
         final Action<FieldData> action = ctx.visitor.modifyField(classData, fieldData,
-                classMeta, MappingUtil.getFieldMetadata(classMeta, fieldData.getName()));
+                classMeta, ctx.getMetadataIndex().getFieldMetadata(classMeta, fieldData.getName()));
 
         if (action.type == Action.ActionType.MODIFY && action.data != null) {
             fieldData.clearJavadoc().addJavadoc(action.data.getJavadoc());
-        } else if (action.type == Action.ActionType.REPLACE && action.data != null) {
-            ctx.fieldsToAdd.add(action.data);
+            ctx.journal.record(DataType.FIELDS, Kind.MODIFY, classData.getName(), fieldData.getName(),
+                    fieldData.getDescriptor(), (byte) 0, action.data);
         }
 
-        return action.type.removeExisting
-                || (fieldData.getJavadoc().isEmpty());
+        if (action.type.removeExisting
+                || (fieldData.getJavadoc().isEmpty())) {
+            ctx.journal.record(DataType.FIELDS, Kind.REMOVE, classData.getName(), fieldData.getName(),
+                    fieldData.getDescriptor(), (byte) 0, null);
+        }
+        if (action.type == Action.ActionType.REPLACE && action.data != null) {
+            ctx.journal.record(DataType.FIELDS, Kind.ADD, classData.getName(), action.data.getName(),
+                    action.data.getDescriptor(), (byte) 0, action.data);
+        }
     }
 
-    private static boolean sanitizeMethod(Context ctx, ClassData classData, MutableMethodData methodData,
-                                          @Nullable ClassMetadata classMeta) {
-        final MethodMetadata methodMeta = MappingUtil.getMethodMetadata(classMeta, methodData.getName(), methodData.getDescriptor());
+    private static void sanitizeMethod(Context ctx, ClassData classData, MutableMethodData methodData,
+                                       @Nullable ClassMetadata classMeta) {
+        final MethodMetadata methodMeta = ctx.getMetadataIndex().getMethodMetadata(classMeta, methodData.getName(), methodData.getDescriptor());
 
         final Action<MethodData> action = ctx.visitor.modifyMethod(classData, methodData, classMeta, methodMeta);
 
         if (action.type == Action.ActionType.MODIFY && action.data != null) {
             methodData.clearJavadoc().addJavadoc(action.data.getJavadoc());
-        } else if (action.type == Action.ActionType.REPLACE && action.data != null) {
-            ctx.methodsToAdd.add(action.data);
+            ctx.journal.record(DataType.METHODS, Kind.MODIFY, classData.getName(), methodData.getName(),
+                    methodData.getDescriptor(), (byte) 0, action.data);
         }
 
         if (!action.skip && ctx.visitor.preVisit(DataType.PARAMETERS)) {
+            final int start = ctx.journal.size();
             for (MutableParameterData paramData : methodData.getParameters()) {
-                if (sanitizeParam(ctx, classData, methodData, paramData, classMeta, methodMeta)) {
-                    ctx.paramsToRemove.add(paramData.getIndex());
-                }
+                sanitizeParam(ctx, classData, methodData, paramData, classMeta, methodMeta);
             }
-            ctx.paramsToRemove.forEach(methodData::removeParameter);
-            ctx.paramsToRemove.clear();
-            ctx.paramsToAdd.forEach(p -> methodData.createParameter(p.getIndex()).setName(p.getName()).addJavadoc(p.getJavadoc()));
-            ctx.paramsToAdd.clear();
+            applyParameters(ctx.journal, start, methodData);
 
             ctx.visitor.postVisit(DataType.PARAMETERS);
         }
 
-        return action.type.removeExisting
-                || (methodData.getJavadoc().isEmpty() && methodData.getParameters().isEmpty());
+        if (action.type.removeExisting
+                || (methodData.getJavadoc().isEmpty() && methodData.getParameters().isEmpty())) {
+            ctx.journal.record(DataType.METHODS, Kind.REMOVE, classData.getName(), methodData.getName(),
+                    methodData.getDescriptor(), (byte) 0, null);
+        }
+        if (action.type == Action.ActionType.REPLACE && action.data != null) {
+            ctx.journal.record(DataType.METHODS, Kind.ADD, classData.getName(), action.data.getName(),
+                    action.data.getDescriptor(), (byte) 0, action.data);
+        }
     }
 
-    private static boolean sanitizeParam(Context ctx, ClassData classData, MethodData methodData, MutableParameterData paramData,
-                                         @Nullable ClassMetadata classMeta, @Nullable MethodMetadata methodMeta) {
+    private static void sanitizeParam(Context ctx, ClassData classData, MethodData methodData, MutableParameterData paramData,
+                                      @Nullable ClassMetadata classMeta, @Nullable MethodMetadata methodMeta) {
 
         final Action<ParameterData> action = ctx.visitor.modifyParameter(classData, methodData, paramData, classMeta, methodMeta);
 
         if (action.type == Action.ActionType.MODIFY && action.data != null) {
             paramData.setName(action.data.getName()).setJavadoc(action.data.getJavadoc());
-        } else if (action.type == Action.ActionType.REPLACE && action.data != null) {
-            ctx.paramsToAdd.add(action.data);
+            ctx.journal.record(DataType.PARAMETERS, Kind.MODIFY, classData.getName(), methodData.getName(),
+                    methodData.getDescriptor(), paramData.getIndex(), action.data);
+        }
+
+        if (action.type.removeExisting
+                || (paramData.getName() == null && paramData.getJavadoc() == null)) {
+            ctx.journal.record(DataType.PARAMETERS, Kind.REMOVE, classData.getName(), methodData.getName(),
+                    methodData.getDescriptor(), paramData.getIndex(), null);
+        }
+        if (action.type == Action.ActionType.REPLACE && action.data != null) {
+            ctx.journal.record(DataType.PARAMETERS, Kind.ADD, classData.getName(), methodData.getName(),
+                    methodData.getDescriptor(), action.data.getIndex(), action.data);
         }
+    }
+
+    // Each level applies the removals and then the additions recorded since the start of the level. Entries of the
+    // nested levels, which were applied already, are passed over.
+
+    private static void applyPackages(EditJournal journal, int start, MappingDataBuilder data) {
+        for (int i = start; i < journal.size(); i++) {
+            if (journal.is(i, DataType.PACKAGES, Kind.REMOVE)) data.removePackage(journal.getName(i));
+        }
+        for (int i = start; i < journal.size(); i++) {
+            if (journal.is(i, DataType.PACKAGES, Kind.ADD)) {
+                final PackageData p = (PackageData) journal.getData(i);
+                data.getOrCreatePackage(p.getName()).addJavadoc(p.getJavadoc());
+            }
+        }
+    }
 
-        return action.type.removeExisting
-                || (paramData.getName() == null && paramData.getJavadoc() == null);
+    private static void applyClasses(EditJournal journal, int start, MappingDataBuilder data) {
+        for (int i = start; i < journal.size(); i++) {
+            if (journal.is(i, DataType.CLASSES, Kind.REMOVE)) data.removeClass(journal.getName(i));
+        }
+        for (int i = start; i < journal.size(); i++) {
+            if (journal.is(i, DataType.CLASSES, Kind.ADD)) {
+                final ClassData c = (ClassData) journal.getData(i);
+                copyClass(data.getOrCreateClass(c.getName()), c);
+            }
+        }
+    }
+
+    private static void applyFields(EditJournal journal, int start, MutableClassData classData) {
+        for (int i = start; i < journal.size(); i++) {
+            if (journal.is(i, DataType.FIELDS, Kind.REMOVE)) classData.removeField(journal.getName(i));
+        }
+        for (int i = start; i < journal.size(); i++) {
+            if (journal.is(i, DataType.FIELDS, Kind.ADD)) {
+                final FieldData f = (FieldData) journal.getData(i);
+                classData.createField(f.getName(), f.getDescriptor()).addJavadoc(f.getJavadoc());
+            }
+        }
+    }
+
+    private static void applyMethods(EditJournal journal, int start, MutableClassData classData) {
+        for (int i = start; i < journal.size(); i++) {
+            if (journal.is(i, DataType.METHODS, Kind.REMOVE)) {
+                classData.removeMethod(journal.getName(i), journal.getDescriptor(i));
+            }
+        }
+        for (int i = start; i < journal.size(); i++) {
+            if (journal.is(i, DataType.METHODS, Kind.ADD)) {
+                final MethodData m = (MethodData) journal.getData(i);
+                copyMethod(classData.createMethod(m.getName(), m.getDescriptor()), m);
+            }
+        }
+    }
+
+    private static void applyParameters(EditJournal journal, int start, MutableMethodData methodData) {
+        for (int i = start; i < journal.size(); i++) {
+            if (journal.is(i, DataType.PARAMETERS, Kind.REMOVE)) methodData.removeParameter(journal.getParameterIndex(i));
+        }
+        for (int i = start; i < journal.size(); i++) {
+            if (journal.is(i, DataType.PARAMETERS, Kind.ADD)) {
+                final ParameterData p = (ParameterData) journal.getData(i);
+                methodData.createParameter(p.getIndex()).setName(p.getName()).addJavadoc(p.getJavadoc());
+            }
+        }
     }
 
     private static void copyClass(MutableClassData target, ClassData origin) {
@@ -272,30 +427,18 @@ class DataVisitorHelper {
     }
 
     private static class Context {
-        ModifyingDataVisitor visitor;
-        Set<PackageData> packagesToAdd = new HashSet<>();
-        Set<ClassData> classesToAdd = new HashSet<>();
-        Set<FieldData> fieldsToAdd = new HashSet<>();
-        Set<MethodData> methodsToAdd = new HashSet<>();
-        Set<ParameterData> paramsToAdd = new HashSet<>();
-        Set<String> packagesToRemove = new HashSet<>();
-        Set<String> classesToRemove = new HashSet<>();
-        Set<String> fieldsToRemove = new HashSet<>();
-        // Each array has two elements: the method name, then the method descriptor
-        Set<String[]> methodsToRemove = new HashSet<>();
-        Set<Byte> paramsToRemove = new HashSet<>();
-
-        public Context(ModifyingDataVisitor visitor) {
-            reset(visitor);
-        }
+        final ModifyingDataVisitor visitor;
+        final EditJournal journal;
+        @Nullable
+        MetadataIndex metadataIndex;
 
-        public void reset(ModifyingDataVisitor visitor) {
+        public Context(ModifyingDataVisitor visitor, EditJournal journal) {
             this.visitor = visitor;
-            this.packagesToRemove.clear();
-            this.classesToRemove.clear();
-            this.fieldsToRemove.clear();
-            this.methodsToRemove.clear();
-            this.paramsToRemove.clear();
+            this.journal = journal;
+        }
+
+        public MetadataIndex getMetadataIndex() {
+            return metadataIndex != null ? metadataIndex : MetadataIndex.EMPTY;
         }
     }
 }
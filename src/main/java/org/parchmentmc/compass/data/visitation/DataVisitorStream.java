@@ -0,0 +1,103 @@
+package org.parchmentmc.compass.data.visitation;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.parchmentmc.compass.data.visitation.DataVisitor.DataType;
+import org.parchmentmc.compass.util.MetadataIndex;
+import org.parchmentmc.feather.mapping.MappingDataContainer;
+import org.parchmentmc.feather.metadata.SourceMetadata;
+
+import static org.parchmentmc.feather.mapping.MappingDataContainer.ClassData;
+import static org.parchmentmc.feather.mapping.MappingDataContainer.PackageData;
+
+/**
+ * A single visitation pass of a data visitor, where the classes are pushed to the visitor one at a time as they become
+ * available, such as while reading mapping data from disk. This allows visiting mapping data without holding all of
+ * it in memory at once.
+ *
+ * <p>The visitor receives the same sequence of calls as with {@link DataVisitor#visit(int, DataVisitor,
+ * MappingDataContainer, SourceMetadata)}, with these differences:</p>
+ * <ul>
+ *     <li>The container passed to {@link DataVisitor#visit(MappingDataContainer, SourceMetadata)} only holds the
+ *     packages, as the classes are not yet available.</li>
+ *     <li>The classes are visited in the order they are {@linkplain #acceptClass(ClassData) accepted}.</li>
+ *     <li>The data is only visited once; {@link DataVisitor#revisit()} is not consulted. Visitors which need multiple
+ *     passes should be run against a fully-read container instead.</li>
+ * </ul>
+ *
+ * @see #begin(DataVisitor, MappingDataContainer, SourceMetadata)
+ */
+public final class DataVisitorStream {
+    private final DataVisitor visitor;
+    private final MetadataIndex metadataIndex;
+    private final boolean visitingClasses;
+    private boolean ended = false;
+
+    private DataVisitorStream(DataVisitor visitor, MetadataIndex metadataIndex, boolean visitingClasses) {
+        this.visitor = visitor;
+        this.metadataIndex = metadataIndex;
+        this.visitingClasses = visitingClasses;
+    }
+
+    /**
+     * Begins a visitation pass, visiting the packages of the given container.
+     *
+     * @param visitor  the data visitor
+     * @param header   the container holding the packages of the mapping data; its classes are ignored
+     * @param metadata the source metadata, may be {@code null}
+     * @return the visitation pass, to which classes are to be pushed
+     */
+    public static DataVisitorStream begin(DataVisitor visitor, MappingDataContainer header, @Nullable SourceMetadata metadata) {
+        if (!visitor.visit(header, metadata)) {
+            return new DataVisitorStream(visitor, MetadataIndex.EMPTY, false);
+        }
+
+        // Packages
+        if (visitor.preVisit(DataType.PACKAGES)) {
+            for (PackageData packageData : header.getPackages()) {
+                visitor.visitPackage(packageData);
+            }
+
+            visitor.postVisit(DataType.PACKAGES);
+        }
+
+        if (!visitor.preVisit(DataType.CLASSES)) {
+            return new DataVisitorStream(visitor, MetadataIndex.EMPTY, false);
+        }
+        return new DataVisitorStream(visitor, MetadataIndex.of(metadata), true);
+    }
+
+    /**
+     * Returns whether the visitor wishes to visit classes. If this returns {@code false}, then pushing classes is
+     * unnecessary, and the source of the data may stop reading early.
+     *
+     * @return whether the visitor visits classes
+     */
+    public boolean acceptsClasses() {
+        return visitingClasses && !ended;
+    }
+
+    /**
+     * Visits the given class and its members.
+     *
+     * @param classData the class data
+     * @throws IllegalStateException if this visitation pass has already ended
+     */
+    public void acceptClass(ClassData classData) {
+        if (ended) throw new IllegalStateException("Visitation pass has already ended");
+        if (!visitingClasses) return;
+
+        DataVisitorHelper.visitClass(visitor, metadataIndex, classData, metadataIndex.getClassMetadata(classData.getName()));
+    }
+
+    /**
+     * Ends this visitation pass. Calling this again has no effect.
+     */
+    public void end() {
+        if (ended) return;
+        ended = true;
+
+        if (visitingClasses) {
+            visitor.postVisit(DataType.CLASSES);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package org.parchmentmc.compass.data.visitation;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.parchmentmc.compass.data.visitation.DataVisitor.DataType;
+
+import java.util.Arrays;
+
+/**
+ * An append-only journal of the edits made to mapping data by {@linkplain ModifyingDataVisitor modifying data
+ * visitors}.
+ *
+ * <p>Each action returned by a modifying visitor is recorded as it is taken, as an entry of one of the
+ * {@linkplain Kind kinds} of edit. A {@linkplain ModifyingDataVisitor.Action#delete() deletion} is recorded as a
+ * removal, a {@linkplain ModifyingDataVisitor.Action#replace(Object) replacement} as a removal followed by an addition,
+ * and the removal of an element left without any data as a removal without data. Removals and additions are applied to
+ * the mapping data in bulk at the end of each level of the traversal, while modifications are applied as they are
+ * taken.</p>
+ *
+ * <p>The entries are kept in parallel arrays, and are read by their index, from {@code 0} (the oldest) to
+ * {@link #size()} (exclusive). This class is not safe for use by multiple threads.</p>
+ *
+ * @see ModifyingDataVisitor#visit(int, ModifyingDataVisitor, org.parchmentmc.feather.mapping.MappingDataBuilder,
+ * org.parchmentmc.feather.metadata.SourceMetadata, EditJournal)
+ */
+public final class EditJournal {
+    private static final DataType[] DATA_TYPES = DataType.values();
+    private static final Kind[] KINDS = Kind.values();
+
+    private int size = 0;
+    // The data type of each entry in the upper bits, and the kind of edit in the lower two bits
+    private byte[] codes = new byte[16];
+    private byte[] paramIndexes = new byte[16];
+    private String[] classNames = new String[16];
+    private String[] names = new String[16];
+    private String[] descriptors = new String[16];
+    private Object[] data = new Object[16];
+
+    /**
+     * The kinds of edit recorded in the journal.
+     */
+    public enum Kind {
+        /**
+         * The data of an existing element was modified in place.
+         */
+        MODIFY,
+        /**
+         * An element was removed.
+         */
+        REMOVE,
+        /**
+         * An element was added, in place of an existing element.
+         */
+        ADD
+    }
+
+    /**
+     * Returns the number of entries in the journal.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of entries in the journal of the given kind.
+     *
+     * @param kind the kind of edit
+     * @return the number of entries of that kind
+     */
+    public int count(Kind kind) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if ((codes[i] & 0b11) == kind.ordinal()) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of entries in the journal of the given data type and kind.
+     *
+     * @param type the data type of the edited elements
+     * @param kind the kind of edit
+     * @return the number of entries of that data type and kind
+     */
+    public int count(DataType type, Kind kind) {
+        final byte code = code(type, kind);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (codes[i] == code) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the data type of the element edited by the given entry.
+     *
+     * @param index the index of the entry
+     * @return the data type
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public DataType getType(int index) {
+        checkIndex(index);
+        return DATA_TYPES[codes[index] >>> 2];
+    }
+
+    /**
+     * Returns the kind of edit of the given entry.
+     *
+     * @param index the index of the entry
+     * @return the kind of edit
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public Kind getKind(int index) {
+        checkIndex(index);
+        return KINDS[codes[index] & 0b11];
+    }
+
+    /**
+     * Returns the name of the class edited by the given entry, or of the class owning the edited member.
+     *
+     * @param index the index of the entry
+     * @return the class name, or {@code null} if the entry is for a package
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    @Nullable
+    public String getClassName(int index) {
+        checkIndex(index);
+        return classNames[index];
+    }
+
+    /**
+     * Returns the name of the package, class, field or method edited by the given entry. For parameters, this is the
+     * name of the owning method.
+     *
+     * @param index the index of the entry
+     * @return the name
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public String getName(int index) {
+        checkIndex(index);
+        return names[index];
+    }
+
+    /**
+     * Returns the descriptor of the field or method edited by the given entry. For parameters, this is the descriptor
+     * of the owning method.
+     *
+     * @param index the index of the entry
+     * @return the descriptor, or {@code null} if the entry is for a package or class
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    @Nullable
+    public String getDescriptor(int index) {
+        checkIndex(index);
+        return descriptors[index];
+    }
+
+    /**
+     * Returns the index of the parameter edited by the given entry. This is only meaningful for entries of
+     * {@linkplain DataType#PARAMETERS parameters}.
+     *
+     * @param index the index of the entry
+     * @return the parameter index
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public byte getParameterIndex(int index) {
+        checkIndex(index);
+        return paramIndexes[index];
+    }
+
+    /**
+     * Returns the new data of the given entry. This is the data given to the action for modifications and additions,
+     * such as a {@link org.parchmentmc.feather.mapping.MappingDataContainer.ClassData} for classes.
+     *
+     * @param index the index of the entry
+     * @return the new data, or {@code null} if the entry is a removal
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    @Nullable
+    public Object getData(int index) {
+        checkIndex(index);
+        return data[index];
+    }
+
+    /**
+     * Returns a human-readable description of the given entry, such as {@code REMOVE method a/b/C#d(I)V}.
+     *
+     * @param index the index of the entry
+     * @return the description
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public String describe(int index) {
+        final StringBuilder builder = new StringBuilder().append(getKind(index)).append(' ');
+        switch (getType(index)) {
+            case PACKAGES:
+                return builder.append("package ").append(names[index]).toString();
+            case CLASSES:
+                return builder.append("class ").append(names[index]).toString();
+            case FIELDS:
+                return builder.append("field ").append(classNames[index]).append('#').append(names[index]).toString();
+            case METHODS:
+                return builder.append("method ").append(classNames[index]).append('#').append(names[index])
+                        .append(descriptors[index]).toString();
+            case PARAMETERS:
+                return builder.append("parameter ").append(paramIndexes[index]).append(" of ").append(classNames[index])
+                        .append('#').append(names[index]).append(descriptors[index]).toString();
+            default:
+                throw new IllegalStateException("Unknown data type " + getType(index));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EditJournal{size=" + size + "}";
+    }
+
+    // Recording, for DataVisitorHelper
+
+    void record(DataType type, Kind kind, @Nullable String className, String name, @Nullable String descriptor,
+                byte paramIndex, @Nullable Object newData) {
+        if (size == codes.length) {
+            final int capacity = size + (size >> 1);
+            codes = Arrays.copyOf(codes, capacity);
+            paramIndexes = Arrays.copyOf(paramIndexes, capacity);
+            classNames = Arrays.copyOf(classNames, capacity);
+            names = Arrays.copyOf(names, capacity);
+            descriptors = Arrays.copyOf(descriptors, capacity);
+            data = Arrays.copyOf(data, capacity);
+        }
+
+        codes[size] = code(type, kind);
+        paramIndexes[size] = paramIndex;
+        classNames[size] = className;
+        names[size] = name;
+        descriptors[size] = descriptor;
+        data[size] = newData;
+        size++;
+    }
+
+    // Discards all entries, releasing their data
+    void clear() {
+        Arrays.fill(classNames, 0, size, null);
+        Arrays.fill(names, 0, size, null);
+        Arrays.fill(descriptors, 0, size, null);
+        Arrays.fill(data, 0, size, null);
+        size = 0;
+    }
+
+    boolean is(int index, DataType type, Kind kind) {
+        return codes[index] == code(type, kind);
+    }
+
+    private static byte code(DataType type, Kind kind) {
+        return (byte) (type.ordinal() << 2 | kind.ordinal());
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+}
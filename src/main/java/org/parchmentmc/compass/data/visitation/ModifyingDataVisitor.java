@@ -9,6 +9,9 @@ import org.parchmentmc.feather.metadata.FieldMetadata;
 import org.parchmentmc.feather.metadata.MethodMetadata;
 import org.parchmentmc.feather.metadata.SourceMetadata;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import static org.parchmentmc.feather.mapping.MappingDataContainer.ClassData;
 import static org.parchmentmc.feather.mapping.MappingDataContainer.FieldData;
 import static org.parchmentmc.feather.mapping.MappingDataContainer.MethodData;
@@ -121,6 +124,31 @@ public interface ModifyingDataVisitor extends DataVisitor {
     default void postVisit(DataType type) {
     }
 
+    /**
+     * Returns whether revisits of the data only visit the classes which were modified in the previous pass, rather
+     * than all classes. A class counts as modified if any action other than {@linkplain Action#nothing() nothing} or
+     * {@linkplain Action#skip() skip} was taken on it or its members, or if any of them was removed for being empty.
+     * The classes returned by {@link #getClassesToRevisit()} are visited as well. Packages are always visited in full.
+     *
+     * <p>This turns multi-pass visitors which only need to act on a few classes into incremental work. The first pass,
+     * and any pass after one which did not visit classes, always visits all classes.</p>
+     *
+     * @return {@code true} to only revisit the modified and explicitly marked classes, {@code false} to revisit all
+     */
+    default boolean revisitsModifiedClassesOnly() {
+        return false;
+    }
+
+    /**
+     * Returns the names of the classes to visit in the next revisit, in addition to the classes modified in the last
+     * pass. This is only consulted if {@link #revisitsModifiedClassesOnly()} returns {@code true}, after each pass
+     * which visited classes and before {@link #revisit()} is called.
+     *
+     * @return the names of the classes to revisit
+     */
+    default Collection<String> getClassesToRevisit() {
+        return Collections.emptySet();
+    }
 
     /**
      * Fully visits and potentially modifies a mapping data container and optional source metadata using a modifying
@@ -134,8 +162,25 @@ public interface ModifyingDataVisitor extends DataVisitor {
      * @throws IllegalArgumentException if the revisit limit is negative
      */
     static void visit(int revisitLimit, ModifyingDataVisitor visitor, MappingDataBuilder container, @Nullable SourceMetadata metadata) {
+        visit(revisitLimit, visitor, container, metadata, null);
+    }
+
+    /**
+     * Fully visits and potentially modifies a mapping data container and optional source metadata using a modifying
+     * data visitor, recording the edits made to the container into the given journal.
+     *
+     * @param revisitLimit the limit to the amount of times the data will be revisited; a limit of {@code 0} means the
+     *                     data will not be revisited at all
+     * @param visitor      the modifying data visitor
+     * @param container    the mapping data container to be visited
+     * @param metadata     the source metadata, may be {@code null}
+     * @param journal      the journal to append the edits to, or {@code null} to not record the edits
+     * @throws IllegalArgumentException if the revisit limit is negative
+     */
+    static void visit(int revisitLimit, ModifyingDataVisitor visitor, MappingDataBuilder container, @Nullable SourceMetadata metadata,
+                      @Nullable EditJournal journal) {
         Preconditions.checkArgument(revisitLimit >= 0, "Revisit limit cannot be negative");
-        DataVisitorHelper.visitModify(revisitLimit, visitor, container, metadata);
+        DataVisitorHelper.visitModify(revisitLimit, visitor, container, metadata, journal);
     }
 
     /**
@@ -0,0 +1,218 @@
+package org.parchmentmc.compass.data.visitation;
+
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.parchmentmc.feather.mapping.MappingDataContainer;
+import org.parchmentmc.feather.metadata.ClassMetadata;
+import org.parchmentmc.feather.metadata.FieldMetadata;
+import org.parchmentmc.feather.metadata.MethodMetadata;
+import org.parchmentmc.feather.metadata.SourceMetadata;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.parchmentmc.feather.mapping.MappingDataContainer.ClassData;
+import static org.parchmentmc.feather.mapping.MappingDataContainer.FieldData;
+import static org.parchmentmc.feather.mapping.MappingDataContainer.MethodData;
+import static org.parchmentmc.feather.mapping.MappingDataContainer.PackageData;
+import static org.parchmentmc.feather.mapping.MappingDataContainer.ParameterData;
+
+/**
+ * A modifying data visitor which runs multiple modifying data visitors in a single traversal of the mapping data.
+ *
+ * <p>Each element is offered to the member visitors in order, and each member only receives the calls it would receive
+ * if it was run on its own: a member which returns {@code false} from {@link #visit(MappingDataContainer,
+ * SourceMetadata)} or {@link #preVisit(DataType)}, or which skips an element, is not called for the elements within.
+ * Once a member deletes an element, the later members are not offered that element, and its children are not visited.
+ * </p>
+ *
+ * <p>The result is the same as running the members one after another, provided that each member is independent of the
+ * order it runs in. That is, the members must only {@linkplain Action#nothing() keep}, {@linkplain Action#skip() skip}
+ * or {@linkplain Action#delete() delete} elements, as a modification by one member would not be seen by the others
+ * within the same traversal; returning any other action throws an {@link IllegalStateException}. The members must
+ * also only need a single pass over the data: {@link #revisit()} is called on every member, so it may clean up its
+ * state, but the group never revisits the data.</p>
+ */
+public final class ModifyingDataVisitorGroup implements ModifyingDataVisitor {
+    private final List<ModifyingDataVisitor> members;
+
+    // Whether each member takes part in the current pass, and at each level of the traversal
+    private final boolean[] visiting;
+    private final boolean[] packages;
+    private final boolean[] classes;
+    private final boolean[] inClass;
+    private final boolean[] fields;
+    private final boolean[] methods;
+    private final boolean[] inMethod;
+    private final boolean[] parameters;
+
+    public ModifyingDataVisitorGroup(List<? extends ModifyingDataVisitor> members) {
+        Preconditions.checkArgument(!members.isEmpty(), "Group must have at least one member");
+        this.members = Collections.unmodifiableList(members);
+        final int size = members.size();
+        this.visiting = new boolean[size];
+        this.packages = new boolean[size];
+        this.classes = new boolean[size];
+        this.inClass = new boolean[size];
+        this.fields = new boolean[size];
+        this.methods = new boolean[size];
+        this.inMethod = new boolean[size];
+        this.parameters = new boolean[size];
+    }
+
+    /**
+     * Returns the member visitors of this group, in the order they are offered each element.
+     *
+     * @return the member visitors
+     */
+    public List<ModifyingDataVisitor> getMembers() {
+        return members;
+    }
+
+    @Override
+    public boolean visit(MappingDataContainer container, @Nullable SourceMetadata metadata) {
+        boolean any = false;
+        for (int i = 0; i < visiting.length; i++) {
+            visiting[i] = members.get(i).visit(container, metadata);
+            any |= visiting[i];
+        }
+        return any;
+    }
+
+    @Override
+    public boolean preVisit(DataType type) {
+        final boolean[] target = getParticipants(type);
+        final boolean[] enclosing = getEnclosing(type);
+
+        boolean any = false;
+        for (int i = 0; i < target.length; i++) {
+            target[i] = enclosing[i] && members.get(i).preVisit(type);
+            any |= target[i];
+        }
+        return any;
+    }
+
+    @Override
+    public void postVisit(DataType type) {
+        final boolean[] target = getParticipants(type);
+        for (int i = 0; i < target.length; i++) {
+            if (target[i]) members.get(i).postVisit(type);
+        }
+    }
+
+    @Override
+    public Action<PackageData> modifyPackage(PackageData packageData) {
+        for (int i = 0; i < packages.length; i++) {
+            if (packages[i] && isDeletion(i, members.get(i).modifyPackage(packageData))) {
+                return Action.delete();
+            }
+        }
+        return Action.nothing();
+    }
+
+    @Override
+    public Action<ClassData> modifyClass(ClassData classData, @Nullable ClassMetadata classMetadata) {
+        boolean visitChildren = false;
+        for (int i = 0; i < classes.length; i++) {
+            inClass[i] = false;
+            if (!classes[i]) continue;
+
+            final Action<ClassData> action = members.get(i).modifyClass(classData, classMetadata);
+            if (isDeletion(i, action)) {
+                return Action.delete();
+            }
+            inClass[i] = !action.skip;
+            visitChildren |= inClass[i];
+        }
+        return visitChildren ? Action.nothing() : Action.skip();
+    }
+
+    @Override
+    public Action<FieldData> modifyField(ClassData classData, FieldData fieldData,
+                                         @Nullable ClassMetadata classMetadata, @Nullable FieldMetadata fieldMetadata) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] && isDeletion(i, members.get(i).modifyField(classData, fieldData, classMetadata, fieldMetadata))) {
+                return Action.delete();
+            }
+        }
+        return Action.nothing();
+    }
+
+    @Override
+    public Action<MethodData> modifyMethod(ClassData classData, MethodData methodData,
+                                           @Nullable ClassMetadata classMetadata, @Nullable MethodMetadata methodMetadata) {
+        boolean visitChildren = false;
+        for (int i = 0; i < methods.length; i++) {
+            inMethod[i] = false;
+            if (!methods[i]) continue;
+
+            final Action<MethodData> action = members.get(i).modifyMethod(classData, methodData, classMetadata, methodMetadata);
+            if (isDeletion(i, action)) {
+                return Action.delete();
+            }
+            inMethod[i] = !action.skip;
+            visitChildren |= inMethod[i];
+        }
+        return visitChildren ? Action.nothing() : Action.skip();
+    }
+
+    @Override
+    public Action<ParameterData> modifyParameter(ClassData classData, MethodData methodData, ParameterData paramData,
+                                                 @Nullable ClassMetadata classMetadata, @Nullable MethodMetadata methodMetadata) {
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i] && isDeletion(i, members.get(i).modifyParameter(classData, methodData, paramData,
+                    classMetadata, methodMetadata))) {
+                return Action.delete();
+            }
+        }
+        return Action.nothing();
+    }
+
+    @Override
+    public boolean revisit() {
+        for (ModifyingDataVisitor member : members) {
+            member.revisit();
+        }
+        return false;
+    }
+
+    private boolean isDeletion(int member, Action<?> action) {
+        if (action.type == Action.ActionType.MODIFY || action.type == Action.ActionType.REPLACE) {
+            throw new IllegalStateException("Visitor " + members.get(member) + " within a group may only keep, skip or "
+                    + "delete elements, but returned an action of type " + action.type);
+        }
+        return action.type == Action.ActionType.DELETE;
+    }
+
+    private boolean[] getParticipants(DataType type) {
+        switch (type) {
+            case PACKAGES:
+                return packages;
+            case CLASSES:
+                return classes;
+            case FIELDS:
+                return fields;
+            case METHODS:
+                return methods;
+            case PARAMETERS:
+                return parameters;
+            default:
+                throw new IllegalArgumentException("Unknown data type " + type);
+        }
+    }
+
+    private boolean[] getEnclosing(DataType type) {
+        switch (type) {
+            case PACKAGES:
+            case CLASSES:
+                return visiting;
+            case FIELDS:
+            case METHODS:
+                return inClass;
+            case PARAMETERS:
+                return inMethod;
+            default:
+                throw new IllegalArgumentException("Unknown data type " + type);
+        }
+    }
+}
@@ -1,21 +1,48 @@
 package org.parchmentmc.compass.providers;
 
 import net.minecraftforge.srgutils.IMappingFile;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.gradle.api.provider.Provider;
 
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+
 /**
  * Provides the delegated mapping file as an intermediate format.
  */
 public class DelegatingProvider extends IntermediateProvider {
     private final Provider<IMappingFile> provider;
+    @Nullable
+    private final Provider<? extends Collection<File>> sourceFiles;
 
     public DelegatingProvider(String name, Provider<IMappingFile> provider) {
+        this(name, provider, null);
+    }
+
+    /**
+     * Creates a delegating provider.
+     *
+     * @param name        the name of the intermediate
+     * @param provider    the provider of the mapping file
+     * @param sourceFiles the provider of the files from which the mapping file is created, or {@code null} if unknown;
+     *                    this should ensure the files exist without creating the mapping file itself, as the source
+     *                    files are queried to find cached mapping files derived from it
+     */
+    public DelegatingProvider(String name, Provider<IMappingFile> provider, @Nullable Provider<? extends Collection<File>> sourceFiles) {
         super(name);
         this.provider = provider;
+        this.sourceFiles = sourceFiles;
     }
 
     @Override
     public IMappingFile getMapping() {
         return provider.get();
     }
+
+    @Override
+    public Collection<File> getSourceFiles() {
+        if (sourceFiles == null) return Collections.emptyList();
+        return sourceFiles.get();
+    }
 }
@@ -4,7 +4,10 @@ import net.minecraftforge.srgutils.IMappingFile;
 import org.gradle.api.Named;
 import org.parchmentmc.compass.CompassPlugin;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 
 /**
  * Provides a mapping file which contains an intermediate format.
@@ -30,4 +33,19 @@ public abstract class IntermediateProvider implements Named {
      * @throws IOException if there is an exception while loading or creating the mapping file
      */
     public abstract IMappingFile getMapping() throws IOException;
+
+    /**
+     * Returns the files from which the mapping file is created, such as downloaded or resolved mapping artifacts. These
+     * are used to determine whether mapping files derived from this intermediate and cached on disk are still valid.
+     *
+     * <p>The default implementation returns an empty collection, meaning that the sources are unknown and derived
+     * mapping files are never cached.</p>
+     *
+     * @return the source files of the mapping file, or an empty collection if unknown
+     * @throws IOException if there is an exception while resolving the source files
+     * @see org.parchmentmc.compass.storage.cache.ChainedMappingCache
+     */
+    public Collection<File> getSourceFiles() throws IOException {
+        return Collections.emptyList();
+    }
 }
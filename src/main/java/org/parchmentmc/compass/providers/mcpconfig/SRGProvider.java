@@ -18,6 +18,8 @@ import java.io.InputStream;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
 
 /**
@@ -47,7 +49,11 @@ public class SRGProvider extends IntermediateProvider {
     }
 
     @Override
-    public IMappingFile getMapping() throws IOException {
+    public Collection<File> getSourceFiles() {
+        return Collections.singletonList(resolveArtifact());
+    }
+
+    private File resolveArtifact() {
         final Logger logger = project.getLogger();
 
         Configuration mcpConfig = project.getConfigurations().getByName(MCP_CONFIG_CONFIGURATION_NAME);
@@ -59,6 +65,13 @@ public class SRGProvider extends IntermediateProvider {
             logger.warn("More than 1 artifact in '{}' configuration, using topmost artifact: {}", MCP_CONFIG_CONFIGURATION_NAME, file);
         }
         logger.debug("Retrieved artifact for '{}' artifact: {}", MCP_CONFIG_CONFIGURATION_NAME, file);
+        return file;
+    }
+
+    @Override
+    public IMappingFile getMapping() throws IOException {
+        final Logger logger = project.getLogger();
+        File file = resolveArtifact();
 
         CompassExtension extension = project.getExtensions().getByType(CompassExtension.class);
 
@@ -0,0 +1,165 @@
+package org.parchmentmc.compass.storage.cache;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import net.minecraftforge.srgutils.IMappingFile;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.logging.Logger;
+import org.parchmentmc.compass.providers.IntermediateProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A persistent cache of chained intermediate mapping files, stored in the {@linkplain IMappingFile.Format#TSRG2 TSRG2
+ * format}.
+ *
+ * <p>Entries are keyed by the names of the intermediates, the direction of the chain, and the hashes of the
+ * {@linkplain IntermediateProvider#getSourceFiles() source files} of both intermediates, so any change to the source
+ * mappings causes a cache miss. Chains involving an intermediate without known source files are never cached. Only a
+ * bounded number of entries are kept; when exceeded, the least recently used entries are evicted.</p>
+ *
+ * <p>Mapping file metadata is not stored in the cache, as the chained mapping files are only used for remapping.</p>
+ */
+public class ChainedMappingCache {
+    // Incremented whenever the key computation or entry format changes, to avoid reusing entries keyed differently
+    private static final int CACHE_VERSION = 1;
+    private static final String ENTRY_EXTENSION = ".tsrg";
+    private static final String REVERSE_CHAIN = "reverse-chain";
+
+    private final Path directory;
+    private final int maxEntries;
+    private final Logger logger;
+
+    /**
+     * Creates a chained mapping cache.
+     *
+     * @param directory  the directory to store cache entries in
+     * @param maxEntries the maximum amount of cache entries
+     * @param logger     the logger for reporting cache hits and misses
+     */
+    public ChainedMappingCache(Path directory, int maxEntries, Logger logger) {
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+        this.logger = logger;
+    }
+
+    /**
+     * Returns the mapping file of the first intermediate reversed and chained with the mapping file of the second
+     * intermediate, which maps from the names of the first intermediate to the names of the second intermediate. The
+     * cached mapping file is used if the source mappings of both intermediates have not changed since it was cached.
+     *
+     * @param from the intermediate to map from
+     * @param to   the intermediate to map to
+     * @return the mapping file for {@literal from names -> to names}
+     * @throws IOException if an I/O error occurs while loading the intermediate mapping files
+     */
+    public IMappingFile reverseChain(IntermediateProvider from, IntermediateProvider to) throws IOException {
+        final String description = from.getName() + " -> " + to.getName();
+        final String key = computeKey(REVERSE_CHAIN, from, to);
+        if (key == null) {
+            return from.getMapping().reverse().chain(to.getMapping());
+        }
+
+        final Path entry = directory.resolve(key + ENTRY_EXTENSION);
+        if (Files.isRegularFile(entry)) {
+            try {
+                final IMappingFile mapping = IMappingFile.load(entry.toFile());
+                Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis())); // Mark as recently used
+                logger.info("Chained mapping cache hit for {}", description);
+                return mapping;
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Discarding unreadable chained mapping cache entry {}", entry, e);
+                Files.deleteIfExists(entry);
+            }
+        }
+
+        logger.info("Chained mapping cache miss for {}, chaining", description);
+        final IMappingFile mapping = from.getMapping().reverse().chain(to.getMapping());
+
+        try {
+            store(entry, mapping);
+            evict();
+        } catch (IOException e) {
+            // Failing to cache should never fail the chaining
+            logger.warn("Failed to store chained mapping cache entry {}", entry, e);
+        }
+
+        return mapping;
+    }
+
+    private void store(Path entry, IMappingFile mapping) throws IOException {
+        Files.createDirectories(directory);
+        // Write to a temporary file first, so concurrent readers never see a partially-written entry
+        final Path temp = Files.createTempFile(directory, "entry", ".tmp");
+        try {
+            mapping.write(temp, IMappingFile.Format.TSRG2, false);
+            try {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void evict() throws IOException {
+        final List<Path> entries;
+        try (Stream<Path> stream = Files.list(directory)) {
+            entries = stream.filter(p -> p.getFileName().toString().endsWith(ENTRY_EXTENSION))
+                    .collect(Collectors.toList());
+        }
+        if (entries.size() <= maxEntries) return;
+
+        // Least recently used first
+        entries.sort(Comparator.comparingLong(ChainedMappingCache::lastModified));
+        for (Path entry : entries.subList(0, entries.size() - maxEntries)) {
+            if (Files.deleteIfExists(entry)) {
+                logger.info("Evicted chained mapping cache entry {}", entry);
+            }
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    @Nullable
+    static String computeKey(String direction, IntermediateProvider from, IntermediateProvider to) throws IOException {
+        final Hasher hasher = Hashing.sha256().newHasher()
+                .putInt(CACHE_VERSION)
+                .putString(direction, StandardCharsets.UTF_8)
+                .putByte((byte) 0);
+
+        for (IntermediateProvider provider : new IntermediateProvider[]{from, to}) {
+            final Collection<File> sourceFiles = provider.getSourceFiles();
+            if (sourceFiles.isEmpty()) return null; // Unknown sources, so cannot be cached
+
+            hasher.putString(provider.getName(), StandardCharsets.UTF_8)
+                    .putByte((byte) 0)
+                    .putInt(sourceFiles.size());
+            for (File file : sourceFiles) {
+                final byte[] contents = Files.readAllBytes(file.toPath());
+                hasher.putInt(contents.length).putBytes(contents);
+            }
+        }
+
+        return hasher.hash().toString();
+    }
+}
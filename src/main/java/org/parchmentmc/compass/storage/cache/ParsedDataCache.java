@@ -0,0 +1,177 @@
+package org.parchmentmc.compass.storage.cache;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.gradle.api.logging.Logger;
+import org.parchmentmc.compass.storage.io.MappingIOFormat;
+import org.parchmentmc.compass.storage.io.binary.BinaryDataIO;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A persistent cache of parsed mapping data, stored in the {@linkplain BinaryDataIO binary format}.
+ *
+ * <p>Entries are keyed by a hash of the contents (and relative paths) of the input files together with the input
+ * format, so any change to the input causes a cache miss. The total size of the cache is bounded; when exceeded, the
+ * least recently used entries are evicted.</p>
+ */
+public class ParsedDataCache {
+    // Incremented whenever the key computation changes, to avoid reusing entries keyed differently
+    private static final int CACHE_VERSION = 1;
+    private static final String ENTRY_EXTENSION = ".bin";
+
+    private final Path directory;
+    private final long maxSize;
+    private final Logger logger;
+
+    /**
+     * Creates a parsed data cache.
+     *
+     * @param directory the directory to store cache entries in
+     * @param maxSize   the maximum total size of the cache entries, in bytes
+     * @param logger    the logger for reporting cache hits and misses
+     */
+    public ParsedDataCache(Path directory, long maxSize, Logger logger) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.logger = logger;
+    }
+
+    /**
+     * Reads the mapping data from the given input using the given format, using the cached parsed data if the input
+     * has not changed since it was last cached.
+     *
+     * @param format the format of the input
+     * @param input  the input file or directory
+     * @return the mapping data
+     * @throws IOException if an I/O error occurs while reading the input
+     */
+    public VersionedMappingDataContainer read(MappingIOFormat format, Path input) throws IOException {
+        if (format == MappingIOFormat.MDC_BINARY) {
+            return format.read(input); // Already in the cache format
+        }
+
+        final String key = computeKey(format, input);
+        final Path entry = directory.resolve(key + ENTRY_EXTENSION);
+
+        if (Files.isRegularFile(entry)) {
+            try {
+                final VersionedMappingDataContainer data = BinaryDataIO.INSTANCE.read(entry);
+                Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis())); // Mark as recently used
+                logger.info("Parsed data cache hit for '{}' ({})", input, format);
+                return data;
+            } catch (IOException e) {
+                logger.warn("Discarding unreadable parsed data cache entry {}", entry, e);
+                Files.deleteIfExists(entry);
+            }
+        }
+
+        logger.info("Parsed data cache miss for '{}' ({}), parsing", input, format);
+        final VersionedMappingDataContainer data = format.read(input);
+
+        try {
+            store(entry, data);
+            evict();
+        } catch (IOException e) {
+            // Failing to cache should never fail the read
+            logger.warn("Failed to store parsed data cache entry {}", entry, e);
+        }
+
+        return data;
+    }
+
+    private void store(Path entry, VersionedMappingDataContainer data) throws IOException {
+        Files.createDirectories(directory);
+        // Write to a temporary file first, so concurrent readers never see a partially-written entry
+        final Path temp = Files.createTempFile(directory, "entry", ".tmp");
+        try {
+            BinaryDataIO.INSTANCE.write(data, temp);
+            try {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void evict() throws IOException {
+        final List<Path> entries;
+        try (Stream<Path> stream = Files.list(directory)) {
+            entries = stream.filter(p -> p.getFileName().toString().endsWith(ENTRY_EXTENSION))
+                    .collect(Collectors.toList());
+        }
+
+        long totalSize = 0;
+        final List<CachedEntry> cachedEntries = new ArrayList<>(entries.size());
+        for (Path entry : entries) {
+            final CachedEntry cached = new CachedEntry(entry, Files.size(entry), Files.getLastModifiedTime(entry).toMillis());
+            cachedEntries.add(cached);
+            totalSize += cached.size;
+        }
+        if (totalSize <= maxSize) return;
+
+        // Least recently used first
+        cachedEntries.sort(Comparator.comparingLong(e -> e.lastUsed));
+        for (CachedEntry cached : cachedEntries) {
+            if (totalSize <= maxSize) break;
+            if (Files.deleteIfExists(cached.path)) {
+                logger.info("Evicted parsed data cache entry {}", cached.path);
+            }
+            totalSize -= cached.size;
+        }
+    }
+
+    static String computeKey(MappingIOFormat format, Path input) throws IOException {
+        final Hasher hasher = Hashing.sha256().newHasher()
+                .putInt(CACHE_VERSION)
+                .putString(format.name(), StandardCharsets.UTF_8);
+
+        final List<Path> files;
+        if (Files.isDirectory(input)) {
+            try (Stream<Path> stream = Files.walk(input)) {
+                files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+        } else {
+            files = new ArrayList<>();
+            files.add(input);
+        }
+
+        for (Path file : files) {
+            // Normalize separators, so the key does not depend on the platform
+            final String relativePath = input.relativize(file).toString().replace('\\', '/');
+            final byte[] contents = Files.readAllBytes(file);
+            hasher.putString(relativePath, StandardCharsets.UTF_8)
+                    .putByte((byte) 0)
+                    .putInt(contents.length)
+                    .putBytes(contents);
+        }
+
+        return hasher.hash().toString();
+    }
+
+    private static class CachedEntry {
+        final Path path;
+        final long size;
+        final long lastUsed;
+
+        CachedEntry(Path path, long size, long lastUsed) {
+            this.path = path;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
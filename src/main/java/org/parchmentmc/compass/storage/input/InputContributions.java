@@ -0,0 +1,217 @@
+package org.parchmentmc.compass.storage.input;
+
+import com.google.common.hash.Hashing;
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonDataException;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+import org.parchmentmc.compass.storage.io.binary.BinaryDataIO;
+import org.parchmentmc.compass.storage.io.binary.LazyBinaryDataContainer;
+import org.parchmentmc.compass.util.JSONUtil;
+import org.parchmentmc.feather.mapping.MappingDataContainer;
+import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.squareup.moshi.Types.newParameterizedType;
+
+/**
+ * Tracks the input files which were applied to create the staging data, along with the set of classes which each input
+ * file contributed.
+ *
+ * <p>The input files are identified by their path relative to the inputs directory, using {@code /} as the separator.
+ * The parsed and remapped data of each input file is kept in the binary format within the state directory, so it can be
+ * merged again without reparsing and remapping the unchanged input files.</p>
+ *
+ * @see InputsReader#parseFiles(List)
+ */
+public class InputContributions {
+    private static final String CONTRIBUTIONS_JSON = "contributions.json";
+    private static final String INPUTS_DIRECTORY = "inputs";
+    private static final String DATA_EXTENSION = ".bin";
+    private static final Type CONTRIBUTIONS_TYPE = newParameterizedType(Map.class, String.class,
+            newParameterizedType(Set.class, String.class));
+
+    /**
+     * The order in which the input files are merged, which matches {@link InputsReader#gatherInputFiles(Path)}:
+     * sorted by their directory name, then by their file name.
+     */
+    public static final Comparator<String> INPUT_ORDER = InputContributions::compareInputs;
+
+    private final Path directory;
+    private final Map<String, Set<String>> contributions = new TreeMap<>(INPUT_ORDER);
+
+    public InputContributions(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Loads the contributions from the state directory, replacing the current contributions.
+     *
+     * @return whether the contributions were loaded; {@code false} if there are no stored contributions or they could
+     * not be parsed
+     * @throws IOException if an I/O error occurs while reading the contributions
+     */
+    public boolean load() throws IOException {
+        contributions.clear();
+        final Path file = directory.resolve(CONTRIBUTIONS_JSON);
+        if (!Files.isRegularFile(file)) return false;
+
+        final Map<String, Set<String>> loaded;
+        try (BufferedSource source = Okio.buffer(Okio.source(file))) {
+            loaded = this.<Map<String, Set<String>>>adapter().fromJson(source);
+        } catch (JsonDataException e) {
+            return false;
+        }
+        if (loaded == null) return false;
+
+        for (Map.Entry<String, Set<String>> entry : loaded.entrySet()) {
+            // The stored data of each input must still be present, otherwise the state is incomplete
+            if (!Files.isRegularFile(getDataFile(entry.getKey()))) {
+                contributions.clear();
+                return false;
+            }
+            contributions.put(entry.getKey(), new TreeSet<>(entry.getValue()));
+        }
+        return true;
+    }
+
+    /**
+     * Saves the contributions to the state directory.
+     *
+     * @throws IOException if an I/O error occurs while writing the contributions
+     */
+    public void save() throws IOException {
+        Files.createDirectories(directory);
+        // Write to a temporary file first, so a failed write never leaves partially-written contributions behind
+        final Path temp = Files.createTempFile(directory, "contributions", ".tmp");
+        try {
+            try (BufferedSink sink = Okio.buffer(Okio.sink(temp))) {
+                this.<Map<String, Set<String>>>adapter().toJson(sink, contributions);
+            }
+            try {
+                Files.move(temp, directory.resolve(CONTRIBUTIONS_JSON), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, directory.resolve(CONTRIBUTIONS_JSON), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Clears all contributions, and deletes the stored contributions and data of each input file.
+     *
+     * @throws IOException if an I/O error occurs while deleting the stored files
+     */
+    public void clear() throws IOException {
+        contributions.clear();
+        Files.deleteIfExists(directory.resolve(CONTRIBUTIONS_JSON));
+
+        final Path inputs = directory.resolve(INPUTS_DIRECTORY);
+        if (Files.isDirectory(inputs)) {
+            final List<Path> files;
+            try (Stream<Path> stream = Files.list(inputs)) {
+                files = stream.collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Returns the tracked input files, in the order they are merged.
+     *
+     * @return the tracked input files
+     * @see #INPUT_ORDER
+     */
+    public Set<String> getInputs() {
+        return Collections.unmodifiableSet(contributions.keySet());
+    }
+
+    /**
+     * Returns the names of the classes contributed by the given input file.
+     *
+     * @param input the input file, relative to the inputs directory
+     * @return the contributed class names, or an empty set if the input file is not tracked
+     */
+    public Set<String> getClasses(String input) {
+        final Set<String> classes = contributions.get(input);
+        return classes != null ? Collections.unmodifiableSet(classes) : Collections.emptySet();
+    }
+
+    /**
+     * Stores the parsed data of the given input file, replacing any previously stored data for that file.
+     *
+     * @param input the input file, relative to the inputs directory
+     * @param data  the parsed and remapped data of the input file
+     * @throws IOException if an I/O error occurs while writing the data
+     */
+    public void put(String input, MappingDataContainer data) throws IOException {
+        final Set<String> classes = new TreeSet<>();
+        data.getClasses().forEach(cls -> classes.add(cls.getName()));
+
+        BinaryDataIO.INSTANCE.write(new VersionedMDCDelegate<>(VersionedMappingDataContainer.CURRENT_FORMAT, data),
+                getDataFile(input));
+        contributions.put(input, classes);
+    }
+
+    /**
+     * Removes the given input file and its stored data.
+     *
+     * @param input the input file, relative to the inputs directory
+     * @throws IOException if an I/O error occurs while deleting the data
+     */
+    public void remove(String input) throws IOException {
+        contributions.remove(input);
+        Files.deleteIfExists(getDataFile(input));
+    }
+
+    /**
+     * Opens the stored data of the given input file.
+     *
+     * @param input the input file, relative to the inputs directory
+     * @return the stored data
+     * @throws IOException if an I/O error occurs while opening the data
+     */
+    public LazyBinaryDataContainer open(String input) throws IOException {
+        return BinaryDataIO.INSTANCE.open(getDataFile(input));
+    }
+
+    private Path getDataFile(String input) {
+        final String name = Hashing.sha256().hashString(input, StandardCharsets.UTF_8).toString();
+        return directory.resolve(INPUTS_DIRECTORY).resolve(name + DATA_EXTENSION);
+    }
+
+    private <T> JsonAdapter<T> adapter() {
+        return JSONUtil.MOSHI.<T>adapter(CONTRIBUTIONS_TYPE).indent("  ");
+    }
+
+    private static int compareInputs(String first, String second) {
+        final int firstSeparator = first.lastIndexOf('/');
+        final int secondSeparator = second.lastIndexOf('/');
+        final int result = first.substring(0, Math.max(firstSeparator, 0))
+                .compareTo(second.substring(0, Math.max(secondSeparator, 0)));
+        if (result != 0) return result;
+        return first.substring(firstSeparator + 1).compareTo(second.substring(secondSeparator + 1));
+    }
+}
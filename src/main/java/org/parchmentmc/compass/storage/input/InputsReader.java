@@ -1,95 +1,194 @@
 package org.parchmentmc.compass.storage.input;
 
 import net.minecraftforge.srgutils.IMappingFile;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.gradle.api.NamedDomainObjectCollection;
 import org.parchmentmc.compass.providers.IntermediateProvider;
+import org.parchmentmc.compass.storage.cache.ChainedMappingCache;
 import org.parchmentmc.compass.storage.io.SingleFileDataIO;
+import org.parchmentmc.compass.util.MappingRemapper;
 import org.parchmentmc.compass.util.MappingUtil;
+import org.parchmentmc.compass.util.ParallelIO;
 import org.parchmentmc.feather.mapping.ImmutableMappingDataContainer;
 import org.parchmentmc.feather.mapping.MappingDataBuilder;
 import org.parchmentmc.feather.mapping.MappingDataContainer;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /*
 Subdirectories within the input folder denote what mapping type is within
  */
 public class InputsReader {
+    private static final Comparator<Path> FILE_NAME_ORDER = Comparator.comparing(path -> path.getFileName().toString());
+
     private final NamedDomainObjectCollection<IntermediateProvider> intermediates;
+    @Nullable
+    private final ChainedMappingCache chainedMappingCache;
+    private final int parallelism;
 
     public InputsReader(NamedDomainObjectCollection<IntermediateProvider> intermediates) {
+        this(intermediates, null, ParallelIO.DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Creates an inputs reader.
+     *
+     * @param intermediates       the intermediate providers, used to remap the inputs to official names
+     * @param chainedMappingCache the cache for the mapping files from the intermediates to official names, or
+     *                            {@code null} to always chain them
+     * @param parallelism         the maximum amount of threads used to parse and remap input files; {@code 1} or less
+     *                            does so sequentially
+     */
+    public InputsReader(NamedDomainObjectCollection<IntermediateProvider> intermediates,
+                        @Nullable ChainedMappingCache chainedMappingCache, int parallelism) {
         this.intermediates = intermediates;
+        this.chainedMappingCache = chainedMappingCache;
+        this.parallelism = parallelism;
     }
 
+    /**
+     * Parses the input files within the subdirectories of the base directory, remapping them to official names.
+     *
+     * <p>Each input file is parsed and remapped concurrently, and the results are then merged in the order of
+     * their directory and file names. The result is the same as inserting the entries of each file in that order:
+     * javadocs are appended, while parameter names and javadocs of later files replace those of earlier files.</p>
+     *
+     * @param base the base directory
+     * @return the parsed data
+     * @throws IOException if an I/O error occurs while reading the input files
+     */
     public MappingDataContainer parse(Path base) throws IOException {
-        List<Path> subdirs = Files.list(base)
-                .filter(Files::isDirectory)
-                .collect(Collectors.toList());
-        // Skip if there are no directories
-        if (subdirs.isEmpty()) {
+        final List<Path> inputFiles = gatherInputFiles(base);
+        // Skip if there are no eligible files for reading
+        if (inputFiles.isEmpty()) {
             return new ImmutableMappingDataContainer(Collections.emptyList(), Collections.emptyList());
         }
 
         MappingDataBuilder builder = new MappingDataBuilder();
+        // Merge in file order, which keeps the result deterministic
+        for (MappingDataBuilder parsed : parseFiles(inputFiles)) {
+            merge(parsed, builder);
+        }
 
-        List<Pair<IntermediateProvider, Path>> directories = new ArrayList<>();
+        return builder;
+    }
 
-        final IntermediateProvider officialProvider = intermediates.getByName("official");
-        final IMappingFile obfToOfficial = officialProvider.getMapping();
+    /**
+     * Gathers the input files within the subdirectories of the base directory which have a corresponding intermediate,
+     * in the order they are merged by {@link #parse(Path)}: sorted by their directory name, then by their file name.
+     *
+     * @param base the base directory
+     * @return the input files
+     * @throws IOException if an I/O error occurs while listing the directories
+     */
+    public List<Path> gatherInputFiles(Path base) throws IOException {
+        List<Path> subdirs;
+        try (Stream<Path> stream = Files.list(base)) {
+            subdirs = stream.filter(Files::isDirectory).sorted(FILE_NAME_ORDER).collect(Collectors.toList());
+        }
 
+        List<Path> inputFiles = new ArrayList<>();
         for (Path subdir : subdirs) {
             String dirName = subdir.getFileName().toString();
 
-            IntermediateProvider provider = intermediates.findByName(dirName);
             // Ignore directories without a corresponding intermediate
-            if (provider != null) {
+            if (intermediates.findByName(dirName) != null) {
                 System.out.println("Found intermediate for " + dirName);
-                directories.add(new Pair<>(provider, subdir));
+                try (Stream<Path> stream = Files.list(subdir)) {
+                    stream.filter(Files::isRegularFile).sorted(FILE_NAME_ORDER).forEach(inputFiles::add);
+                }
             }
         }
 
-        // Skip if there are no eligible directories for reading
-        if (directories.isEmpty()) {
-            return new ImmutableMappingDataContainer(Collections.emptyList(), Collections.emptyList());
-        }
+        return inputFiles;
+    }
 
-        for (Pair<IntermediateProvider, Path> dir : directories) {
-            Set<Path> files = Files.list(Objects.requireNonNull(dir.right)).filter(Files::isRegularFile).collect(Collectors.toSet());
-            // Skip if there are no files within this directory
-            if (files.isEmpty()) {
-                continue;
+    /**
+     * Parses the given input files concurrently, remapping each to official names using the intermediate named after
+     * the directory containing the file. Each file is parsed into its own builder, in the same order as the given
+     * files; these may be combined using {@link #merge(MappingDataContainer, MappingDataBuilder)}.
+     *
+     * @param inputFiles the input files, each within a directory named after an intermediate
+     * @return the parsed and remapped data of each file
+     * @throws IOException              if an I/O error occurs while reading the input files
+     * @throws IllegalArgumentException if an input file is not within a directory with a corresponding intermediate
+     */
+    public List<MappingDataBuilder> parseFiles(List<Path> inputFiles) throws IOException {
+        // Prepare the remappers up front, as each is shared by all files of its directory
+        final Map<String, MappingRemapper> remappers = new HashMap<>();
+        final List<Pair<MappingRemapper, Path>> inputs = new ArrayList<>(inputFiles.size());
+        for (Path file : inputFiles) {
+            final String dirName = getDirectoryName(file);
+            MappingRemapper remapper = remappers.get(dirName);
+            if (remapper == null) {
+                remapper = createRemapper(dirName);
+                remappers.put(dirName, remapper);
             }
+            inputs.add(new Pair<>(remapper, file));
+        }
 
-            IntermediateProvider provider = Objects.requireNonNull(dir.left);
-            IMappingFile mapping = provider.getMapping();
-            IMappingFile toOfficial = mapping.reverse().chain(obfToOfficial);
+        // Each file is parsed and remapped into its own builder, so they can be processed concurrently
+        return ParallelIO.map(parallelism, inputs, input -> {
+            MappingDataBuilder fileBuilder = new MappingDataBuilder();
+            insertEntries(Objects.requireNonNull(input.right), Objects.requireNonNull(input.left), fileBuilder);
+            return fileBuilder;
+        });
+    }
 
-            for (Path path : files) {
-                insertEntries(path, toOfficial, builder);
-            }
-        }
+    /**
+     * Returns whether the given file would be read as an input file, that is if it is within a directory with a
+     * corresponding intermediate.
+     *
+     * @param file the file
+     * @return whether the file is an input file
+     */
+    public boolean isInputFile(Path file) {
+        final Path parent = file.getParent();
+        return parent != null && parent.getFileName() != null
+                && intermediates.findByName(parent.getFileName().toString()) != null;
+    }
 
-        return builder;
+    private static String getDirectoryName(Path file) {
+        final Path parent = file.getParent();
+        if (parent == null || parent.getFileName() == null) {
+            throw new IllegalArgumentException("Input file " + file + " is not within an intermediate directory");
+        }
+        return parent.getFileName().toString();
     }
 
-    // Reused data builder, to avoid excessive allocations
-    private final MappingDataBuilder temp = new MappingDataBuilder();
+    private MappingRemapper createRemapper(String intermediate) throws IOException {
+        final IntermediateProvider provider = intermediates.findByName(intermediate);
+        if (provider == null) {
+            throw new IllegalArgumentException("No intermediate found for input directory " + intermediate);
+        }
+        final IntermediateProvider officialProvider = intermediates.getByName("official");
+        IMappingFile mapping = chainedMappingCache != null
+                ? chainedMappingCache.reverseChain(provider, officialProvider)
+                : provider.getMapping().reverse().chain(officialProvider.getMapping());
+        return new MappingRemapper(mapping);
+    }
 
     // Mapping should be [? -> official]
-    private void insertEntries(Path file, IMappingFile mapping, MappingDataBuilder builder) throws IOException {
-        temp.clearPackages().clearClasses();
+    private static void insertEntries(Path file, MappingRemapper mapping, MappingDataBuilder builder) throws IOException {
+        MappingDataBuilder temp = new MappingDataBuilder();
 
         String filename = file.getFileName().toString();
         if (filename.endsWith(".txt")) {
-            SimpleInputFileReader.parseLines(temp, Files.readAllLines(file));
+            try (BufferedReader reader = Files.newBufferedReader(file)) {
+                SimpleInputFileReader.parse(temp, reader);
+            }
         } else if (filename.endsWith(".json")) {
             MappingUtil.copyData(SingleFileDataIO.INSTANCE.read(file), temp);
         } else {
@@ -105,44 +204,23 @@ public class InputsReader {
         for (MappingDataBuilder.MutableClassData cls : temp.getClasses()) {
             String clsName = cls.getName();
 
-            IMappingFile.IClass mappedClass = mapping.getClass(cls.getName());
-            if (mappedClass != null) {
-                clsName = mappedClass.getMapped();
-            }
-
-            MappingDataBuilder.MutableClassData classBuilder = builder.getOrCreateClass(clsName)
+            MappingDataBuilder.MutableClassData classBuilder = builder.getOrCreateClass(mapping.remapClass(clsName))
                     .addJavadoc(cls.getJavadoc());
 
             // Copy fields of classes
             for (MappingDataBuilder.MutableFieldData field : cls.getFields()) {
-                String fieldName = field.getName();
-                String fieldDescriptor = mapping.remapDescriptor(field.getDescriptor());
-
-                if (mappedClass != null) {
-                    IMappingFile.IField mappedField = mappedClass.getField(field.getName());
-                    if (mappedField != null) {
-                        fieldName = mappedField.getMapped();
-                        if (mappedField.getMappedDescriptor() != null) {
-                            fieldDescriptor = mappedField.getMappedDescriptor();
-                        }
-                    }
-                }
+                MappingRemapper.RemappedMember remappedField = mapping.remapField(clsName, field.getName(), field.getDescriptor());
+                String fieldName = remappedField.getName();
+                String fieldDescriptor = remappedField.getDescriptor();
 
                 classBuilder.getOrCreateField(fieldName, fieldDescriptor).addJavadoc(field.getJavadoc());
             }
 
             // Copy methods of classes
             for (MappingDataBuilder.MutableMethodData method : cls.getMethods()) {
-                String methodName = method.getName();
-                String methodDescriptor = method.getDescriptor();
-
-                if (mappedClass != null) {
-                    IMappingFile.IMethod mappedMethod = mappedClass.getMethod(method.getName(), method.getDescriptor());
-                    if (mappedMethod != null) {
-                        methodName = mappedMethod.getMapped();
-                        methodDescriptor = mappedMethod.getMappedDescriptor();
-                    }
-                }
+                MappingRemapper.RemappedMember remappedMethod = mapping.remapMethod(clsName, method.getName(), method.getDescriptor());
+                String methodName = remappedMethod.getName();
+                String methodDescriptor = remappedMethod.getDescriptor();
 
                 MappingDataBuilder.MutableMethodData methodBuilder = classBuilder.getOrCreateMethod(methodName, methodDescriptor)
                         .addJavadoc(method.getJavadoc());
@@ -154,6 +232,58 @@ public class InputsReader {
 
     }
 
+    /**
+     * Merges the entries of already-remapped input data into the builder, with the same semantics as reading the
+     * input file into the builder: javadocs are appended, while parameter names and javadocs replace existing ones.
+     *
+     * @param parsed  the parsed and remapped input data
+     * @param builder the builder to merge into
+     * @see #parseFiles(List)
+     */
+    public static void merge(MappingDataContainer parsed, MappingDataBuilder builder) {
+        for (MappingDataContainer.PackageData pkg : parsed.getPackages()) {
+            mergePackage(pkg, builder);
+        }
+
+        for (MappingDataContainer.ClassData cls : parsed.getClasses()) {
+            mergeClass(cls, builder);
+        }
+    }
+
+    /**
+     * Merges an already-remapped input package into the builder.
+     *
+     * @param pkg     the parsed and remapped input package
+     * @param builder the builder to merge into
+     * @see #merge(MappingDataContainer, MappingDataBuilder)
+     */
+    public static void mergePackage(MappingDataContainer.PackageData pkg, MappingDataBuilder builder) {
+        builder.getOrCreatePackage(pkg.getName()).addJavadoc(pkg.getJavadoc());
+    }
+
+    /**
+     * Merges the entries of an already-remapped input class into the builder.
+     *
+     * @param cls     the parsed and remapped input class
+     * @param builder the builder to merge into
+     * @see #merge(MappingDataContainer, MappingDataBuilder)
+     */
+    public static void mergeClass(MappingDataContainer.ClassData cls, MappingDataBuilder builder) {
+        MappingDataBuilder.MutableClassData classBuilder = builder.getOrCreateClass(cls.getName())
+                .addJavadoc(cls.getJavadoc());
+
+        for (MappingDataContainer.FieldData field : cls.getFields()) {
+            classBuilder.getOrCreateField(field.getName(), field.getDescriptor()).addJavadoc(field.getJavadoc());
+        }
+
+        for (MappingDataContainer.MethodData method : cls.getMethods()) {
+            MappingDataBuilder.MutableMethodData methodBuilder = classBuilder.getOrCreateMethod(method.getName(), method.getDescriptor())
+                    .addJavadoc(method.getJavadoc());
+
+            method.getParameters().forEach(param -> methodBuilder.getOrCreateParameter(param.getIndex()).setName(param.getName()).setJavadoc(param.getJavadoc()));
+        }
+    }
+
     private static class Pair<L, R> {
         public final L left;
         public final R right;
@@ -1,94 +1,172 @@
 package org.parchmentmc.compass.storage.input;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.parchmentmc.feather.mapping.MappingDataBuilder;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Reader for a simple and quickly editable input file format.
  *
+ * <p>Files are read line by line, so only the current line is held in memory. A line is a definition if it starts with
+ * one of the definition words followed by a space; its tokens are separated by single spaces. All other lines are
+ * documentation for the last definition.</p>
+ *
  * @see <a href="https://github.com/ParchmentMC/Compass/wiki/Simple-Input-File-Format"><tt>ParchmentMC/Compass</tt>
  * repository wiki, "Simple Input File Format"</a>
  */
 public class SimpleInputFileReader {
-    static final Pattern DEFINITION_WORD = Pattern.compile("^(package|class|field|method|param) ");
+    private static final String PACKAGE = "package";
+    private static final String CLASS = "class";
+    private static final String FIELD = "field";
+    private static final String METHOD = "method";
+    private static final String PARAM = "param";
 
     public static void parseLines(MappingDataBuilder builder, List<String> lines) throws IOException {
-        Matcher defWordMatcher = DEFINITION_WORD.matcher("");
-
-        MappingDataBuilder.MutableHasJavadoc<?> javadoc = null;
-        MappingDataBuilder.MutableClassData classData = null;
-        MappingDataBuilder.MutableMethodData methodData = null;
+        final LineParser parser = new LineParser(builder);
         for (int i = 0, linesSize = lines.size(); i < linesSize; i++) {
-            String line = lines.get(i).trim();
+            parser.parseLine(lines.get(i), i);
+        }
+    }
+
+    /**
+     * Parses the input file from the given reader, line by line. The reader is not closed.
+     *
+     * @param builder the builder to parse the data into
+     * @param reader  the reader of the input file
+     * @throws IOException if an I/O error occurs while reading, or the input file is malformed
+     */
+    public static void parse(MappingDataBuilder builder, Reader reader) throws IOException {
+        final BufferedReader bufferedReader = reader instanceof BufferedReader
+                ? (BufferedReader) reader : new BufferedReader(reader);
+        final LineParser parser = new LineParser(builder);
+        String line;
+        for (int i = 0; (line = bufferedReader.readLine()) != null; i++) {
+            parser.parseLine(line, i);
+        }
+    }
+
+    // Returns the matching definition word, or null if the line does not start with a definition word and a space
+    @Nullable
+    static String definitionWord(String line) {
+        if (line.isEmpty()) return null;
+        switch (line.charAt(0)) {
+            case 'p':
+                return startsWithWord(line, PACKAGE) ? PACKAGE : startsWithWord(line, PARAM) ? PARAM : null;
+            case 'c':
+                return startsWithWord(line, CLASS) ? CLASS : null;
+            case 'f':
+                return startsWithWord(line, FIELD) ? FIELD : null;
+            case 'm':
+                return startsWithWord(line, METHOD) ? METHOD : null;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean startsWithWord(String line, String word) {
+        return line.length() > word.length() && line.charAt(word.length()) == ' ' && line.startsWith(word);
+    }
+
+    // Splits on each space, the same as String#split(" ") on a trimmed line
+    static String[] tokenize(String line) {
+        int count = 1;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == ' ') count++;
+        }
+
+        final String[] tokens = new String[count];
+        int start = 0;
+        for (int t = 0; t < count - 1; t++) {
+            final int end = line.indexOf(' ', start);
+            tokens[t] = line.substring(start, end);
+            start = end + 1;
+        }
+        tokens[count - 1] = line.substring(start);
+        return tokens;
+    }
+
+    private static class LineParser {
+        private final MappingDataBuilder builder;
+        private MappingDataBuilder.MutableHasJavadoc<?> javadoc = null;
+        private MappingDataBuilder.MutableClassData classData = null;
+        private MappingDataBuilder.MutableMethodData methodData = null;
+
+        LineParser(MappingDataBuilder builder) {
+            this.builder = builder;
+        }
+
+        void parseLine(String rawLine, int i) throws IOException {
+            String line = rawLine.trim();
 
             int commentIndex = line.indexOf('#');
             if (commentIndex != -1) {
                 line = line.substring(0, commentIndex).trim();
-                if (line.isEmpty()) continue; // Skip lines with only comments
+                if (line.isEmpty()) return; // Skip lines with only comments
             }
 
-            if (defWordMatcher.reset(line).find()) {
-                String word = defWordMatcher.group(1);
-                String[] split = line.split(" ");
-                switch (word) {
-                    case "package": {
-                        if (split.length != 2)
-                            throw new IOException("Invalid package line at #" + i + "; incorrect no. of tokens: " + line);
-                        String name = split[1];
-                        javadoc = builder.createPackage(name);
-                        break;
-                    }
-                    case "class": {
-                        if (split.length != 2)
-                            throw new IOException("Invalid class line at #" + i + "; incorrect no. of tokens: " + line);
-                        String name = split[1];
-                        classData = builder.createClass(name);
-                        javadoc = classData;
-                        break;
-                    }
-                    case "field": {
-                        if (split.length != 3)
-                            throw new IOException("Invalid field line at #" + i + "; incorrect no. of tokens: " + line);
-                        if (classData == null)
-                            throw new IOException("Invalid field line at #" + i + "; No enclosing class: " + line);
-                        String name = split[1];
-                        String descriptor = split[2];
-                        javadoc = classData.createField(name, descriptor);
-                        break;
-                    }
-                    case "method": {
-                        if (split.length != 3)
-                            throw new IOException("Invalid method line at #" + i + "; incorrect no. of tokens: " + line);
-                        if (classData == null)
-                            throw new IOException("Invalid method line at #" + i + "; No enclosing class: " + line);
-                        String name = split[1];
-                        String descriptor = split[2];
-                        methodData = classData.createMethod(name, descriptor);
-                        javadoc = methodData;
-                        break;
-                    }
-                    case "param": {
-                        if (split.length < 2 || split.length > 3)
-                            throw new IOException("Invalid param line at #" + i + "; incorrect no. of tokens: " + line);
-                        if (methodData == null)
-                            throw new IOException("Invalid param line at #" + i + "; No enclosing method: " + line);
-                        byte index = Byte.parseByte(split[1]);
-                        String name = split.length == 3 ? split[2] : null;
-                        javadoc = methodData.createParameter(index).setName(name);
-                        break;
-                    }
-                    default: {
-                        throw new IOException("Unrecognized token " + word + " at #" + i + ": " + line);
-                    }
-                }
-            } else {
+            final String word = definitionWord(line);
+            if (word == null) {
                 if (javadoc == null)
                     throw new IOException("Invalid documentation line at #" + i + "; No enclosing definition: " + line);
                 javadoc.addJavadoc(line);
+                return;
+            }
+
+            String[] split = tokenize(line);
+            switch (word) {
+                case PACKAGE: {
+                    if (split.length != 2)
+                        throw new IOException("Invalid package line at #" + i + "; incorrect no. of tokens: " + line);
+                    String name = split[1];
+                    javadoc = builder.createPackage(name);
+                    break;
+                }
+                case CLASS: {
+                    if (split.length != 2)
+                        throw new IOException("Invalid class line at #" + i + "; incorrect no. of tokens: " + line);
+                    String name = split[1];
+                    classData = builder.createClass(name);
+                    javadoc = classData;
+                    break;
+                }
+                case FIELD: {
+                    if (split.length != 3)
+                        throw new IOException("Invalid field line at #" + i + "; incorrect no. of tokens: " + line);
+                    if (classData == null)
+                        throw new IOException("Invalid field line at #" + i + "; No enclosing class: " + line);
+                    String name = split[1];
+                    String descriptor = split[2];
+                    javadoc = classData.createField(name, descriptor);
+                    break;
+                }
+                case METHOD: {
+                    if (split.length != 3)
+                        throw new IOException("Invalid method line at #" + i + "; incorrect no. of tokens: " + line);
+                    if (classData == null)
+                        throw new IOException("Invalid method line at #" + i + "; No enclosing class: " + line);
+                    String name = split[1];
+                    String descriptor = split[2];
+                    methodData = classData.createMethod(name, descriptor);
+                    javadoc = methodData;
+                    break;
+                }
+                case PARAM: {
+                    if (split.length < 2 || split.length > 3)
+                        throw new IOException("Invalid param line at #" + i + "; incorrect no. of tokens: " + line);
+                    if (methodData == null)
+                        throw new IOException("Invalid param line at #" + i + "; No enclosing method: " + line);
+                    byte index = Byte.parseByte(split[1]);
+                    String name = split.length == 3 ? split[2] : null;
+                    javadoc = methodData.createParameter(index).setName(name);
+                    break;
+                }
+                default: {
+                    throw new IOException("Unrecognized token " + word + " at #" + i + ": " + line);
+                }
             }
         }
     }
@@ -0,0 +1,195 @@
+package org.parchmentmc.compass.storage.io;
+
+import okio.Buffer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.parchmentmc.compass.data.visitation.DataVisitor;
+import org.parchmentmc.compass.util.ParallelIO;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+import org.parchmentmc.feather.metadata.SourceMetadata;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Reads and writes the same JSON as {@link SingleFileDataIO}, split into chunks which are each compressed
+ * independently using deflate. As the chunks are independent, they are compressed and decompressed in parallel.
+ *
+ * <p>The file starts with a header of the {@link #MAGIC} bytes, the format version, and the amount of chunks, followed
+ * by the uncompressed and compressed length of each chunk, and then the compressed bytes of each chunk in order. All
+ * numbers are written as big-endian 4-byte integers.</p>
+ */
+public class CompressedSingleFileDataIO implements MappingDataIO {
+    public static final CompressedSingleFileDataIO INSTANCE = new CompressedSingleFileDataIO(SingleFileDataIO.INSTANCE);
+
+    static final String MAGIC = "CMDZ";
+    static final int FORMAT_VERSION = 1;
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private final SingleFileDataIO json;
+    private final int chunkSize;
+    private final int level;
+    private final int parallelism;
+
+    public CompressedSingleFileDataIO(SingleFileDataIO json) {
+        this(json, DEFAULT_CHUNK_SIZE, Deflater.DEFAULT_COMPRESSION, ParallelIO.DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Creates a compressed single-file data I/O.
+     *
+     * @param json        the I/O used to write and read the JSON of the data
+     * @param chunkSize   the size of the uncompressed chunks, in bytes
+     * @param level       the deflate compression level, from {@code 0} to {@code 9}, or {@code -1} for the default
+     * @param parallelism the maximum amount of threads used to compress or decompress chunks; {@code 1} or less does
+     *                    so sequentially
+     */
+    public CompressedSingleFileDataIO(SingleFileDataIO json, int chunkSize, int level, int parallelism) {
+        if (chunkSize < 1) throw new IllegalArgumentException("Chunk size must be positive");
+        this.json = json;
+        this.chunkSize = chunkSize;
+        this.level = level;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public void write(VersionedMappingDataContainer data, Path output) throws IOException {
+        Files.deleteIfExists(output);
+        if (output.getParent() != null) Files.createDirectories(output.getParent());
+
+        final Buffer buffer = new Buffer();
+        json.write(data, buffer);
+        final byte[] bytes = buffer.readByteArray();
+
+        final List<Integer> chunkStarts = new ArrayList<>();
+        for (int start = 0; start < bytes.length; start += chunkSize) {
+            chunkStarts.add(start);
+        }
+        final List<byte[]> chunks = ParallelIO.map(parallelism, chunkStarts,
+                start -> deflate(bytes, start, Math.min(chunkSize, bytes.length - start)));
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output)))) {
+            out.write(MAGIC.getBytes(StandardCharsets.US_ASCII));
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                out.writeInt(Math.min(chunkSize, bytes.length - chunkStarts.get(i)));
+                out.writeInt(chunks.get(i).length);
+            }
+            for (byte[] chunk : chunks) {
+                out.write(chunk);
+            }
+        }
+    }
+
+    @Override
+    public VersionedMappingDataContainer read(Path input) throws IOException {
+        return json.read(decompress(input));
+    }
+
+    @Override
+    public void accept(Path input, DataVisitor visitor, @Nullable SourceMetadata metadata) throws IOException {
+        json.accept(decompress(input), visitor, metadata);
+    }
+
+    private Buffer decompress(Path input) throws IOException {
+        final byte[] bytes = Files.readAllBytes(input);
+        final List<Chunk> chunks = new ArrayList<>();
+        try {
+            final ByteBuffer header = ByteBuffer.wrap(bytes);
+            final byte[] magic = new byte[MAGIC.length()];
+            header.get(magic);
+            if (!MAGIC.equals(new String(magic, StandardCharsets.US_ASCII))) {
+                throw new IOException("Not a compressed mapping data file: " + input);
+            }
+            final int version = header.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported compressed mapping data format version " + version + ": " + input);
+            }
+
+            final int count = header.getInt();
+            if (count < 0) throw new IOException("Malformed compressed mapping data file: " + input);
+            // Each chunk has 8 bytes of lengths in the header
+            long offset = header.position() + 8L * count;
+            for (int i = 0; i < count; i++) {
+                final int uncompressedLength = header.getInt();
+                final int compressedLength = header.getInt();
+                if (uncompressedLength < 0 || compressedLength < 0 || offset + compressedLength > bytes.length) {
+                    throw new IOException("Malformed compressed mapping data file: " + input);
+                }
+                chunks.add(new Chunk((int) offset, compressedLength, uncompressedLength));
+                offset += compressedLength;
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated compressed mapping data file: " + input, e);
+        }
+
+        final List<byte[]> inflated = ParallelIO.map(parallelism, chunks, chunk -> inflate(bytes, chunk));
+        final Buffer buffer = new Buffer();
+        for (byte[] chunk : inflated) {
+            buffer.write(chunk);
+        }
+        return buffer;
+    }
+
+    private byte[] deflate(byte[] bytes, int offset, int length) {
+        final Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(bytes, offset, length);
+            deflater.finish();
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(length / 4);
+            final byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, Chunk chunk) throws IOException {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, chunk.offset, chunk.compressedLength);
+            final byte[] out = new byte[chunk.uncompressedLength];
+            int length = 0;
+            while (length < out.length && !inflater.finished()) {
+                final int read = inflater.inflate(out, length, out.length - length);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                length += read;
+            }
+            if (length != out.length || !inflater.finished()) {
+                throw new IOException("Malformed compressed chunk at offset " + chunk.offset);
+            }
+            return out;
+        } catch (DataFormatException e) {
+            throw new IOException("Malformed compressed chunk at offset " + chunk.offset, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static class Chunk {
+        final int offset;
+        final int compressedLength;
+        final int uncompressedLength;
+
+        Chunk(int offset, int compressedLength, int uncompressedLength) {
+            this.offset = offset;
+            this.compressedLength = compressedLength;
+            this.uncompressedLength = uncompressedLength;
+        }
+    }
+}
@@ -1,120 +1,220 @@
 package org.parchmentmc.compass.storage.io;
 
 import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonReader;
 import com.squareup.moshi.Moshi;
-import okio.BufferedSink;
+import okio.Buffer;
 import okio.BufferedSource;
 import okio.Okio;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.parchmentmc.compass.data.visitation.DataVisitor;
+import org.parchmentmc.compass.data.visitation.DataVisitorStream;
 import org.parchmentmc.compass.util.JSONUtil;
+import org.parchmentmc.compass.util.ParallelIO;
 import org.parchmentmc.feather.mapping.ImmutableMappingDataContainer;
 import org.parchmentmc.feather.mapping.MappingDataContainer;
 import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
 import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+import org.parchmentmc.feather.metadata.SourceMetadata;
 import org.parchmentmc.feather.util.SimpleVersion;
 
-import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.squareup.moshi.Types.newParameterizedType;
 import static com.squareup.moshi.Types.subtypeOf;
 
 // Writes out the data as folders based on package
 public class ExplodedDataIO implements MappingDataIO {
+    private static final Logger LOGGER = Logging.getLogger(ExplodedDataIO.class);
     public static final ExplodedDataIO INSTANCE = new ExplodedDataIO(JSONUtil.MOSHI, "  ");
 
     private final Moshi moshi;
     private final String indent;
+    private final int parallelism;
 
     public ExplodedDataIO(Moshi moshi, String indent) {
+        this(moshi, indent, ParallelIO.DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Creates an exploded data I/O.
+     *
+     * @param moshi       the Moshi instance used to (de)serialize the data
+     * @param indent      the indent for written JSON files
+     * @param parallelism the maximum amount of threads used to read class files; {@code 1} or less reads them
+     *                    sequentially
+     */
+    public ExplodedDataIO(Moshi moshi, String indent, int parallelism) {
         this.moshi = moshi;
         this.indent = indent;
+        this.parallelism = parallelism;
     }
 
     private static final ParameterizedType PACKAGE_COLLECTION_TYPE =
             newParameterizedType(Collection.class, subtypeOf(MappingDataContainer.PackageData.class));
     private static final String EXTENSION = ".json";
+    private static final String INFO_JSON = "info.json";
+    private static final String PACKAGES_JSON = "packages.json";
 
     public void write(VersionedMappingDataContainer data, Path base) throws IOException {
-        if (Files.exists(base)) {
-            // noinspection ResultOfMethodCallIgnored
-            Files.walk(base)
-                    .sorted(Comparator.reverseOrder())
-                    .map(Path::toFile)
-                    .forEach(File::delete);
-        }
+        IncrementalFileWriter writer = update(data, base);
+        LOGGER.info("Wrote exploded data to {}: {}", base, writer);
+    }
+
+    /**
+     * Writes the given data to the base directory, only rewriting the files whose serialized contents have changed and
+     * deleting the class files which are no longer part of the data. The resulting data is the same as if it were
+     * written from scratch, while files outside of the data's layout (such as non-JSON files, or files outside of the
+     * {@code classes} directory) are left untouched.
+     *
+     * @param data the data to write
+     * @param base the base directory
+     * @return the writer used, which holds the counts of written, skipped, and deleted files
+     * @throws IOException if an I/O error occurs while writing the data
+     */
+    public IncrementalFileWriter update(VersionedMappingDataContainer data, Path base) throws IOException {
+        IncrementalFileWriter writer = new IncrementalFileWriter();
         Files.createDirectories(base);
 
         // Write out version data
-        try (BufferedSink sink = Okio.buffer(Okio.sink(base.resolve("info.json")))) {
-            DataInfo info = new DataInfo();
-            info.version = data.getFormatVersion();
-
-            moshi.adapter(DataInfo.class).indent(indent).toJson(sink, info);
-        }
+        DataInfo info = new DataInfo();
+        info.version = data.getFormatVersion();
+        writer.write(base.resolve(INFO_JSON), toBytes(moshi.adapter(DataInfo.class).indent(indent), info));
 
         // Write out packages.json
-        try (BufferedSink sink = Okio.buffer(Okio.sink(base.resolve("packages.json")))) {
-            moshi.adapter(PACKAGE_COLLECTION_TYPE).indent(indent).toJson(sink, data.getPackages());
-        }
+        writer.write(base.resolve(PACKAGES_JSON), toBytes(moshi.adapter(PACKAGE_COLLECTION_TYPE).indent(indent), data.getPackages()));
 
         JsonAdapter<MappingDataContainer.ClassData> classAdapter = moshi.adapter(MappingDataContainer.ClassData.class).indent(indent);
         Path classesBase = base.resolve("classes");
-        for (MappingDataContainer.ClassData classData : data.getClasses()) {
-            String className = classData.getName() + EXTENSION;
-
-            String json = classAdapter.toJson(classData);
-            if (json.isEmpty()) continue;
+        Set<Path> classFiles = ConcurrentHashMap.newKeySet();
+        ParallelIO.forEach(parallelism, new ArrayList<>(data.getClasses()), classData -> {
+            byte[] json = toBytes(classAdapter, classData);
+            if (json.length == 0) return;
+
+            Path classPath = classesBase.resolve(classData.getName() + EXTENSION);
+            classFiles.add(classPath);
+            writer.write(classPath, json);
+        });
 
-            Path classPath = classesBase.resolve(className);
-            if (classPath.getParent() != null && !Files.isDirectory(classPath.getParent())) {
-                Files.createDirectories(classPath.getParent());
-            }
+        // Delete class files which are no longer part of the data, and any directories left empty; anything else within
+        // the base directory is not managed by this and is left alone
+        if (Files.isDirectory(classesBase)) {
+            Files.walkFileTree(classesBase, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (isClassFile(file) && !classFiles.contains(file)) {
+                        writer.delete(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
 
-            try (BufferedSink sink = Okio.buffer(Okio.sink(classPath))) {
-                sink.writeUtf8(json);
-            }
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                    if (exc != null) throw exc;
+                    if (!dir.equals(classesBase)) {
+                        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+                            if (!stream.iterator().hasNext()) {
+                                Files.delete(dir);
+                            }
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
         }
+
+        return writer;
+    }
+
+    private static <T> byte[] toBytes(JsonAdapter<T> adapter, T value) throws IOException {
+        Buffer buffer = new Buffer();
+        adapter.toJson(buffer, value);
+        return buffer.readByteArray();
     }
 
     public VersionedMappingDataContainer read(Path base) throws IOException {
+        VersionedMappingDataContainer header = readHeader(base);
 
+        List<MappingDataContainer.ClassData> classes = ParallelIO.map(parallelism, gatherClassFiles(base), ExplodedDataIO::readClassFile);
+
+        return new VersionedMDCDelegate<>(header.getFormatVersion(), new ImmutableMappingDataContainer(header.getPackages(), classes));
+    }
+
+    @Override
+    public void accept(Path base, DataVisitor visitor, @Nullable SourceMetadata metadata) throws IOException {
+        DataVisitorStream stream = DataVisitorStream.begin(visitor, readHeader(base), metadata);
+
+        if (stream.acceptsClasses()) {
+            for (Path file : gatherClassFiles(base)) {
+                stream.acceptClass(readClassFile(file));
+            }
+        }
+
+        stream.end();
+    }
+
+    // Reads the version and packages, without any classes
+    private VersionedMappingDataContainer readHeader(Path base) throws IOException {
         DataInfo info;
-        try (BufferedSource source = Okio.buffer(Okio.source(base.resolve("info.json")))) {
+        try (BufferedSource source = Okio.buffer(Okio.source(base.resolve(INFO_JSON)))) {
             info = moshi.adapter(DataInfo.class).indent(indent).fromJson(source);
         }
 
-        Collection<? extends MappingDataContainer.PackageData> packages;
-        try (BufferedSource source = Okio.buffer(Okio.source(base.resolve("packages.json")))) {
-            packages = moshi.<Collection<? extends MappingDataContainer.PackageData>>adapter(PACKAGE_COLLECTION_TYPE).indent(indent).fromJson(source);
+        List<MappingDataContainer.PackageData> packages;
+        try (JsonReader reader = JsonReader.of(Okio.buffer(Okio.source(base.resolve(PACKAGES_JSON))))) {
+            packages = MappingDataJsonReader.readPackages(reader);
         }
 
-        List<MappingDataContainer.ClassData> classes = new ArrayList<>();
+        return new VersionedMDCDelegate<>(info.version, new ImmutableMappingDataContainer(packages, Collections.emptyList()));
+    }
 
-        JsonAdapter<MappingDataContainer.ClassData> classAdapter = moshi.adapter(MappingDataContainer.ClassData.class).indent(indent);
+    /**
+     * Reads a single class file from within the {@code classes} directory.
+     *
+     * @param file the class file
+     * @return the class data within the file
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    public static MappingDataContainer.ClassData readClassFile(Path file) throws IOException {
+        try (JsonReader reader = JsonReader.of(Okio.buffer(Okio.source(file)))) {
+            return MappingDataJsonReader.readClass(reader);
+        }
+    }
+
+    // Sorted, to keep the order of the classes deterministic
+    private static List<Path> gatherClassFiles(Path base) throws IOException {
+        List<Path> classFiles = new ArrayList<>();
         Path classesBase = base.resolve("classes");
         Files.walkFileTree(classesBase, new SimpleFileVisitor<Path>() {
             @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
                 Objects.requireNonNull(file);
                 Objects.requireNonNull(attrs);
 
-                try (BufferedSource source = Okio.buffer(Okio.source(file))) {
-                    classes.add(classAdapter.fromJson(source));
+                if (isClassFile(file)) {
+                    classFiles.add(file);
                 }
 
                 return FileVisitResult.CONTINUE;
             }
         });
+        Collections.sort(classFiles);
+        return classFiles;
+    }
 
-
-        return new VersionedMDCDelegate<>(info.version, new ImmutableMappingDataContainer(packages, classes));
+    private static boolean isClassFile(Path file) {
+        return file.getFileName().toString().endsWith(EXTENSION);
     }
 
     static class DataInfo {
@@ -0,0 +1,74 @@
+package org.parchmentmc.compass.storage.io;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes files only if their contents differ from the contents already on disk, keeping counts of the written,
+ * skipped, and deleted files. This avoids needlessly touching files (and their modification times) when writing out
+ * mostly-unchanged data.
+ *
+ * <p>This class is safe for use by multiple threads at once, as long as no two threads operate on the same file.</p>
+ */
+public class IncrementalFileWriter {
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger deleted = new AtomicInteger();
+
+    /**
+     * Writes the given contents to the file, if the file does not exist or its contents differ. Missing parent
+     * directories are created.
+     *
+     * @param file     the file to write to
+     * @param contents the new contents of the file
+     * @return {@code true} if the file was written, {@code false} if it was skipped as unchanged
+     * @throws IOException if an I/O error occurs while reading or writing the file
+     */
+    public boolean write(Path file, byte[] contents) throws IOException {
+        if (Files.isRegularFile(file) && Files.size(file) == contents.length
+                && Arrays.equals(Files.readAllBytes(file), contents)) {
+            skipped.incrementAndGet();
+            return false;
+        }
+
+        final Path parent = file.getParent();
+        if (parent != null && !Files.isDirectory(parent)) {
+            Files.createDirectories(parent);
+        }
+        Files.write(file, contents);
+        written.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Deletes the given file, if it exists.
+     *
+     * @param file the file to delete
+     * @throws IOException if an I/O error occurs while deleting the file
+     */
+    public void delete(Path file) throws IOException {
+        if (Files.deleteIfExists(file)) {
+            deleted.incrementAndGet();
+        }
+    }
+
+    public int getWritten() {
+        return written.get();
+    }
+
+    public int getSkipped() {
+        return skipped.get();
+    }
+
+    public int getDeleted() {
+        return deleted.get();
+    }
+
+    @Override
+    public String toString() {
+        return "written " + getWritten() + ", skipped " + getSkipped() + ", deleted " + getDeleted();
+    }
+}
@@ -1,8 +1,12 @@
 package org.parchmentmc.compass.storage.io;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.parchmentmc.compass.data.visitation.DataVisitor;
+import org.parchmentmc.compass.data.visitation.DataVisitorStream;
 import org.parchmentmc.feather.mapping.MappingDataContainer;
 import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
 import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+import org.parchmentmc.feather.metadata.SourceMetadata;
 
 import java.io.File;
 import java.io.IOException;
@@ -28,4 +32,20 @@ public interface MappingDataIO {
     default VersionedMappingDataContainer read(File input) throws IOException {
         return read(input.toPath());
     }
+
+    /**
+     * Reads the mapping data and visits it with the given data visitor in a single pass.
+     *
+     * <p>Implementations may push the data to the visitor as it is being read, so that the whole data is never held in
+     * memory at once; see {@link DataVisitorStream} for how the visitation differs from a regular visit. The default
+     * implementation reads the whole data, then visits it without revisits.</p>
+     *
+     * @param input    the input path
+     * @param visitor  the data visitor
+     * @param metadata the source metadata, may be {@code null}
+     * @throws IOException if an I/O error occurs while reading the data
+     */
+    default void accept(Path input, DataVisitor visitor, @Nullable SourceMetadata metadata) throws IOException {
+        DataVisitor.visit(0, visitor, read(input), metadata);
+    }
 }
@@ -0,0 +1,234 @@
+package org.parchmentmc.compass.storage.io;
+
+import com.squareup.moshi.JsonDataException;
+import com.squareup.moshi.JsonReader;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.parchmentmc.compass.util.StringPool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.parchmentmc.feather.mapping.ImmutableMappingDataContainer.*;
+import static org.parchmentmc.feather.mapping.MappingDataContainer.*;
+
+// Helper package-only class, to read the JSON form of mapping data without going through the Moshi adapters
+// The data is read straight into the immutable data classes, with the names and descriptors being pooled as they are read
+final class MappingDataJsonReader {
+    private static final JsonReader.Options PACKAGE_KEYS = JsonReader.Options.of("name", "javadoc");
+    private static final JsonReader.Options CLASS_KEYS = JsonReader.Options.of("name", "javadoc", "fields", "methods");
+    private static final JsonReader.Options FIELD_KEYS = JsonReader.Options.of("name", "descriptor", "javadoc");
+    private static final JsonReader.Options METHOD_KEYS = JsonReader.Options.of("name", "descriptor", "javadoc", "parameters");
+    private static final JsonReader.Options PARAM_KEYS = JsonReader.Options.of("index", "name", "javadoc");
+
+    private MappingDataJsonReader() { // Prevent instantiation
+    }
+
+    static List<PackageData> readPackages(JsonReader reader) throws IOException {
+        final List<PackageData> packages = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            packages.add(readPackage(reader));
+        }
+        reader.endArray();
+        return packages;
+    }
+
+    static PackageData readPackage(JsonReader reader) throws IOException {
+        String name = null;
+        List<String> javadoc = Collections.emptyList();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.selectName(PACKAGE_KEYS)) {
+                case 0:
+                    name = StringPool.intern(reader.nextString());
+                    break;
+                case 1:
+                    javadoc = readJavadoc(reader);
+                    break;
+                default:
+                    reader.skipName();
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new ImmutablePackageData(required(reader, name, "name"), javadoc);
+    }
+
+    static ClassData readClass(JsonReader reader) throws IOException {
+        String name = null;
+        List<String> javadoc = Collections.emptyList();
+        List<FieldData> fields = Collections.emptyList();
+        List<MethodData> methods = Collections.emptyList();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.selectName(CLASS_KEYS)) {
+                case 0:
+                    name = StringPool.intern(reader.nextString());
+                    break;
+                case 1:
+                    javadoc = readJavadoc(reader);
+                    break;
+                case 2: {
+                    fields = new ArrayList<>();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        fields.add(readField(reader));
+                    }
+                    reader.endArray();
+                    break;
+                }
+                case 3: {
+                    methods = new ArrayList<>();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        methods.add(readMethod(reader));
+                    }
+                    reader.endArray();
+                    break;
+                }
+                default:
+                    reader.skipName();
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new ImmutableClassData(required(reader, name, "name"), javadoc, fields, methods);
+    }
+
+    private static FieldData readField(JsonReader reader) throws IOException {
+        String name = null;
+        String descriptor = null;
+        List<String> javadoc = Collections.emptyList();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.selectName(FIELD_KEYS)) {
+                case 0:
+                    name = StringPool.intern(reader.nextString());
+                    break;
+                case 1:
+                    descriptor = StringPool.intern(reader.nextString());
+                    break;
+                case 2:
+                    javadoc = readJavadoc(reader);
+                    break;
+                default:
+                    reader.skipName();
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new ImmutableFieldData(required(reader, name, "name"), required(reader, descriptor, "descriptor"), javadoc);
+    }
+
+    private static MethodData readMethod(JsonReader reader) throws IOException {
+        String name = null;
+        String descriptor = null;
+        List<String> javadoc = Collections.emptyList();
+        List<ParameterData> params = Collections.emptyList();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.selectName(METHOD_KEYS)) {
+                case 0:
+                    name = StringPool.intern(reader.nextString());
+                    break;
+                case 1:
+                    descriptor = StringPool.intern(reader.nextString());
+                    break;
+                case 2:
+                    javadoc = readJavadoc(reader);
+                    break;
+                case 3: {
+                    params = new ArrayList<>();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        params.add(readParameter(reader));
+                    }
+                    reader.endArray();
+                    break;
+                }
+                default:
+                    reader.skipName();
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new ImmutableMethodData(required(reader, name, "name"), required(reader, descriptor, "descriptor"),
+                javadoc, params);
+    }
+
+    private static ParameterData readParameter(JsonReader reader) throws IOException {
+        int index = 0;
+        boolean hasIndex = false;
+        String name = null;
+        String javadoc = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.selectName(PARAM_KEYS)) {
+                case 0:
+                    index = reader.nextInt();
+                    hasIndex = true;
+                    if (index < Byte.MIN_VALUE || index > Byte.MAX_VALUE) {
+                        throw new JsonDataException("Parameter index " + index + " out of range at path " + reader.getPath());
+                    }
+                    break;
+                case 1:
+                    name = StringPool.intern(nextNullableString(reader));
+                    break;
+                case 2:
+                    javadoc = nextNullableString(reader);
+                    break;
+                default:
+                    reader.skipName();
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (!hasIndex) throw new JsonDataException("Missing parameter index at path " + reader.getPath());
+        return new ImmutableParameterData((byte) index, name, javadoc);
+    }
+
+    // Accepts either an array of lines or a single line
+    private static List<String> readJavadoc(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case NULL:
+                reader.nextNull();
+                return Collections.emptyList();
+            case STRING:
+                return Collections.singletonList(reader.nextString());
+            default: {
+                final List<String> javadoc = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    javadoc.add(reader.nextString());
+                }
+                reader.endArray();
+                return javadoc;
+            }
+        }
+    }
+
+    @Nullable
+    private static String nextNullableString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonReader.Token.NULL) {
+            return reader.nextNull();
+        }
+        return reader.nextString();
+    }
+
+    private static String required(JsonReader reader, @Nullable String value, String key) {
+        if (value == null) throw new JsonDataException("Missing '" + key + "' at path " + reader.getPath());
+        return value;
+    }
+}
@@ -0,0 +1,135 @@
+package org.parchmentmc.compass.storage.io;
+
+import org.parchmentmc.compass.storage.io.enigma.EnigmaFormattedExplodedIO;
+import org.parchmentmc.compass.util.MappingUtil;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.MappingDataContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Holds the mapping data read from an input in memory, and patches it as the files of the input change.
+ *
+ * <p>For the exploded formats, only the files which changed are re-read: a mapping file of the Enigma formats replaces
+ * the classes of its outer class, and a class file of the {@linkplain MappingIOFormat#MDC_EXPLODED exploded format}
+ * replaces its class. Any other change (such as to the packages or version info, or to a single-file format) causes
+ * the whole input to be re-read.</p>
+ */
+public class MappingDataReloader {
+    private static final String CLASSES_DIRECTORY = "classes/";
+    private static final String JSON_EXTENSION = ".json";
+
+    private final MappingIOFormat format;
+    private final Path base;
+    private MappingDataBuilder data = new MappingDataBuilder();
+    // Outer class name -> names of the classes within it, for the Enigma formats
+    private final Map<String, Set<String>> classesByOuterClass = new HashMap<>();
+
+    public MappingDataReloader(MappingIOFormat format, Path base) {
+        this.format = format;
+        this.base = base;
+    }
+
+    public MappingDataBuilder getData() {
+        return data;
+    }
+
+    /**
+     * Reads the whole input.
+     *
+     * @return the names of the classes affected by the read, which are the classes both before and after the read
+     * @throws IOException if an I/O error occurs while reading the input
+     */
+    public Set<String> load() throws IOException {
+        final Set<String> affected = classNames(data);
+        data = MappingDataBuilder.copyOf(format.read(base));
+        affected.addAll(classNames(data));
+
+        classesByOuterClass.clear();
+        for (MappingDataContainer.ClassData classData : data.getClasses()) {
+            indexClass(classData.getName());
+        }
+        return affected;
+    }
+
+    /**
+     * Patches the data according to the given changed files, re-reading the whole input if the changes cannot be
+     * applied to individual classes.
+     *
+     * @param changedFiles the changed (created, modified, or deleted) files within the input, which may include the
+     *                     base directory itself to signal that any file may have changed
+     * @return the names of the classes affected by the changes
+     * @throws IOException if an I/O error occurs while reading the changed files
+     */
+    public Set<String> reload(Collection<Path> changedFiles) throws IOException {
+        final Set<String> affected = new TreeSet<>();
+        final MappingDataIO dataIO = format.getDataIO();
+
+        for (Path file : changedFiles) {
+            // The base directory itself is reported when the watcher lost track of events, so anything may have changed
+            if (file.equals(base)) return load();
+            // The files within a created directory are reported on their own
+            if (Files.isDirectory(file)) continue;
+            final String relative = base.relativize(file).toString().replace('\\', '/');
+
+            if (dataIO instanceof EnigmaFormattedExplodedIO) {
+                final EnigmaFormattedExplodedIO enigmaIO = (EnigmaFormattedExplodedIO) dataIO;
+                final String extension = '.' + enigmaIO.getExtension();
+                if (!relative.endsWith(extension)) return load();
+
+                final String outerClass = relative.substring(0, relative.length() - extension.length());
+                final Set<String> previousClasses = classesByOuterClass.remove(outerClass);
+                if (previousClasses != null) {
+                    for (String className : previousClasses) {
+                        data.removeClass(className);
+                        affected.add(className);
+                    }
+                }
+                if (Files.isRegularFile(file)) {
+                    for (MappingDataContainer.ClassData classData : enigmaIO.readMappingFile(file).getClasses()) {
+                        MappingUtil.copyClass(classData, data);
+                        indexClass(classData.getName());
+                        affected.add(classData.getName());
+                    }
+                }
+            } else if (dataIO instanceof ExplodedDataIO
+                    && relative.startsWith(CLASSES_DIRECTORY) && relative.endsWith(JSON_EXTENSION)) {
+                final String className = relative.substring(CLASSES_DIRECTORY.length(), relative.length() - JSON_EXTENSION.length());
+                if (data.getClass(className) != null) {
+                    data.removeClass(className);
+                }
+                affected.add(className);
+                if (Files.isRegularFile(file)) {
+                    final MappingDataContainer.ClassData classData = ExplodedDataIO.readClassFile(file);
+                    data.removeClass(classData.getName());
+                    MappingUtil.copyClass(classData, data);
+                    affected.add(classData.getName());
+                }
+            } else {
+                return load();
+            }
+        }
+
+        return affected;
+    }
+
+    private void indexClass(String className) {
+        classesByOuterClass.computeIfAbsent(EnigmaFormattedExplodedIO.getOuterClass(className), k -> new TreeSet<>())
+                .add(className);
+    }
+
+    private static Set<String> classNames(MappingDataContainer data) {
+        final Set<String> names = new TreeSet<>();
+        for (MappingDataContainer.ClassData classData : data.getClasses()) {
+            names.add(classData.getName());
+        }
+        return names;
+    }
+}
@@ -1,14 +1,20 @@
 package org.parchmentmc.compass.storage.io;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.parchmentmc.compass.data.visitation.DataVisitor;
+import org.parchmentmc.compass.storage.io.binary.BinaryDataIO;
 import org.parchmentmc.compass.storage.io.enigma.EnigmaFormattedExplodedIO;
 import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+import org.parchmentmc.feather.metadata.SourceMetadata;
 
 import java.io.IOException;
 import java.nio.file.Path;
 
 public enum MappingIOFormat implements MappingDataIO {
     MDC_SINGLE(true, SingleFileDataIO.INSTANCE),
+    MDC_SINGLE_COMPRESSED(true, CompressedSingleFileDataIO.INSTANCE),
     MDC_EXPLODED(false, ExplodedDataIO.INSTANCE),
+    MDC_BINARY(true, BinaryDataIO.INSTANCE),
     ENIGMA_EXPLODED(false, EnigmaFormattedExplodedIO.LENGTH_SORT_INSTANCE),
     ENIGMA_EXPLODED_LENGTH_SORT(false, EnigmaFormattedExplodedIO.LENGTH_SORT_INSTANCE),
     ENIGMA_EXPLODED_LEXICOGRAPHIC_SORT(false, EnigmaFormattedExplodedIO.LEXICOGRAPHIC_SORT_INSTANCE);
@@ -38,4 +44,9 @@ public enum MappingIOFormat implements MappingDataIO {
     public VersionedMappingDataContainer read(Path input) throws IOException {
         return dataIO.read(input);
     }
+
+    @Override
+    public void accept(Path input, DataVisitor visitor, @Nullable SourceMetadata metadata) throws IOException {
+        dataIO.accept(input, visitor, metadata);
+    }
 }
@@ -1,16 +1,27 @@
 package org.parchmentmc.compass.storage.io;
 
+import com.squareup.moshi.JsonReader;
 import com.squareup.moshi.Moshi;
 import okio.BufferedSink;
 import okio.BufferedSource;
 import okio.Okio;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.parchmentmc.compass.data.visitation.DataVisitor;
+import org.parchmentmc.compass.data.visitation.DataVisitorStream;
 import org.parchmentmc.compass.util.JSONUtil;
+import org.parchmentmc.feather.mapping.ImmutableMappingDataContainer;
+import org.parchmentmc.feather.mapping.MappingDataContainer;
+import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
 import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+import org.parchmentmc.feather.metadata.SourceMetadata;
+import org.parchmentmc.feather.util.SimpleVersion;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public class SingleFileDataIO implements MappingDataIO {
     public static final SingleFileDataIO INSTANCE = new SingleFileDataIO(JSONUtil.MOSHI, "  ");
@@ -29,17 +40,157 @@ public class SingleFileDataIO implements MappingDataIO {
         if (output.getParent() != null) Files.createDirectories(output.getParent());
 
         try (BufferedSink sink = Okio.buffer(Okio.sink(output))) {
-            moshi.adapter(VersionedMappingDataContainer.class).indent(indent).toJson(sink, data);
+            write(data, sink);
         }
     }
 
+    /**
+     * Writes the given data as JSON to the sink. The sink is not closed.
+     *
+     * @param data the data to write
+     * @param sink the sink
+     * @throws IOException if an I/O error occurs while writing the data
+     */
+    public void write(VersionedMappingDataContainer data, BufferedSink sink) throws IOException {
+        moshi.adapter(VersionedMappingDataContainer.class).indent(indent).toJson(sink, data);
+    }
+
     @Override
     public VersionedMappingDataContainer read(Path input) throws IOException {
-        try (BufferedSource source = Okio.buffer(Okio.source(input))) {
-            VersionedMappingDataContainer data = moshi.adapter(VersionedMappingDataContainer.class)
-                    .indent(indent).fromJson(source);
-            Objects.requireNonNull(data, "Data from " + input + " was deserialized as null");
-            return data;
+        return read(Okio.buffer(Okio.source(input)));
+    }
+
+    /**
+     * Reads the data as JSON from the source. The source is closed once the data is read.
+     *
+     * @param source the source
+     * @return the read data
+     * @throws IOException if an I/O error occurs while reading the data
+     */
+    public VersionedMappingDataContainer read(BufferedSource source) throws IOException {
+        try (JsonReader reader = JsonReader.of(source)) {
+            @Nullable SimpleVersion version = null;
+            List<MappingDataContainer.PackageData> packages = Collections.emptyList();
+            List<MappingDataContainer.ClassData> classes = Collections.emptyList();
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "version":
+                        version = readVersion(reader);
+                        break;
+                    case "packages":
+                        packages = MappingDataJsonReader.readPackages(reader);
+                        break;
+                    case "classes": {
+                        classes = new ArrayList<>();
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            classes.add(MappingDataJsonReader.readClass(reader));
+                        }
+                        reader.endArray();
+                        break;
+                    }
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            return new VersionedMDCDelegate<>(requireVersion(version), new ImmutableMappingDataContainer(packages, classes));
+        }
+    }
+
+    @Override
+    public void accept(Path input, DataVisitor visitor, @Nullable SourceMetadata metadata) throws IOException {
+        accept(Okio.buffer(Okio.source(input)), visitor, metadata);
+    }
+
+    /**
+     * Reads the data as JSON from the source, visiting it with the given data visitor in a single pass. The source is
+     * closed once the data is read.
+     *
+     * @param source   the source
+     * @param visitor  the data visitor
+     * @param metadata the source metadata, may be {@code null}
+     * @throws IOException if an I/O error occurs while reading the data
+     * @see MappingDataIO#accept(Path, DataVisitor, SourceMetadata)
+     */
+    public void accept(BufferedSource source, DataVisitor visitor, @Nullable SourceMetadata metadata) throws IOException {
+        try (JsonReader reader = JsonReader.of(source)) {
+            @Nullable SimpleVersion version = null;
+            List<MappingDataContainer.PackageData> packages = null;
+            @Nullable DataVisitorStream stream = null;
+            // Only used if the classes come before the version or packages in the file, which is not the case for
+            // written files
+            @Nullable List<MappingDataContainer.ClassData> earlyClasses = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "version":
+                        version = readVersion(reader);
+                        break;
+                    case "packages":
+                        packages = MappingDataJsonReader.readPackages(reader);
+                        break;
+                    case "classes": {
+                        if (version != null && packages != null) {
+                            stream = DataVisitorStream.begin(visitor, header(version, packages), metadata);
+                        } else {
+                            earlyClasses = new ArrayList<>();
+                        }
+
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            if (stream != null && !stream.acceptsClasses()) {
+                                reader.skipValue();
+                                continue;
+                            }
+                            final MappingDataContainer.ClassData classData = MappingDataJsonReader.readClass(reader);
+                            if (stream != null) {
+                                stream.acceptClass(classData);
+                            } else {
+                                earlyClasses.add(classData);
+                            }
+                        }
+                        reader.endArray();
+                        break;
+                    }
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if (stream == null) {
+                stream = DataVisitorStream.begin(visitor, header(requireVersion(version),
+                        packages != null ? packages : Collections.emptyList()), metadata);
+                if (earlyClasses != null) {
+                    earlyClasses.forEach(stream::acceptClass);
+                }
+            }
+            stream.end();
         }
     }
+
+    // Incompatible versions are rejected as soon as they are read, before reading the rest of the data
+    private SimpleVersion readVersion(JsonReader reader) throws IOException {
+        final SimpleVersion version = moshi.adapter(SimpleVersion.class).fromJson(reader);
+        if (version == null) throw new IOException("Mapping data version was deserialized as null");
+        if (!version.isCompatibleWith(VersionedMappingDataContainer.CURRENT_FORMAT)) {
+            throw new IOException("Mapping data version " + version + " is incompatible with the current version "
+                    + VersionedMappingDataContainer.CURRENT_FORMAT);
+        }
+        return version;
+    }
+
+    private static SimpleVersion requireVersion(@Nullable SimpleVersion version) throws IOException {
+        if (version == null) throw new IOException("Mapping data has no version");
+        return version;
+    }
+
+    private static VersionedMappingDataContainer header(SimpleVersion version, List<MappingDataContainer.PackageData> packages) {
+        return new VersionedMDCDelegate<>(version, new ImmutableMappingDataContainer(packages, Collections.emptyList()));
+    }
 }
@@ -0,0 +1,115 @@
+package org.parchmentmc.compass.storage.io.binary;
+
+import okio.BufferedSink;
+import okio.Okio;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.parchmentmc.compass.data.visitation.DataVisitor;
+import org.parchmentmc.compass.data.visitation.DataVisitorStream;
+import org.parchmentmc.compass.storage.io.MappingDataIO;
+import org.parchmentmc.feather.mapping.ImmutableMappingDataContainer;
+import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+import org.parchmentmc.feather.metadata.SourceMetadata;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Iterator;
+
+import static org.parchmentmc.feather.mapping.MappingDataContainer.ClassData;
+
+/**
+ * Reads and writes mapping data as a single compact binary file.
+ *
+ * <p>The file starts with a header of the {@linkplain #MAGIC magic number} and the
+ * {@linkplain #BINARY_FORMAT_VERSION binary format version}, followed by a table of every distinct string in the data.
+ * The data itself follows, where every string is stored as an index into the string table. The file ends with an index
+ * of the class names to the offsets of their data, followed by the length of that index as a 4-byte integer, which
+ * allows {@linkplain #open(Path) opening the file} and decoding single classes without decoding the whole file. All
+ * counts, indexes, and offsets are stored as unsigned variable-length integers (LEB128).</p>
+ *
+ * <p>This format is meant for fast machine reading and writing, such as caches and intermediate outputs; it is not
+ * meant to be human-readable, nor to be stored in version control.</p>
+ */
+public class BinaryDataIO implements MappingDataIO {
+    public static final BinaryDataIO INSTANCE = new BinaryDataIO();
+
+    static final byte[] MAGIC = "CMDB".getBytes(StandardCharsets.US_ASCII);
+    /**
+     * The version of the binary layout, which is incremented on every incompatible change to the layout. This is
+     * distinct from the format version of the mapping data stored within.
+     */
+    static final int BINARY_FORMAT_VERSION = 2;
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The data is written to a temporary file first, which is then moved over the output file, so that readers of
+     * the previous file never see a partially-written file.</p>
+     */
+    @Override
+    public void write(VersionedMappingDataContainer data, Path output) throws IOException {
+        final Path directory = output.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        final Path temp = Files.createTempFile(directory, output.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedSink sink = Okio.buffer(Okio.sink(temp))) {
+                BinaryWriter.write(data, sink);
+            }
+            try {
+                Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public VersionedMappingDataContainer read(Path input) throws IOException {
+        return BinaryReader.read(ByteBuffer.wrap(Files.readAllBytes(input)));
+    }
+
+    @Override
+    public void accept(Path input, DataVisitor visitor, @Nullable SourceMetadata metadata) throws IOException {
+        try {
+            final LazyBinaryDataContainer container = open(input);
+            final DataVisitorStream stream = DataVisitorStream.begin(visitor,
+                    new VersionedMDCDelegate<>(container.getFormatVersion(),
+                            new ImmutableMappingDataContainer(container.getPackages(), Collections.emptyList())),
+                    metadata);
+
+            // Each class is decoded as the iteration reaches it, and is not retained afterwards
+            for (Iterator<? extends ClassData> iterator = container.getClasses().iterator(); stream.acceptsClasses() && iterator.hasNext(); ) {
+                stream.acceptClass(iterator.next());
+            }
+            stream.end();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Opens the given binary mapping data file as a lazily-decoded container. Unlike {@link #read(Path)}, this only
+     * decodes the data for classes as they are requested.
+     *
+     * <p>The file is read into memory rather than memory-mapped, as a mapped file cannot be replaced or deleted on some
+     * platforms (notably Windows) until its mapping is garbage collected, while these files are replaced on every
+     * write.</p>
+     *
+     * @param input the binary mapping data file
+     * @return the lazily-decoded container
+     * @throws IOException if an I/O error occurs while reading the file, or the file is not valid binary mapping data
+     */
+    public LazyBinaryDataContainer open(Path input) throws IOException {
+        return new LazyBinaryDataContainer(ByteBuffer.wrap(Files.readAllBytes(input)), input);
+    }
+}
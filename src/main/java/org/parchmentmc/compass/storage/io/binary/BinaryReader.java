@@ -0,0 +1,162 @@
+package org.parchmentmc.compass.storage.io.binary;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.parchmentmc.feather.mapping.ImmutableMappingDataContainer;
+import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+import org.parchmentmc.feather.util.SimpleVersion;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.parchmentmc.compass.storage.io.binary.BinaryDataIO.BINARY_FORMAT_VERSION;
+import static org.parchmentmc.compass.storage.io.binary.BinaryDataIO.MAGIC;
+import static org.parchmentmc.feather.mapping.ImmutableMappingDataContainer.*;
+
+// Helper package-only class, to separate reading
+final class BinaryReader {
+    private final ByteBuffer buffer;
+    private final StringTable strings;
+
+    // Reads from the buffer's current position onwards
+    BinaryReader(ByteBuffer buffer, StringTable strings) {
+        this.buffer = buffer;
+        this.strings = strings;
+    }
+
+    public static VersionedMappingDataContainer read(ByteBuffer buffer) throws IOException {
+        try {
+            readHeader(buffer);
+            final StringTable strings = new StringTable(buffer);
+            final BinaryReader reader = new BinaryReader(buffer, strings);
+
+            final SimpleVersion version = reader.readVersion();
+            final List<ImmutablePackageData> packages = reader.readPackages();
+
+            final int classCount = readCount(buffer);
+            final List<ImmutableClassData> classes = new ArrayList<>(classCount);
+            for (int i = 0; i < classCount; i++) {
+                classes.add(reader.readClass());
+            }
+
+            return new VersionedMDCDelegate<>(version, new ImmutableMappingDataContainer(packages, classes));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw malformed(e);
+        }
+    }
+
+    static IOException malformed(RuntimeException e) {
+        return new IOException("Truncated or malformed binary mapping data", e);
+    }
+
+    static IOException malformed(String detail) {
+        return new IOException("Truncated or malformed binary mapping data: " + detail);
+    }
+
+    static void readHeader(ByteBuffer buffer) throws IOException {
+        final byte[] magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) throw new IOException("Not binary mapping data: mismatched magic number");
+
+        final int version = readVarInt(buffer);
+        if (version != BINARY_FORMAT_VERSION)
+            throw new IOException("Unsupported binary mapping data version " + version + ", expected " + BINARY_FORMAT_VERSION);
+    }
+
+    SimpleVersion readVersion() throws IOException {
+        return SimpleVersion.of(readString());
+    }
+
+    List<ImmutablePackageData> readPackages() throws IOException {
+        final int packageCount = readCount(buffer);
+        final List<ImmutablePackageData> packages = new ArrayList<>(packageCount);
+        for (int i = 0; i < packageCount; i++) {
+            packages.add(new ImmutablePackageData(readString(), readJavadoc()));
+        }
+        return packages;
+    }
+
+    ImmutableClassData readClass() throws IOException {
+        final String name = readString();
+        final List<String> javadoc = readJavadoc();
+
+        final int fieldCount = readCount(buffer);
+        final List<ImmutableFieldData> fields = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            fields.add(new ImmutableFieldData(readString(), readString(), readJavadoc()));
+        }
+
+        final int methodCount = readCount(buffer);
+        final List<ImmutableMethodData> methods = new ArrayList<>(methodCount);
+        for (int i = 0; i < methodCount; i++) {
+            final String methodName = readString();
+            final String methodDescriptor = readString();
+            final List<String> methodJavadoc = readJavadoc();
+
+            final int paramCount = readCount(buffer);
+            final List<ImmutableParameterData> params = new ArrayList<>(paramCount);
+            for (int j = 0; j < paramCount; j++) {
+                params.add(new ImmutableParameterData(buffer.get(), readNullableString(), readNullableString()));
+            }
+
+            methods.add(new ImmutableMethodData(methodName, methodDescriptor, methodJavadoc, params));
+        }
+
+        return new ImmutableClassData(name, javadoc, fields, methods);
+    }
+
+    private List<String> readJavadoc() throws IOException {
+        final int count = readCount(buffer);
+        if (count == 0) return Collections.emptyList();
+
+        final List<String> javadoc = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            javadoc.add(readString());
+        }
+        return javadoc;
+    }
+
+    String readString() throws IOException {
+        return strings.get(readVarInt(buffer));
+    }
+
+    @Nullable
+    private String readNullableString() throws IOException {
+        final int index = readVarInt(buffer);
+        return index == 0 ? null : strings.get(index - 1);
+    }
+
+    // Every counted element or byte takes up at least one byte, so a larger count than the remaining bytes is corrupt
+    static int readCount(ByteBuffer buffer) throws IOException {
+        final int count = readVarInt(buffer);
+        if (count < 0 || count > buffer.remaining()) {
+            throw malformed("count of " + count + " with only " + buffer.remaining() + " bytes remaining");
+        }
+        return count;
+    }
+
+    static long readVarLong(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            final byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    static int readVarInt(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+}
@@ -0,0 +1,140 @@
+package org.parchmentmc.compass.storage.io.binary;
+
+import okio.Buffer;
+import okio.BufferedSink;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.parchmentmc.feather.mapping.MappingDataContainer;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.parchmentmc.compass.storage.io.binary.BinaryDataIO.BINARY_FORMAT_VERSION;
+import static org.parchmentmc.compass.storage.io.binary.BinaryDataIO.MAGIC;
+import static org.parchmentmc.feather.mapping.MappingDataContainer.*;
+
+// Helper package-only class, to separate writing
+// The body is written first to a buffer while collecting the strings, so the string table can precede it in the output
+final class BinaryWriter {
+    private final Map<String, Integer> stringIndexes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private final Buffer body = new Buffer();
+    private final Buffer index = new Buffer();
+
+    private BinaryWriter() {
+    }
+
+    public static void write(VersionedMappingDataContainer data, BufferedSink sink) throws IOException {
+        final BinaryWriter writer = new BinaryWriter();
+
+        writer.writeString(data.getFormatVersion().toString());
+
+        writeVarInt(writer.body, data.getPackages().size());
+        for (PackageData pkg : data.getPackages()) {
+            writer.writeString(pkg.getName());
+            writer.writeJavadoc(pkg.getJavadoc());
+        }
+
+        writeVarInt(writer.body, data.getClasses().size());
+        writeVarInt(writer.index, data.getClasses().size());
+        for (ClassData cls : data.getClasses()) {
+            // Index entry: the class name and the offset of the class record from the start of the body
+            writeVarInt(writer.index, writer.intern(cls.getName()));
+            writeVarLong(writer.index, writer.body.size());
+            writer.writeClass(cls);
+        }
+
+        writer.writeTo(sink);
+    }
+
+    private void writeTo(BufferedSink sink) throws IOException {
+        sink.write(MAGIC);
+        writeVarInt(sink, BINARY_FORMAT_VERSION);
+
+        writeVarInt(sink, strings.size());
+        for (String string : strings) {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(sink, bytes.length);
+            sink.write(bytes);
+        }
+
+        sink.writeAll(body);
+
+        final long indexLength = index.size();
+        sink.writeAll(index);
+        sink.writeInt((int) indexLength);
+    }
+
+    private void writeClass(ClassData cls) throws IOException {
+        writeString(cls.getName());
+        writeJavadoc(cls.getJavadoc());
+
+        writeVarInt(body, cls.getFields().size());
+        for (FieldData field : cls.getFields()) {
+            writeString(field.getName());
+            writeString(field.getDescriptor());
+            writeJavadoc(field.getJavadoc());
+        }
+
+        writeVarInt(body, cls.getMethods().size());
+        for (MethodData method : cls.getMethods()) {
+            writeString(method.getName());
+            writeString(method.getDescriptor());
+            writeJavadoc(method.getJavadoc());
+
+            writeVarInt(body, method.getParameters().size());
+            for (ParameterData param : method.getParameters()) {
+                body.writeByte(param.getIndex());
+                writeNullableString(param.getName());
+                writeNullableString(param.getJavadoc());
+            }
+        }
+    }
+
+    private void writeJavadoc(List<String> javadoc) throws IOException {
+        writeVarInt(body, javadoc.size());
+        for (String line : javadoc) {
+            writeString(line);
+        }
+    }
+
+    private void writeString(String string) throws IOException {
+        writeVarInt(body, intern(string));
+    }
+
+    // Shifted by one, so that 0 represents null
+    private void writeNullableString(@Nullable String string) throws IOException {
+        writeVarInt(body, string == null ? 0 : intern(string) + 1);
+    }
+
+    private int intern(String string) {
+        Integer index = stringIndexes.get(string);
+        if (index == null) {
+            index = strings.size();
+            stringIndexes.put(string, index);
+            strings.add(string);
+        }
+        return index;
+    }
+
+    // Unsigned LEB128: seven bits per byte, with the high bit set on all but the last byte
+    static void writeVarLong(BufferedSink sink, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            sink.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        sink.writeByte((int) value);
+    }
+
+    static void writeVarInt(BufferedSink sink, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            sink.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        sink.writeByte(value);
+    }
+}
@@ -0,0 +1,145 @@
+package org.parchmentmc.compass.storage.io.binary;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.parchmentmc.feather.mapping.ImmutableMappingDataContainer.ImmutablePackageData;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+import org.parchmentmc.feather.util.SimpleVersion;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * A read-only view of a {@linkplain BinaryDataIO binary mapping data} file, which is decoded lazily.
+ *
+ * <p>Opening the file reads its bytes into memory, but only decodes the header, the packages, and the class index at
+ * the end of the file. The data for a class is only decoded when requested through {@link #getClass(String)}, and
+ * iterating over {@link #getClasses()} decodes each class as it is reached without retaining it. Strings are decoded on
+ * first use and shared thereafter.</p>
+ *
+ * <p>This container is safe for use by multiple threads at once. It holds no open file, so the file may be replaced or
+ * deleted while the container is in use, without affecting it.</p>
+ *
+ * @see BinaryDataIO#open(Path)
+ */
+public class LazyBinaryDataContainer implements VersionedMappingDataContainer {
+    private final ByteBuffer buffer;
+    private final StringTable strings;
+    private final SimpleVersion version;
+    private final Map<String, ImmutablePackageData> packages;
+    // Class name to the absolute position of its record, in the order the classes were written
+    private final Map<String, Integer> classPositions;
+    private final Collection<ClassData> classesView = new ClassesView();
+
+    // The file is only used for error messages
+    LazyBinaryDataContainer(ByteBuffer buffer, Path file) throws IOException {
+        this.buffer = buffer;
+        try {
+            BinaryReader.readHeader(buffer);
+            this.strings = new StringTable(buffer);
+            final int bodyStart = buffer.position();
+
+            final BinaryReader reader = new BinaryReader(buffer, strings);
+            this.version = reader.readVersion();
+            final Map<String, ImmutablePackageData> packages = new LinkedHashMap<>();
+            for (ImmutablePackageData pkg : reader.readPackages()) {
+                packages.put(pkg.getName(), pkg);
+            }
+            this.packages = Collections.unmodifiableMap(packages);
+
+            // The index is at the end of the file, followed by its length
+            final int indexLength = buffer.getInt(buffer.limit() - Integer.BYTES);
+            buffer.position(buffer.limit() - Integer.BYTES - indexLength);
+            final int classCount = BinaryReader.readCount(buffer);
+            final Map<String, Integer> classPositions = new LinkedHashMap<>(classCount * 2);
+            for (int i = 0; i < classCount; i++) {
+                final String name = strings.get(BinaryReader.readVarInt(buffer));
+                classPositions.put(name, Math.toIntExact(bodyStart + BinaryReader.readVarLong(buffer)));
+            }
+            this.classPositions = Collections.unmodifiableMap(classPositions);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | ArithmeticException e) {
+            throw new IOException("Truncated or malformed binary mapping data in " + file, e);
+        }
+    }
+
+    @Override
+    public SimpleVersion getFormatVersion() {
+        return version;
+    }
+
+    @Override
+    public Collection<? extends PackageData> getPackages() {
+        return packages.values();
+    }
+
+    @Nullable
+    @Override
+    public PackageData getPackage(String packageName) {
+        return packages.get(packageName);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned collection is a live view which decodes each class as it is iterated over.</p>
+     */
+    @Override
+    public Collection<? extends ClassData> getClasses() {
+        return classesView;
+    }
+
+    /**
+     * Returns the names of all classes within this container, without decoding any class data.
+     *
+     * @return the names of all classes
+     */
+    public Set<String> getClassNames() {
+        return classPositions.keySet();
+    }
+
+    @Nullable
+    @Override
+    public ClassData getClass(String className) {
+        final Integer position = classPositions.get(className);
+        return position != null ? decodeClass(position) : null;
+    }
+
+    private ClassData decodeClass(int position) {
+        // Each decode works on its own view of the buffer, so concurrent decodes do not interfere
+        final ByteBuffer view = buffer.duplicate();
+        view.position(position);
+        try {
+            return new BinaryReader(view, strings).readClass();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new UncheckedIOException(BinaryReader.malformed(e));
+        }
+    }
+
+    private class ClassesView extends AbstractCollection<ClassData> {
+        @Override
+        public Iterator<ClassData> iterator() {
+            final Iterator<Integer> positions = classPositions.values().iterator();
+            return new Iterator<ClassData>() {
+                @Override
+                public boolean hasNext() {
+                    return positions.hasNext();
+                }
+
+                @Override
+                public ClassData next() {
+                    return decodeClass(positions.next());
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return classPositions.size();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.parchmentmc.compass.storage.io.binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Helper package-only class: the string table of binary mapping data, with each string decoded on first access
+final class StringTable {
+    private final ByteBuffer buffer;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final String[] strings;
+
+    // Reads the table at the buffer's position, leaving the position after the table
+    StringTable(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        final int count = BinaryReader.readCount(buffer);
+        this.offsets = new int[count];
+        this.lengths = new int[count];
+        this.strings = new String[count];
+
+        for (int i = 0; i < count; i++) {
+            lengths[i] = BinaryReader.readCount(buffer);
+            offsets[i] = buffer.position();
+            buffer.position(offsets[i] + lengths[i]);
+        }
+    }
+
+    int size() {
+        return strings.length;
+    }
+
+    // Racing threads may both decode the same string, which is harmless as the results are equal
+    String get(int index) {
+        String string = strings[index];
+        if (string == null) {
+            if (buffer.hasArray()) {
+                string = new String(buffer.array(), buffer.arrayOffset() + offsets[index], lengths[index], StandardCharsets.UTF_8);
+            } else {
+                final byte[] bytes = new byte[lengths[index]];
+                final ByteBuffer slice = buffer.duplicate();
+                slice.position(offsets[index]);
+                slice.get(bytes);
+                string = new String(bytes, StandardCharsets.UTF_8);
+            }
+            strings[index] = string;
+        }
+        return string;
+    }
+}
@@ -1,20 +1,34 @@
 package org.parchmentmc.compass.storage.io.enigma;
 
 import com.google.common.base.CharMatcher;
+import com.squareup.moshi.JsonAdapter;
 import com.squareup.moshi.Moshi;
 import com.squareup.moshi.Types;
-import okio.BufferedSink;
+import okio.Buffer;
 import okio.BufferedSource;
 import okio.Okio;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.parchmentmc.compass.data.visitation.DataVisitor;
+import org.parchmentmc.compass.data.visitation.DataVisitorStream;
+import org.parchmentmc.compass.storage.io.IncrementalFileWriter;
 import org.parchmentmc.compass.storage.io.MappingDataIO;
 import org.parchmentmc.compass.util.JSONUtil;
+import org.parchmentmc.compass.util.MappingUtil;
+import org.parchmentmc.compass.util.ParallelIO;
 import org.parchmentmc.feather.mapping.*;
+import org.parchmentmc.feather.metadata.SourceMetadata;
 import org.parchmentmc.feather.util.SimpleVersion;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -22,7 +36,6 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
 import java.util.function.Function;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -31,6 +44,8 @@ import static org.parchmentmc.compass.storage.io.enigma.EnigmaWriter.writeClass;
 import static org.parchmentmc.feather.mapping.MappingDataContainer.ClassData;
 
 public class EnigmaFormattedExplodedIO implements MappingDataIO {
+    private static final Logger LOGGER = Logging.getLogger(EnigmaFormattedExplodedIO.class);
+
     public static final EnigmaFormattedExplodedIO LENGTH_SORT_INSTANCE = new EnigmaFormattedExplodedIO(JSONUtil.MOSHI,
             "    ", "mapping", true);
     public static final EnigmaFormattedExplodedIO LEXICOGRAPHIC_SORT_INSTANCE = new EnigmaFormattedExplodedIO(JSONUtil.MOSHI,
@@ -60,54 +75,85 @@ public class EnigmaFormattedExplodedIO implements MappingDataIO {
     // Whether to manually sort inner classes by inner class name length then lexicographically
     // If false, then sorting is lexicographically by the entire inner class FQN
     private final boolean lengthSort;
+    private final int parallelism;
 
     public EnigmaFormattedExplodedIO(Moshi moshi, String jsonIndent, String extension, boolean lengthSort) {
+        this(moshi, jsonIndent, extension, lengthSort, ParallelIO.DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Creates an Enigma-formatted exploded data I/O.
+     *
+     * @param moshi       the Moshi instance used to (de)serialize the JSON files
+     * @param jsonIndent  the indent for written JSON files
+     * @param extension   the extension of the mapping files, without the leading dot
+     * @param lengthSort  whether to sort inner classes by name length then lexicographically, instead of only
+     *                    lexicographically
+     * @param parallelism the maximum amount of threads used to read mapping files; {@code 1} or less reads them
+     *                    sequentially
+     */
+    public EnigmaFormattedExplodedIO(Moshi moshi, String jsonIndent, String extension, boolean lengthSort, int parallelism) {
         this.moshi = moshi;
         this.jsonIndent = jsonIndent;
         this.extension = extension;
         this.lengthSort = lengthSort;
+        this.parallelism = parallelism;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Returns the name of the outermost class of the given class, whose mapping file holds the given class.
+     *
+     * @param className the class name
+     * @return the name of the outermost class
+     */
+    public static String getOuterClass(String className) {
+        return EnigmaWriter.stripToOuter(className);
     }
 
     @Override
     public void write(VersionedMappingDataContainer data, Path base) throws IOException {
+        IncrementalFileWriter writer = update(data, base);
+        LOGGER.info("Wrote Enigma-formatted data to {}: {}", base, writer);
+    }
+
+    /**
+     * Writes the given data to the base directory, only rewriting the mapping files whose rendered contents have
+     * changed and deleting the files which no longer correspond to an outer class. The resulting directory is the same
+     * as if it were written from scratch.
+     *
+     * @param data the data to write
+     * @param base the base directory
+     * @return the writer used, which holds the counts of written, skipped, and deleted files
+     * @throws IOException if an I/O error occurs while writing the data
+     */
+    public IncrementalFileWriter update(VersionedMappingDataContainer data, Path base) throws IOException {
+        final IncrementalFileWriter writer = new IncrementalFileWriter();
         Files.createDirectories(base);
 
         // Write out version data
-        try (BufferedSink sink = Okio.buffer(Okio.sink(base.resolve(VERSION_INFO_JSON)))) {
-            DataInfo info = new DataInfo();
-            info.version = data.getFormatVersion();
-
-            moshi.adapter(DataInfo.class).indent(jsonIndent).toJson(sink, info);
-        }
+        DataInfo info = new DataInfo();
+        info.version = data.getFormatVersion();
+        writer.write(base.resolve(VERSION_INFO_JSON), toBytes(moshi.adapter(DataInfo.class).indent(jsonIndent), info));
 
         // Write out packages.json
-        try (BufferedSink sink = Okio.buffer(Okio.sink(base.resolve(PACKAGES_DATA_JSON)))) {
-            moshi.adapter(PACKAGE_COLLECTION_TYPE).indent(jsonIndent).toJson(sink, data.getPackages());
-        }
+        writer.write(base.resolve(PACKAGES_DATA_JSON), toBytes(moshi.adapter(PACKAGE_COLLECTION_TYPE).indent(jsonIndent), data.getPackages()));
 
         // Group classes by their outermost classes (via `$` matching)
-        final Supplier<Set<String>> setCreator = lengthSort
-                ? () -> new TreeSet<>(EnigmaFormattedExplodedIO::compareClassNames)
-                : TreeSet::new;
-        final Map<String, Set<String>> outerClassesToClasses = data.getClasses().stream()
+        final Map<String, List<String>> outerClassesToClasses = data.getClasses().stream()
                 .map(ClassData::getName)
-                .sorted()
-                .collect(Collectors.groupingBy(EnigmaWriter::stripToOuter,
-                        Collectors.toCollection(setCreator)));
-
-        Set<String> visited = new HashSet<>();
+                .collect(Collectors.groupingBy(EnigmaWriter::stripToOuter, TreeMap::new, Collectors.toList()));
 
         Files.walkFileTree(base, new SimpleFileVisitor<Path>() {
             @Override
             public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
                 final String fileName = file.getFileName().toString();
-                if (file.getFileName().toString().endsWith('.' + extension)) {
-                    final String outerClassName = extractClassNameFromPath(base.relativize(file));
-                    final Set<String> classes = outerClassesToClasses.remove(outerClassName);
-
-                    if (classes != null) {
-                        // File corresponds to an outer class name, so overwrite contents and continue
-                        writeClassFile(file, data, outerClassName, visited, classes);
+                if (fileName.endsWith('.' + extension)) {
+                    if (outerClassesToClasses.containsKey(extractClassNameFromPath(base.relativize(file)))) {
+                        // File corresponds to an outer class name, so keep it to be compared and possibly rewritten below
                         return FileVisitResult.CONTINUE;
                     }
                 } else if (base.relativize(file).getNameCount() == 1 && (VERSION_INFO_JSON.equals(fileName) || PACKAGES_DATA_JSON.equals(fileName))) {
@@ -115,7 +161,7 @@ public class EnigmaFormattedExplodedIO implements MappingDataIO {
                     return FileVisitResult.CONTINUE;
                 }
                 // Does not match a class, so delete
-                Files.delete(file);
+                writer.delete(file);
                 return FileVisitResult.CONTINUE;
             }
 
@@ -134,15 +180,41 @@ public class EnigmaFormattedExplodedIO implements MappingDataIO {
             }
         });
 
-        // Write out classes without existing files
-        for (Map.Entry<String, Set<String>> entry : outerClassesToClasses.entrySet()) {
+        // Render each outer class's file in memory, only replacing the file on disk if the contents differ
+        ParallelIO.forEach(parallelism, new ArrayList<>(outerClassesToClasses.entrySet()), entry -> {
             final String outerClass = entry.getKey();
-            final Set<String> classes = entry.getValue();
-
             final Path mappingFile = base.resolve(outerClass + '.' + extension);
 
-            writeClassFile(mappingFile, data, outerClass, visited, classes);
+            writer.write(mappingFile, renderClassFile(data, outerClass, sortClassNames(entry.getValue())));
+        });
+
+        return writer;
+    }
+
+    private List<String> sortClassNames(List<String> classes) {
+        if (!lengthSort) {
+            Collections.sort(classes);
+            return classes;
+        }
+
+        // Compute the sort keys once, rather than splitting the names on every comparison
+        final List<ClassNameSortKey> keys = new ArrayList<>(classes.size());
+        for (String clz : classes) {
+            keys.add(new ClassNameSortKey(clz));
+        }
+        Collections.sort(keys);
+
+        final List<String> sorted = new ArrayList<>(keys.size());
+        for (ClassNameSortKey key : keys) {
+            sorted.add(key.name);
         }
+        return sorted;
+    }
+
+    private static <T> byte[] toBytes(JsonAdapter<T> adapter, T value) throws IOException {
+        Buffer buffer = new Buffer();
+        adapter.toJson(buffer, value);
+        return buffer.readByteArray();
     }
 
     // Parameter is a relative path from base directory
@@ -167,12 +239,12 @@ public class EnigmaFormattedExplodedIO implements MappingDataIO {
         return builder.toString();
     }
 
-    private void writeClassFile(Path mappingFile, MappingDataContainer data, String outerClass, Set<String> visitedClasses, Set<String> classes) throws IOException {
-        if (mappingFile.getParent() != null) {
-            Files.createDirectories(mappingFile.getParent());
-        }
+    // Classes must be sorted in the order they are to be written
+    private static byte[] renderClassFile(MappingDataContainer data, String outerClass, List<String> classes) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final Set<String> visitedClasses = new HashSet<>();
 
-        try (Writer writer = Files.newBufferedWriter(mappingFile)) {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
             visitedClasses.add(outerClass);
 
             ClassData outerClassData = data.getClass(outerClass);
@@ -207,39 +279,134 @@ public class EnigmaFormattedExplodedIO implements MappingDataIO {
                 writeClass(writer, DOLLAR_SIGN.countIn(clz), stripToMostInner(clz), clzData);
             }
         }
+
+        return output.toByteArray();
     }
 
     @Override
     public VersionedMappingDataContainer read(Path base) throws IOException {
+        final VersionedMappingDataContainer header = readHeader(base);
+        final List<Path> files = gatherMappingFiles(base);
+
+        // Each worker parses a contiguous run of files into its own builder; more runs than threads evens out the load
+        final List<MappingDataBuilder> builders = ParallelIO.map(parallelism,
+                ParallelIO.partition(files, parallelism > 1 ? parallelism * 4 : 1), partition -> {
+                    MappingDataBuilder builder = new MappingDataBuilder();
+                    for (Path file : partition) {
+                        try (BufferedReader reader = Files.newBufferedReader(file)) {
+                            EnigmaReader.readFile(builder, reader);
+                        }
+                    }
+                    return builder;
+                });
+
+        return new VersionedMDCDelegate<>(header.getFormatVersion(), new ImmutableMappingDataContainer(header.getPackages(), mergeClasses(builders)));
+    }
+
+    @Override
+    public void accept(Path base, DataVisitor visitor, @Nullable SourceMetadata metadata) throws IOException {
+        final DataVisitorStream stream = DataVisitorStream.begin(visitor, readHeader(base), metadata);
+
+        if (stream.acceptsClasses()) {
+            // Only the classes of a single mapping file are held in memory at a time
+            for (Path file : gatherMappingFiles(base)) {
+                for (ClassData classData : readMappingFile(file).getClasses()) {
+                    stream.acceptClass(classData);
+                }
+            }
+        }
+
+        stream.end();
+    }
+
+    /**
+     * Reads a single mapping file, which holds an outer class and its inner classes.
+     *
+     * @param file the mapping file
+     * @return the data of the classes within the file
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    public MappingDataBuilder readMappingFile(Path file) throws IOException {
+        final MappingDataBuilder builder = new MappingDataBuilder();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            EnigmaReader.readFile(builder, reader);
+        }
+        return builder;
+    }
+
+    // Reads the version and packages, without any classes
+    private VersionedMappingDataContainer readHeader(Path base) throws IOException {
         DataInfo info;
-        try (BufferedSource source = Okio.buffer(Okio.source(base.resolve("info.json")))) {
+        try (BufferedSource source = Okio.buffer(Okio.source(base.resolve(VERSION_INFO_JSON)))) {
             info = moshi.adapter(DataInfo.class).fromJson(source);
         }
         if (info == null) throw new IOException("info.json did not deserialize");
 
         Collection<? extends MappingDataContainer.PackageData> packages;
-        try (BufferedSource source = Okio.buffer(Okio.source(base.resolve("packages.json")))) {
+        try (BufferedSource source = Okio.buffer(Okio.source(base.resolve(PACKAGES_DATA_JSON)))) {
             packages = moshi.<Collection<? extends MappingDataContainer.PackageData>>adapter(PACKAGE_COLLECTION_TYPE).fromJson(source);
         }
         if (packages == null) throw new IOException("packages.json did not deserialize");
 
-        MappingDataBuilder builder = new MappingDataBuilder();
+        return new VersionedMDCDelegate<>(info.version, new ImmutableMappingDataContainer(packages, Collections.emptyList()));
+    }
+
+    /**
+     * Opens the given directory as a lazily-read container, which only parses the mapping file for an outer class when
+     * a class within it is requested. Up to the given amount of parsed mapping files are kept in memory.
+     *
+     * @param base           the base directory
+     * @param maxCachedFiles the maximum amount of parsed mapping files to keep in memory
+     * @return the lazily-read container
+     * @throws IOException if an I/O error occurs while reading the version info or packages data
+     * @see LazyEnigmaDataContainer
+     */
+    public LazyEnigmaDataContainer open(Path base, int maxCachedFiles) throws IOException {
+        return new LazyEnigmaDataContainer(readHeader(base), base, extension, maxCachedFiles);
+    }
+
+    // Sorted, to keep the order of the classes deterministic
+    List<Path> gatherMappingFiles(Path base) throws IOException {
+        return gatherMappingFiles(base, extension);
+    }
 
+    static List<Path> gatherMappingFiles(Path base, String extension) throws IOException {
+        final List<Path> files = new ArrayList<>();
         Files.walkFileTree(base, new SimpleFileVisitor<Path>() {
             @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
                 // Skip files not ending with the extension
-                if (!file.toString().endsWith(extension)) return FileVisitResult.CONTINUE;
-
-                try (BufferedReader reader = Files.newBufferedReader(file)) {
-                    EnigmaReader.readFile(builder, reader);
+                if (file.toString().endsWith(extension)) {
+                    files.add(file);
                 }
-
                 return FileVisitResult.CONTINUE;
             }
         });
+        Collections.sort(files);
+        return files;
+    }
+
+    private static Collection<? extends ClassData> mergeClasses(List<MappingDataBuilder> builders) {
+        if (builders.size() == 1) return builders.get(0).getClasses();
+
+        // Each class is normally only in the file for its outermost class, so the builders should be disjoint
+        final List<ClassData> classes = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+        boolean disjoint = true;
+        for (MappingDataBuilder builder : builders) {
+            for (ClassData classData : builder.getClasses()) {
+                disjoint &= names.add(classData.getName());
+                classes.add(classData);
+            }
+        }
+        if (disjoint) return classes;
 
-        return new VersionedMDCDelegate<>(info.version, new ImmutableMappingDataContainer(packages, builder.getClasses()));
+        // Some class was declared across multiple files, so merge the builders in file order like a sequential read
+        final MappingDataBuilder merged = new MappingDataBuilder();
+        for (MappingDataBuilder builder : builders) {
+            MappingUtil.copyData(builder, merged);
+        }
+        return merged.getClasses();
     }
 
     static class DataInfo {
@@ -247,22 +414,33 @@ public class EnigmaFormattedExplodedIO implements MappingDataIO {
     }
 
     static int compareClassNames(String a, String b) {
-        final String[] aComponents = a.split(DOLLAR_SIGN_REGEX);
-        final String[] bComponents = b.split(DOLLAR_SIGN_REGEX);
-
-        int ret = 0;
-        int minimum = Math.min(aComponents.length, bComponents.length);
-        for (int i = 0; i < minimum; i++) {
-            String aComp = aComponents[i];
-            String bComp = bComponents[i];
-            ret = CLASS_NAME_LENGTH_THEN_LEXICOGRAPHICALLY.compare(aComp, bComp);
-            if (ret != 0) break;
-        }
+        return new ClassNameSortKey(a).compareTo(new ClassNameSortKey(b));
+    }
+
+    // Sorts by each `$`-separated component by length then lexicographically, then by the whole name likewise
+    static final class ClassNameSortKey implements Comparable<ClassNameSortKey> {
+        final String name;
+        private final String[] components;
 
-        if (ret == 0) {
-            ret = CLASS_NAME_LENGTH_THEN_LEXICOGRAPHICALLY.compare(a, b);
+        ClassNameSortKey(String name) {
+            this.name = name;
+            this.components = name.split(DOLLAR_SIGN_REGEX);
         }
 
-        return ret;
+        @Override
+        public int compareTo(ClassNameSortKey other) {
+            int ret = 0;
+            int minimum = Math.min(components.length, other.components.length);
+            for (int i = 0; i < minimum; i++) {
+                ret = CLASS_NAME_LENGTH_THEN_LEXICOGRAPHICALLY.compare(components[i], other.components[i]);
+                if (ret != 0) break;
+            }
+
+            if (ret == 0) {
+                ret = CLASS_NAME_LENGTH_THEN_LEXICOGRAPHICALLY.compare(name, other.name);
+            }
+
+            return ret;
+        }
     }
 }
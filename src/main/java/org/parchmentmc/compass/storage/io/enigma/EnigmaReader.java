@@ -1,34 +1,61 @@
 package org.parchmentmc.compass.storage.io.enigma;
 
+import org.parchmentmc.compass.util.StringPool;
 import org.parchmentmc.feather.mapping.MappingDataBuilder;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.*;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 
 import static org.parchmentmc.compass.storage.io.enigma.EnigmaFormattedExplodedIO.*;
 
 // Helper package-only class, to separate reading
+// Lines are scanned directly from a character buffer of the whole file; the only allocations are for the
+// names, descriptors, and comments which are stored into the builder (with the names and descriptors being pooled)
 final class EnigmaReader {
     private EnigmaReader() { // Prevent instantiation
     }
 
-    public static void readFile(MappingDataBuilder builder, BufferedReader reader) throws IOException {
+    public static void readFile(MappingDataBuilder builder, Reader reader) throws IOException {
+        char[] buf = new char[8192];
+        int length = 0;
+        int read;
+        while ((read = reader.read(buf, length, buf.length - length)) != -1) {
+            length += read;
+            if (length == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            }
+        }
+        readFile(builder, buf, length);
+    }
+
+    static void readFile(MappingDataBuilder builder, char[] buf, int length) throws IOException {
         MappingDataBuilder.MutableClassData classData = null;
         MappingDataBuilder.MutableMethodData methodData = null;
         MappingDataBuilder.MutableHasJavadoc<?> javadoc = null;
         int prevClassIndent = -1;
         Deque<String> classNames = new ArrayDeque<>();
 
-        String line;
-        while ((line = reader.readLine()) != null) {
-            final String[] tokens = line.trim().split("\\s");
+        final Line line = new Line(buf);
+        int lineStart = 0;
+        while (lineStart < length) {
+            // Find the end of the line, accepting LF, CR, and CRLF as line terminators
+            int lineEnd = lineStart;
+            while (lineEnd < length && buf[lineEnd] != '\n' && buf[lineEnd] != '\r') lineEnd++;
+            int nextLine = lineEnd + 1;
+            if (lineEnd < length && buf[lineEnd] == '\r' && nextLine < length && buf[nextLine] == '\n') nextLine++;
 
-            String firstToken = tokens[0].toUpperCase(Locale.ROOT);
-            switch (firstToken) {
+            line.reset(lineStart, lineEnd);
+            lineStart = nextLine;
+
+            final String keyword = line.keyword();
+            if (keyword == null) continue;
+            switch (keyword) {
                 case CLASS: {
-                    int indent = countIndent(line);
-                    String className = tokens[1];
+                    int indent = line.countIndent();
+                    String className = line.nextToken();
 
                     for (int diff = prevClassIndent - indent; diff >= 0; diff--) {
                         classNames.pop();
@@ -38,6 +65,7 @@ final class EnigmaReader {
                     if (!classNames.isEmpty()) { // Within a class
                         className = classNames.peek() + '$' + className;
                     }
+                    className = StringPool.intern(className);
                     classNames.push(className);
                     javadoc = classData = builder.createClass(className);
 
@@ -45,39 +73,127 @@ final class EnigmaReader {
                 }
                 case FIELD: {
                     if (classData == null) throw new IOException("Unexpected field line without class parent");
-                    javadoc = classData.createField(tokens[1], tokens[2]);
+                    javadoc = classData.createField(line.nextPooledToken(), line.nextPooledToken());
                     break;
                 }
                 case METHOD: {
                     if (classData == null) throw new IOException("Unexpected method line without class parent");
-                    javadoc = methodData = classData.createMethod(tokens[1], tokens[2]);
+                    javadoc = methodData = classData.createMethod(line.nextPooledToken(), line.nextPooledToken());
                     break;
                 }
                 case PARAM: {
                     if (methodData == null) throw new IOException("Unexpected arg line without method parent");
-                    javadoc = methodData.createParameter(Byte.parseByte(tokens[1]))
-                            .setName(tokens[2]);
+                    javadoc = methodData.createParameter(Byte.parseByte(line.nextToken()))
+                            .setName(line.nextPooledToken());
                     break;
                 }
                 case COMMENT: {
                     if (javadoc == null)
                         throw new IOException("Unexpected comment line without javadoc-holding parent");
-                    final ArrayList<String> strings = new ArrayList<>(Arrays.asList(tokens));
-                    if (strings.size() > 0) {
-                        strings.remove(0);
-                    }
-                    javadoc.addJavadoc(String.join(" ", strings));
+                    javadoc.addJavadoc(line.remainder());
                     break;
                 }
             }
         }
     }
 
-    public static int countIndent(String line) {
-        int indent = 0;
-        while (line.charAt(indent) == '\t') {
-            indent++;
+    // Matches the characters of the `\s` regex class
+    static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * A cursor over a single line within the character buffer.
+     *
+     * <p>Tokens are separated by exactly one whitespace character (so consecutive whitespace yields empty tokens), and
+     * leading and trailing whitespace of the line is ignored, matching the previous {@code line.trim().split("\\s")}
+     * tokenization.</p>
+     */
+    static final class Line {
+        private final char[] buf;
+        private int lineStart;
+        private int start;
+        private int end;
+        private int pos;
+
+        Line(char[] buf) {
+            this.buf = buf;
+        }
+
+        void reset(int lineStart, int lineEnd) {
+            this.lineStart = lineStart;
+            int start = lineStart;
+            int end = lineEnd;
+            // Same as String#trim
+            while (start < end && buf[start] <= ' ') start++;
+            while (end > start && buf[end - 1] <= ' ') end--;
+            this.start = start;
+            this.end = end;
+            this.pos = start;
+        }
+
+        int countIndent() {
+            int indent = 0;
+            while (buf[lineStart + indent] == '\t') {
+                indent++;
+            }
+            return indent;
+        }
+
+        // Returns the matching keyword constant (case-insensitively), or null if the first token is not a keyword
+        String keyword() {
+            int tokenEnd = start;
+            while (tokenEnd < end && !isWhitespace(buf[tokenEnd])) tokenEnd++;
+            pos = tokenEnd + 1;
+
+            switch (tokenEnd - start) {
+                case 3:
+                    return matches(PARAM) ? PARAM : null;
+                case 5:
+                    return matches(CLASS) ? CLASS : matches(FIELD) ? FIELD : null;
+                case 6:
+                    return matches(METHOD) ? METHOD : null;
+                case 7:
+                    return matches(COMMENT) ? COMMENT : null;
+                default:
+                    return null;
+            }
+        }
+
+        private boolean matches(String keyword) {
+            for (int i = 0; i < keyword.length(); i++) {
+                if (Character.toUpperCase(buf[start + i]) != keyword.charAt(i)) return false;
+            }
+            return true;
+        }
+
+        String nextToken() throws IOException {
+            if (pos > end) throw new IOException("Missing token in line: " + new String(buf, start, end - start));
+            int tokenStart = pos;
+            while (pos < end && !isWhitespace(buf[pos])) pos++;
+            String token = new String(buf, tokenStart, pos - tokenStart);
+            pos++; // Skip the separator
+            return token;
+        }
+
+        String nextPooledToken() throws IOException {
+            return StringPool.intern(nextToken());
+        }
+
+        // Returns the rest of the line, with each whitespace character normalized to a space
+        String remainder() {
+            if (pos > end) return "";
+            int length = end - pos;
+            for (int i = pos; i < end; i++) {
+                if (buf[i] != ' ' && isWhitespace(buf[i])) {
+                    char[] chars = Arrays.copyOfRange(buf, pos, end);
+                    for (int j = i - pos; j < length; j++) {
+                        if (isWhitespace(chars[j])) chars[j] = ' ';
+                    }
+                    return new String(chars);
+                }
+            }
+            return new String(buf, pos, length);
         }
-        return indent;
     }
 }
@@ -0,0 +1,186 @@
+package org.parchmentmc.compass.storage.io.enigma;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+import org.parchmentmc.feather.util.SimpleVersion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A read-only view of an Enigma-formatted exploded directory, which only parses the mapping file of an outer class
+ * when a class within that file is first requested.
+ *
+ * <p>A class is mapped to its mapping file through its outermost class, the same as when
+ * {@linkplain EnigmaFormattedExplodedIO#write(VersionedMappingDataContainer, Path) writing}. Parsed mapping files are
+ * kept in a least-recently-used cache of a bounded size, so memory usage stays flat regardless of the size of the
+ * data. The returned class data must not be modified.</p>
+ *
+ * <p>Iterating over {@link #getClasses()} parses every mapping file in turn (through the same cache), and calculating
+ * its {@linkplain Collection#size() size} requires such an iteration. This container is safe for use by multiple
+ * threads at once. Each mapping file is parsed by the first thread to request it, while other threads requesting the
+ * same file wait for that parse; requests for different files are parsed concurrently.</p>
+ *
+ * @see EnigmaFormattedExplodedIO#open(Path, int)
+ */
+public class LazyEnigmaDataContainer implements VersionedMappingDataContainer {
+    // Used to cache the absence of a mapping file
+    private static final MappingDataBuilder MISSING = new MappingDataBuilder();
+
+    private final VersionedMappingDataContainer header;
+    private final Path base;
+    private final String extension;
+    // The parsed (or in-progress) mapping files, keyed by outer class
+    private final ConcurrentMap<String, CompletableFuture<MappingDataBuilder>> cache = new ConcurrentHashMap<>();
+    // The outer classes of the parsed mapping files in least-recently-used order, which evicts from the cache
+    private final Map<String, Boolean> usage;
+    private final Collection<ClassData> classesView = new ClassesView();
+    @Nullable
+    private List<Path> mappingFiles = null;
+
+    LazyEnigmaDataContainer(VersionedMappingDataContainer header, Path base, String extension, int maxCachedFiles) {
+        if (maxCachedFiles < 1) throw new IllegalArgumentException("Maximum cached files must be positive");
+        this.header = header;
+        this.base = base;
+        this.extension = extension;
+        this.usage = new LinkedHashMap<String, Boolean>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                if (size() <= maxCachedFiles) return false;
+                cache.remove(eldest.getKey());
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public SimpleVersion getFormatVersion() {
+        return header.getFormatVersion();
+    }
+
+    @Override
+    public Collection<? extends PackageData> getPackages() {
+        return header.getPackages();
+    }
+
+    @Nullable
+    @Override
+    public PackageData getPackage(String packageName) {
+        return header.getPackage(packageName);
+    }
+
+    @Override
+    public Collection<? extends ClassData> getClasses() {
+        return classesView;
+    }
+
+    @Nullable
+    @Override
+    public ClassData getClass(String className) {
+        return load(EnigmaWriter.stripToOuter(className)).getClass(className);
+    }
+
+    private MappingDataBuilder load(String outerClass) {
+        CompletableFuture<MappingDataBuilder> future = cache.get(outerClass);
+        if (future == null) {
+            final CompletableFuture<MappingDataBuilder> created = new CompletableFuture<>();
+            future = cache.putIfAbsent(outerClass, created);
+            if (future == null) { // This thread parses the file, outside of any lock
+                future = created;
+                try {
+                    created.complete(parse(base.resolve(outerClass + '.' + extension)));
+                } catch (RuntimeException e) {
+                    // Do not cache the failure, so a later request tries again
+                    cache.remove(outerClass, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+
+        synchronized (usage) {
+            usage.put(outerClass, Boolean.TRUE);
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    // Package-private for testing
+    boolean isCached(String outerClass) {
+        return cache.containsKey(outerClass);
+    }
+
+    private static MappingDataBuilder parse(Path file) {
+        if (!Files.isRegularFile(file)) return MISSING;
+
+        final MappingDataBuilder builder = new MappingDataBuilder();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            EnigmaReader.readFile(builder, reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read mapping file " + file, e);
+        }
+        return builder;
+    }
+
+    private synchronized List<Path> getMappingFiles() {
+        if (mappingFiles == null) {
+            try {
+                mappingFiles = EnigmaFormattedExplodedIO.gatherMappingFiles(base, extension);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to list mapping files in " + base, e);
+            }
+        }
+        return mappingFiles;
+    }
+
+    private class ClassesView extends AbstractCollection<ClassData> {
+        @Override
+        public Iterator<ClassData> iterator() {
+            final Iterator<Path> files = getMappingFiles().iterator();
+            return new Iterator<ClassData>() {
+                private Iterator<? extends ClassData> current = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!current.hasNext() && files.hasNext()) {
+                        final Path file = files.next();
+                        final String relative = base.relativize(file).toString().replace('\\', '/');
+                        // -1 to remove the extension separator
+                        final String outerClass = relative.substring(0, relative.length() - extension.length() - 1);
+                        current = load(outerClass).getClasses().iterator();
+                    }
+                    return current.hasNext();
+                }
+
+                @Override
+                public ClassData next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    return current.next();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (Iterator<ClassData> iterator = iterator(); iterator.hasNext(); iterator.next()) {
+                size++;
+            }
+            return size;
+        }
+    }
+}
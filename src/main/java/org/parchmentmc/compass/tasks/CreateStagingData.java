@@ -3,23 +3,31 @@ package org.parchmentmc.compass.tasks;
 import net.minecraftforge.srgutils.IMappingFile;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileType;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.LocalState;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.options.Option;
+import org.gradle.work.ChangeType;
+import org.gradle.work.FileChange;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
 import org.parchmentmc.compass.CompassExtension;
 import org.parchmentmc.compass.CompassPlugin;
 import org.parchmentmc.compass.storage.input.InputsReader;
 import org.parchmentmc.compass.storage.io.MappingIOFormat;
 import org.parchmentmc.compass.util.MappingUtil;
+import org.parchmentmc.compass.util.ParallelIO;
 import org.parchmentmc.feather.mapping.MappingDataBuilder;
 import org.parchmentmc.feather.mapping.MappingDataContainer;
 
 import java.io.IOException;
-
-import static org.parchmentmc.feather.mapping.MappingDataBuilder.*;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 public abstract class CreateStagingData extends DefaultTask {
     public CreateStagingData() {
@@ -31,12 +39,44 @@ public abstract class CreateStagingData extends DefaultTask {
         getInputMode().convention(InputMode.OVERRIDE);
         getOutputDirectory().convention(extension.getStagingData());
         getOutputFormat().convention(extension.getStagingDataFormat());
+        getVersion().convention(extension.getVersion());
+        getStateDirectory().convention(getProject().getLayout().getBuildDirectory().dir("compass/" + getName()));
     }
 
     @TaskAction
-    public void create() throws IOException {
+    public void create(InputChanges inputChanges) throws IOException {
         CompassPlugin plugin = getProject().getPlugins().getPlugin(CompassPlugin.class);
-        InputsReader inputsReader = new InputsReader(plugin.getIntermediates());
+        InputsReader inputsReader = new InputsReader(plugin.getIntermediates(), plugin.getChainedMappingCache(),
+                ParallelIO.DEFAULT_PARALLELISM);
+        StagingDataState state = new StagingDataState(getStateDirectory().get().getAsFile().toPath(),
+                getInputsDirectory().get().getAsFile().toPath(), inputsReader, getInputMode().get(), getLogger());
+
+        final MappingDataBuilder staging;
+        if (inputChanges.isIncremental() && state.load()) {
+            final List<Path> changedFiles = new ArrayList<>();
+            final List<Path> removedFiles = new ArrayList<>();
+            for (FileChange change : inputChanges.getFileChanges(getInputsDirectory())) {
+                if (change.getFileType() == FileType.DIRECTORY) continue;
+
+                if (change.getChangeType() == ChangeType.REMOVED) {
+                    removedFiles.add(change.getFile().toPath());
+                } else {
+                    changedFiles.add(change.getFile().toPath());
+                }
+            }
+
+            staging = state.update(changedFiles, removedFiles);
+        } else {
+            staging = state.create(createBaseData(plugin));
+        }
+
+        // The output formats only rewrite the files whose contents changed, which are those of the affected classes
+        getOutputFormat().get().write(staging, getOutputDirectory().get().getAsFile());
+
+        state.save(staging);
+    }
+
+    private MappingDataBuilder createBaseData(CompassPlugin plugin) throws IOException {
         final IMappingFile officialMap = plugin.getObfuscationMapsDownloader().getObfuscationMap().get();
         /*
          * Three parts:
@@ -47,19 +87,18 @@ public abstract class CreateStagingData extends DefaultTask {
          * First, apply the base task data to the base official data
          * Second, apply the input data to the combined data from the last step
          * Third, write out the data from the last step, ignoring undocumented
+         *
+         * The first step is done here, while the others are done by the state, which keeps the combined base data.
          */
 
         MappingDataBuilder data = MappingUtil.loadOfficialData(officialMap);
-        MappingDataContainer baseTaskData = getBaseDataFormat().get().read(getBaseDataDirectory().get().getAsFile());
-        MappingDataContainer inputData = inputsReader.parse(getInputsDirectory().get().getAsFile().toPath());
+        MappingDataContainer baseTaskData = plugin.getParsedDataCache().read(getBaseDataFormat().get(), getBaseDataDirectory().get().getAsFile().toPath());
 
         apply(data, baseTaskData, InputMode.OVERWRITE);
-        apply(data, inputData, getInputMode().get());
-        MappingUtil.removeUndocumented(data);
-
-        getOutputFormat().get().write(data, getOutputDirectory().get().getAsFile());
+        return data;
     }
 
+    @Incremental
     @InputDirectory
     public abstract DirectoryProperty getInputsDirectory();
 
@@ -78,6 +117,13 @@ public abstract class CreateStagingData extends DefaultTask {
     @Input
     public abstract Property<InputMode> getInputMode();
 
+    // The official data is derived from the version, and is kept in the state between runs
+    @Input
+    public abstract Property<String> getVersion();
+
+    @LocalState
+    public abstract DirectoryProperty getStateDirectory();
+
     @Option(option = "mode", description = "The operation mode for combining the input data with the base data.")
     public void setMode(InputMode mode) {
         getInputMode().set(mode);
@@ -91,83 +137,6 @@ public abstract class CreateStagingData extends DefaultTask {
 
     // Copy of MappingUtil#apply but with input mode
     static void apply(MappingDataBuilder baseData, MappingDataContainer newData, InputMode mode) {
-        if (newData.getClasses().isEmpty() && newData.getPackages().isEmpty()) return;
-
-        baseData.getPackages().forEach(pkg -> {
-            final PackageData inputPkg = newData.getPackage(pkg.getName());
-
-            if (inputPkg != null && ((mode == InputMode.OVERWRITE)
-                    || (mode == InputMode.OVERRIDE && !inputPkg.getJavadoc().isEmpty())
-                    || (mode == InputMode.ADDITIVE && pkg.getJavadoc().isEmpty()))) {
-                pkg.clearJavadoc().addJavadoc(inputPkg.getJavadoc());
-            }
-        });
-
-        baseData.getClasses().forEach(cls -> {
-            final ClassData inputCls = newData.getClass(cls.getName());
-
-            if (inputCls != null) {
-                if ((mode == InputMode.OVERWRITE)
-                        || (mode == InputMode.OVERRIDE && !inputCls.getJavadoc().isEmpty())
-                        || (mode == InputMode.ADDITIVE && cls.getJavadoc().isEmpty())) {
-                    cls.clearJavadoc().addJavadoc(inputCls.getJavadoc());
-                }
-
-                cls.getFields().forEach(field -> {
-                    final FieldData inputField = inputCls.getField(field.getName());
-
-                    if (inputField != null && ((mode == InputMode.OVERWRITE)
-                            || (mode == InputMode.OVERRIDE && !inputField.getJavadoc().isEmpty())
-                            || (mode == InputMode.ADDITIVE && field.getJavadoc().isEmpty()))) {
-                        field.clearJavadoc().addJavadoc(inputField.getJavadoc());
-                    }
-                });
-
-                cls.getMethods().forEach(method -> {
-                    final MethodData inputMethod = inputCls.getMethod(method.getName(), method.getDescriptor());
-
-                    if (inputMethod != null) {
-                        if ((mode == InputMode.OVERWRITE)
-                                || (mode == InputMode.OVERRIDE && !inputMethod.getJavadoc().isEmpty())
-                                || (mode == InputMode.ADDITIVE && method.getJavadoc().isEmpty())) {
-                            method.clearJavadoc().addJavadoc(inputMethod.getJavadoc());
-                        }
-
-                        if (mode == InputMode.OVERWRITE) {
-                            inputMethod.getParameters().forEach(param ->
-                                    method.getOrCreateParameter(param.getIndex())
-                                            .setName(param.getName())
-                                            .setJavadoc(param.getJavadoc()));
-                        } else {
-                            method.getParameters().forEach(param -> {
-                                final ParameterData inputParam = inputMethod.getParameter(param.getIndex());
-
-                                if (inputParam != null) {
-                                    if ((mode == InputMode.OVERRIDE && inputParam.getName() != null)
-                                            || (mode == InputMode.ADDITIVE && param.getName() != null)) {
-                                        param.setName(inputParam.getName());
-                                    }
-
-                                    if ((mode == InputMode.OVERRIDE && inputParam.getJavadoc() != null)
-                                            || (mode == InputMode.ADDITIVE && param.getJavadoc() != null)) {
-                                        param.setJavadoc(inputParam.getJavadoc());
-                                    }
-                                }
-                            });
-
-                            inputMethod.getParameters().forEach(inputParam -> {
-                                final MutableParameterData param = method.getParameter(inputParam.getIndex());
-
-                                if (param == null) { // New parameter
-                                    method.createParameter(inputParam.getIndex())
-                                            .setName(inputParam.getName())
-                                            .setJavadoc(inputParam.getJavadoc());
-                                }
-                            });
-                        }
-                    }
-                });
-            }
-        });
+        StagingDataMerger.apply(baseData, newData, mode);
     }
 }
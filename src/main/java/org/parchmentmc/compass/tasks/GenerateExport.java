@@ -18,6 +18,7 @@ import org.parchmentmc.compass.providers.IntermediateProvider;
 import org.parchmentmc.compass.storage.io.MappingIOFormat;
 import org.parchmentmc.compass.storage.io.SingleFileDataIO;
 import org.parchmentmc.compass.util.MappingUtil;
+import org.parchmentmc.compass.util.MetadataIndex;
 import org.parchmentmc.compass.util.download.BlackstoneDownloader;
 import org.parchmentmc.feather.io.moshi.MDCMoshiAdapter;
 import org.parchmentmc.feather.io.moshi.SimpleVersionAdapter;
@@ -59,13 +60,12 @@ public abstract class GenerateExport extends DefaultTask {
     @TaskAction
     public void export() throws IOException {
         CompassPlugin plugin = getProject().getPlugins().getPlugin(CompassPlugin.class);
-        IMappingFile officialMap = plugin.getObfuscationMapsDownloader().getObfuscationMap().get(); // moj -> obf
+        IntermediateProvider official = plugin.getIntermediates().getByName("official"); // obf -> moj
+        IntermediateProvider intermediate = plugin.getIntermediates().getByName(getIntermediate().get()); // obf -> ?
+        // [obf -> moj] reversed -> [obf -> ?] => moj -> ?
+        IMappingFile officialToIntermediate = plugin.getChainedMappingCache().reverseChain(official, intermediate);
 
-        IntermediateProvider intermediate = plugin.getIntermediates().getByName(getIntermediate().get());
-        IMappingFile mapping = intermediate.getMapping(); // obf -> ?
-        IMappingFile officialToIntermediate = officialMap.chain(mapping); // [moj -> obf] -> [obf -> ?] => moj -> ?
-
-        MappingDataContainer data = getInputFormat().get().read(getInput().get().getAsFile());
+        MappingDataContainer data = plugin.getParsedDataCache().read(getInputFormat().get(), getInput().get().getAsFile().toPath());
 
         MappingDataContainer remappedData = MappingUtil.remapData(data, officialToIntermediate);
 
@@ -77,11 +77,11 @@ public abstract class GenerateExport extends DefaultTask {
     protected MappingDataContainer modifyData(MappingDataContainer container) throws IOException {
         final MappingDataBuilder builder = MappingDataBuilder.copyOf(container);
         final SourceMetadata metadata = getSourceMetadata();
-        final Map<String, ClassMetadata> classMetadataMap = MappingUtil.buildClassMetadataMap(metadata);
+        final MetadataIndex metadataIndex = MetadataIndex.of(metadata);
 
-        builder.getClasses().forEach(clsData -> cascadeParentMethods(builder, classMetadataMap, clsData, classMetadataMap.get(clsData.getName())));
+        builder.getClasses().forEach(clsData -> cascadeParentMethods(builder, metadataIndex, clsData, metadataIndex.getClassMetadata(clsData.getName())));
 
-        builder.getClasses().forEach(clsData -> copyRecordData(clsData, classMetadataMap.get(clsData.getName())));
+        builder.getClasses().forEach(clsData -> copyRecordData(clsData, metadataIndex.getClassMetadata(clsData.getName())));
 
         return builder;
     }
@@ -113,7 +113,7 @@ public abstract class GenerateExport extends DefaultTask {
         }
     }
 
-    protected static void cascadeParentMethods(MappingDataBuilder builder, Map<String, ClassMetadata> classMetadataMap, MappingDataBuilder.MutableClassData clsData, ClassMetadata clsMeta) {
+    protected static void cascadeParentMethods(MappingDataBuilder builder, MetadataIndex metadataIndex, MappingDataBuilder.MutableClassData clsData, ClassMetadata clsMeta) {
         if (clsMeta == null)
             return;
         // We need to cascade data using the class metadata methods because methods with no mapped data will not be present in ClassData#getMethods()
@@ -129,7 +129,7 @@ public abstract class GenerateExport extends DefaultTask {
                             builder.getOrCreateClass(getMojangName(ref.getOwner()))
                                     .getOrCreateMethod(getMojangName(ref.getName()), getMojangName(ref.getDescriptor())))
                     .orElse(() -> clsData.getOrCreateMethod(name, desc));
-            GenerateExport.cascadeParentMethod(builder, classMetadataMap, methodMeta, supplier);
+            GenerateExport.cascadeParentMethod(builder, metadataIndex, methodMeta, supplier);
         });
     }
 
@@ -137,9 +137,9 @@ public abstract class GenerateExport extends DefaultTask {
      * This code cascades parameters and javadocs from parent methods,
      * stopping at the first one that has something populated.
      */
-    private static void cascadeParentMethod(MappingDataBuilder builder, Map<String, ClassMetadata> classMetadataMap, MethodMetadata methodMeta,
+    private static void cascadeParentMethod(MappingDataBuilder builder, MetadataIndex metadataIndex, MethodMetadata methodMeta,
             Supplier<MappingDataBuilder.MutableMethodData> methodDataSupplier) {
-        MappingDataContainer.MethodData parentMethodData = findParentMethodData(builder, classMetadataMap, methodMeta);
+        MappingDataContainer.MethodData parentMethodData = findParentMethodData(builder, metadataIndex, methodMeta);
 
         // This code cascades the data only if there is as valid parent method with mapping data
         if (parentMethodData != null) {
@@ -163,7 +163,7 @@ public abstract class GenerateExport extends DefaultTask {
     }
 
     @Nullable
-    private static MappingDataContainer.MethodData findParentMethodData(MappingDataContainer builder, Map<String, ClassMetadata> classMetadataMap, MethodMetadata startingMethodMeta) {
+    private static MappingDataContainer.MethodData findParentMethodData(MappingDataContainer builder, MetadataIndex metadataIndex, MethodMetadata startingMethodMeta) {
         // Non-null only if the method is a constructor
         // Since we only check for the same descriptor when looking at constructors, we store this once and reuse
         String constructorDescriptor = CONSTRUCTOR_METHOD_NAME.equals(getMojangName(startingMethodMeta.getName()))
@@ -181,7 +181,7 @@ public abstract class GenerateExport extends DefaultTask {
                 // We match for a method with the same descriptor in their direct superclass instead
 
                 // Get the name of the superclass
-                final ClassMetadata parentOwnerMeta = Objects.requireNonNull(classMetadataMap.get(getMojangName(currentMethodMeta.getOwner())));
+                final ClassMetadata parentOwnerMeta = Objects.requireNonNull(metadataIndex.getClassMetadata(getMojangName(currentMethodMeta.getOwner())));
                 parentOwner = getMojangName(parentOwnerMeta.getSuperName());
                 parentName = CONSTRUCTOR_METHOD_NAME;
                 parentDescriptor = constructorDescriptor;
@@ -206,7 +206,7 @@ public abstract class GenerateExport extends DefaultTask {
                     .orElse(null);
 
             // Get the new method metadata so we can get the next parent
-            currentMethodMeta = MappingUtil.getMethodMetadata(classMetadataMap.get(parentOwner),
+            currentMethodMeta = metadataIndex.getMethodMetadata(metadataIndex.getClassMetadata(parentOwner),
                     parentName, parentDescriptor);
         }
 
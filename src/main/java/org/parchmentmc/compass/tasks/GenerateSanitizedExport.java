@@ -2,7 +2,7 @@ package org.parchmentmc.compass.tasks;
 
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
-import org.parchmentmc.compass.util.MappingUtil;
+import org.parchmentmc.compass.util.MetadataIndex;
 import org.parchmentmc.feather.mapping.MappingDataBuilder;
 import org.parchmentmc.feather.mapping.MappingDataContainer;
 import org.parchmentmc.feather.metadata.ClassMetadata;
@@ -35,21 +35,21 @@ public abstract class GenerateSanitizedExport extends GenerateExport {
         final boolean skipLambdas = getSkipLambdaParameters().get();
         final boolean skipAnonClasses = getSkipAnonymousClassParameters().get();
 
-        final Map<String, ClassMetadata> classMetadataMap = MappingUtil.buildClassMetadataMap(metadata);
+        final MetadataIndex metadataIndex = MetadataIndex.of(metadata);
         final Map<String, String> recordClassesToCanonicalDescriptors = new HashMap<>();
 
         // Cascade parent methods first separately so that prefixes don't get applied multiple times
-        builder.getClasses().forEach(clsData -> cascadeParentMethods(builder, classMetadataMap, clsData, classMetadataMap.get(clsData.getName())));
+        builder.getClasses().forEach(clsData -> cascadeParentMethods(builder, metadataIndex, clsData, metadataIndex.getClassMetadata(clsData.getName())));
 
-        builder.getClasses().forEach(clsData -> copyRecordData(clsData, classMetadataMap.get(clsData.getName())));
+        builder.getClasses().forEach(clsData -> copyRecordData(clsData, metadataIndex.getClassMetadata(clsData.getName())));
 
         builder.getClasses().forEach(clsData -> {
-            final ClassMetadata clsMeta = classMetadataMap.get(clsData.getName());
+            final ClassMetadata clsMeta = metadataIndex.getClassMetadata(clsData.getName());
 
             boolean anonClass = withinAnonymousClass(clsData.getName());
 
             clsData.getMethods().forEach(methodData -> {
-                final MethodMetadata methodMeta = MappingUtil.getMethodMetadata(clsMeta, methodData.getName(), methodData.getDescriptor());
+                final MethodMetadata methodMeta = metadataIndex.getMethodMetadata(clsMeta, methodData.getName(), methodData.getDescriptor());
 
                 // Simple heuristic; if it starts with `lambda$`, it's a lambda.
                 boolean lambda = (methodMeta != null && methodMeta.isLambda())
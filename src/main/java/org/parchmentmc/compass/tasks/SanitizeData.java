@@ -18,6 +18,7 @@ import org.parchmentmc.compass.data.sanitation.impl.DescriptorParametersSanitize
 import org.parchmentmc.compass.data.sanitation.impl.EnumValueOfRemover;
 import org.parchmentmc.compass.data.sanitation.impl.NonexistentMemberRemover;
 import org.parchmentmc.compass.data.sanitation.impl.SyntheticsRemover;
+import org.parchmentmc.compass.data.visitation.EditJournal;
 import org.parchmentmc.compass.storage.io.MappingIOFormat;
 import org.parchmentmc.compass.util.download.BlackstoneDownloader;
 import org.parchmentmc.feather.mapping.MappingDataContainer;
@@ -63,18 +64,29 @@ public abstract class SanitizeData extends DefaultTask {
 
         final SourceMetadata metadata = blackstoneDownloader.retrieveMetadata();
 
-        final MappingDataContainer inputData = getInputFormat().get().read(input);
+        final MappingDataContainer inputData = plugin.getParsedDataCache().read(getInputFormat().get(), input.toPath());
 
         DataSanitizer sanitizer = new DataSanitizer();
 
         getSanitizers().forEach(sanitizer::addSanitizer);
 
         logger.lifecycle("Sanitizers in use: {}", sanitizer.getSanitizers().stream().map(Named::getName).collect(Collectors.toList()));
+        logger.info("Sanitizer execution groups: {}", sanitizer.getExecutionGroups().stream()
+                .map(group -> group.stream().map(Named::getName).collect(Collectors.toList()))
+                .collect(Collectors.toList()));
         if (metadata == null) {
             logger.warn("No Blackstone metadata loaded, sanitation may not have any effects");
         }
         logger.lifecycle("Sanitizing mapping data in '{}'", input.getAbsolutePath());
-        final MappingDataContainer sanitizedData = sanitizer.sanitize(inputData, metadata);
+        final EditJournal journal = new EditJournal();
+        final MappingDataContainer sanitizedData = sanitizer.sanitize(inputData, metadata, journal);
+        logger.lifecycle("Sanitation made {} changes: {} modified, {} removed, {} added", journal.size(),
+                journal.count(EditJournal.Kind.MODIFY), journal.count(EditJournal.Kind.REMOVE), journal.count(EditJournal.Kind.ADD));
+        if (logger.isDebugEnabled()) {
+            for (int i = 0; i < journal.size(); i++) {
+                logger.debug(journal.describe(i));
+            }
+        }
 
         getInputFormat().get().write(sanitizedData, input);
     }
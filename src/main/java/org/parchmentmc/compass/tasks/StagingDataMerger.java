@@ -0,0 +1,151 @@
+package org.parchmentmc.compass.tasks;
+
+import org.parchmentmc.compass.tasks.CreateStagingData.InputMode;
+import org.parchmentmc.compass.util.MappingUtil;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.MappingDataContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.parchmentmc.feather.mapping.MappingDataBuilder.*;
+
+/**
+ * Merges input data into base data according to an {@link InputMode}.
+ *
+ * <p>The base data is usually the whole of the official data, while the input data only covers the few entries being
+ * documented. Therefore, the merge is driven by the input data, looking up each input entry within the base data,
+ * so its cost is proportional to the input data rather than the base data.</p>
+ */
+// Helper package-only class, for the merging behind CreateStagingData
+final class StagingDataMerger {
+    private StagingDataMerger() {
+    } // No instantiation of utilities
+
+    /**
+     * Applies the input data onto the base data. Entries of the input data which are not present in the base data are
+     * ignored, with the exception of parameters of methods present in the base data.
+     *
+     * @param baseData the base data, which is modified
+     * @param newData  the input data
+     * @param mode     the input mode
+     */
+    static void apply(MappingDataBuilder baseData, MappingDataContainer newData, InputMode mode) {
+        for (PackageData inputPkg : newData.getPackages()) {
+            final MutablePackageData pkg = baseData.getPackage(inputPkg.getName());
+
+            if (pkg != null && replacesJavadoc(mode, inputPkg.getJavadoc(), pkg.getJavadoc())) {
+                pkg.clearJavadoc().addJavadoc(inputPkg.getJavadoc());
+            }
+        }
+
+        for (ClassData inputCls : newData.getClasses()) {
+            final MutableClassData cls = baseData.getClass(inputCls.getName());
+
+            if (cls != null) {
+                applyClass(cls, inputCls, mode);
+            }
+        }
+    }
+
+    /**
+     * Applies the input data onto the base data, and removes the undocumented entries of the base data, as by
+     * {@link #apply(MappingDataBuilder, MappingDataContainer, InputMode)} followed by
+     * {@link MappingUtil#removeUndocumented(MappingDataBuilder)}.
+     *
+     * <p>As every undocumented entry of the base data must be removed, this visits each base class once, merging the
+     * corresponding input class (if any) and then removing the undocumented members of the class in the same step.</p>
+     *
+     * @param baseData the base data, which is modified
+     * @param newData  the input data
+     * @param mode     the input mode
+     */
+    static void applyAndRemoveUndocumented(MappingDataBuilder baseData, MappingDataContainer newData, InputMode mode) {
+        final boolean hasInput = !newData.getPackages().isEmpty() || !newData.getClasses().isEmpty();
+        final List<String> undocumented = new ArrayList<>();
+
+        for (MutablePackageData pkg : baseData.getPackages()) {
+            final PackageData inputPkg = hasInput ? newData.getPackage(pkg.getName()) : null;
+
+            if (inputPkg != null && replacesJavadoc(mode, inputPkg.getJavadoc(), pkg.getJavadoc())) {
+                pkg.clearJavadoc().addJavadoc(inputPkg.getJavadoc());
+            }
+            if (pkg.getJavadoc().isEmpty()) undocumented.add(pkg.getName());
+        }
+        undocumented.forEach(baseData::removePackage);
+
+        undocumented.clear();
+        for (MutableClassData cls : baseData.getClasses()) {
+            final ClassData inputCls = hasInput ? newData.getClass(cls.getName()) : null;
+
+            if (inputCls != null) {
+                applyClass(cls, inputCls, mode);
+            }
+            if (MappingUtil.removeUndocumented(cls)) undocumented.add(cls.getName());
+        }
+        undocumented.forEach(baseData::removeClass);
+    }
+
+    private static void applyClass(MutableClassData cls, ClassData inputCls, InputMode mode) {
+        if (replacesJavadoc(mode, inputCls.getJavadoc(), cls.getJavadoc())) {
+            cls.clearJavadoc().addJavadoc(inputCls.getJavadoc());
+        }
+
+        for (FieldData inputField : inputCls.getFields()) {
+            final MutableFieldData field = cls.getField(inputField.getName());
+
+            if (field != null && replacesJavadoc(mode, inputField.getJavadoc(), field.getJavadoc())) {
+                field.clearJavadoc().addJavadoc(inputField.getJavadoc());
+            }
+        }
+
+        for (MethodData inputMethod : inputCls.getMethods()) {
+            final MutableMethodData method = cls.getMethod(inputMethod.getName(), inputMethod.getDescriptor());
+
+            if (method != null) {
+                applyMethod(method, inputMethod, mode);
+            }
+        }
+    }
+
+    private static void applyMethod(MutableMethodData method, MethodData inputMethod, InputMode mode) {
+        if (replacesJavadoc(mode, inputMethod.getJavadoc(), method.getJavadoc())) {
+            method.clearJavadoc().addJavadoc(inputMethod.getJavadoc());
+        }
+
+        for (ParameterData inputParam : inputMethod.getParameters()) {
+            if (mode == InputMode.OVERWRITE) {
+                method.getOrCreateParameter(inputParam.getIndex())
+                        .setName(inputParam.getName())
+                        .setJavadoc(inputParam.getJavadoc());
+                continue;
+            }
+
+            final MutableParameterData param = method.getParameter(inputParam.getIndex());
+            if (param == null) { // New parameter
+                method.createParameter(inputParam.getIndex())
+                        .setName(inputParam.getName())
+                        .setJavadoc(inputParam.getJavadoc());
+                continue;
+            }
+
+            // Note that ADDITIVE replaces the name and javadoc of parameters which already have them, unlike for
+            // the other data types
+            if ((mode == InputMode.OVERRIDE && inputParam.getName() != null)
+                    || (mode == InputMode.ADDITIVE && param.getName() != null)) {
+                param.setName(inputParam.getName());
+            }
+
+            if ((mode == InputMode.OVERRIDE && inputParam.getJavadoc() != null)
+                    || (mode == InputMode.ADDITIVE && param.getJavadoc() != null)) {
+                param.setJavadoc(inputParam.getJavadoc());
+            }
+        }
+    }
+
+    private static boolean replacesJavadoc(InputMode mode, List<String> inputJavadoc, List<String> baseJavadoc) {
+        return mode == InputMode.OVERWRITE
+                || (mode == InputMode.OVERRIDE && !inputJavadoc.isEmpty())
+                || (mode == InputMode.ADDITIVE && baseJavadoc.isEmpty());
+    }
+}
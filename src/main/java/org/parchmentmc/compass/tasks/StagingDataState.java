@@ -0,0 +1,186 @@
+package org.parchmentmc.compass.tasks;
+
+import org.gradle.api.logging.Logger;
+import org.parchmentmc.compass.storage.input.InputContributions;
+import org.parchmentmc.compass.storage.input.InputsReader;
+import org.parchmentmc.compass.storage.io.binary.BinaryDataIO;
+import org.parchmentmc.compass.storage.io.binary.LazyBinaryDataContainer;
+import org.parchmentmc.compass.tasks.CreateStagingData.InputMode;
+import org.parchmentmc.compass.util.MappingUtil;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.parchmentmc.feather.mapping.MappingDataContainer.ClassData;
+
+/**
+ * The state kept between runs of {@link CreateStagingData}, used to create the staging data incrementally.
+ *
+ * <p>The state consists of the combined base data (the official data with the base task data applied), the staging
+ * data of the last run, and the {@linkplain InputContributions contributions} of each input file. After the staging
+ * data is created and written out, it must be {@linkplain #save(MappingDataBuilder) saved} to complete the state.</p>
+ */
+// Helper package-only class, for the incremental state behind CreateStagingData
+final class StagingDataState {
+    private static final String BASE_DATA_FILE = "base.bin";
+    private static final String STAGING_DATA_FILE = "staging.bin";
+
+    private final Path stateDir;
+    private final Path inputsDir;
+    private final InputsReader inputsReader;
+    private final InputMode mode;
+    private final Logger logger;
+    private final InputContributions contributions;
+
+    StagingDataState(Path stateDir, Path inputsDir, InputsReader inputsReader, InputMode mode, Logger logger) {
+        this.stateDir = stateDir;
+        this.inputsDir = inputsDir;
+        this.inputsReader = inputsReader;
+        this.mode = mode;
+        this.logger = logger;
+        this.contributions = new InputContributions(stateDir);
+    }
+
+    /**
+     * Loads the state of the last run, returning whether it is complete and the staging data can be updated.
+     *
+     * @return whether the staging data can be {@linkplain #update(Collection, Collection) updated}
+     * @throws IOException if an I/O error occurs while loading the state
+     */
+    boolean load() throws IOException {
+        return Files.isRegularFile(stateDir.resolve(BASE_DATA_FILE))
+                && Files.isRegularFile(stateDir.resolve(STAGING_DATA_FILE)) && contributions.load();
+    }
+
+    /**
+     * Creates the staging data from all input files, replacing the state.
+     *
+     * @param data the combined base data, which is modified into the staging data
+     * @return the staging data
+     * @throws IOException if an I/O error occurs while reading the inputs or writing the state
+     */
+    MappingDataBuilder create(MappingDataBuilder data) throws IOException {
+        // Keep the combined base data and the data of each input file, so later runs only reapply the changed inputs
+        contributions.clear();
+        BinaryDataIO.INSTANCE.write(data, stateDir.resolve(BASE_DATA_FILE));
+
+        final List<Path> inputFiles = inputsReader.gatherInputFiles(inputsDir);
+        final List<MappingDataBuilder> parsedFiles = inputsReader.parseFiles(inputFiles);
+        final MappingDataBuilder inputData = new MappingDataBuilder();
+        for (int i = 0; i < inputFiles.size(); i++) {
+            contributions.put(relativize(inputsDir, inputFiles.get(i)), parsedFiles.get(i));
+            InputsReader.merge(parsedFiles.get(i), inputData);
+        }
+
+        StagingDataMerger.applyAndRemoveUndocumented(data, inputData, mode);
+        return data;
+    }
+
+    /**
+     * Updates the staging data of the last run with the changed files of the inputs directory, recomputing only the
+     * classes contributed by those files. The state must have been {@linkplain #load() loaded}.
+     *
+     * @param changedFiles the added or modified files (not directories) within the inputs directory
+     * @param removedFiles the removed files within the inputs directory
+     * @return the staging data
+     * @throws IOException if an I/O error occurs while reading the inputs or the state
+     */
+    MappingDataBuilder update(Collection<Path> changedFiles, Collection<Path> removedFiles) throws IOException {
+        final Path stagingFile = stateDir.resolve(STAGING_DATA_FILE);
+
+        final MappingDataBuilder staging = MappingDataBuilder.copyOf(BinaryDataIO.INSTANCE.read(stagingFile));
+        // Until the new staging data is stored, the state is incomplete and the next run must not be incremental
+        Files.delete(stagingFile);
+
+        // The classes contributed by a changed input before and after the change must be recomputed
+        final Set<String> affectedClasses = new HashSet<>();
+        for (Path file : removedFiles) {
+            final String input = relativize(inputsDir, file);
+            affectedClasses.addAll(contributions.getClasses(input));
+            contributions.remove(input);
+        }
+
+        final List<Path> inputFiles = new ArrayList<>();
+        for (Path file : changedFiles) {
+            final String input = relativize(inputsDir, file);
+            affectedClasses.addAll(contributions.getClasses(input));
+
+            // Only files directly within an intermediate's directory are inputs
+            if (input.indexOf('/') != input.lastIndexOf('/') || !inputsReader.isInputFile(file)) {
+                contributions.remove(input);
+            } else {
+                inputFiles.add(file);
+            }
+        }
+
+        final List<MappingDataBuilder> parsedFiles = inputsReader.parseFiles(inputFiles);
+        for (int i = 0; i < inputFiles.size(); i++) {
+            final MappingDataBuilder parsed = parsedFiles.get(i);
+            contributions.put(relativize(inputsDir, inputFiles.get(i)), parsed);
+            parsed.getClasses().forEach(cls -> affectedClasses.add(cls.getName()));
+        }
+
+        logger.info("Reapplying {} changed input file(s) to {} affected class(es)", inputFiles.size(),
+                affectedClasses.size());
+
+        // Merge the inputs in the same order as a full run, but only for the affected classes; the packages are few,
+        // so they are always merged in full
+        final MappingDataBuilder inputData = new MappingDataBuilder();
+        for (String input : contributions.getInputs()) {
+            final LazyBinaryDataContainer parsed = contributions.open(input);
+            parsed.getPackages().forEach(pkg -> InputsReader.mergePackage(pkg, inputData));
+
+            for (String className : contributions.getClasses(input)) {
+                final ClassData cls = affectedClasses.contains(className) ? parsed.getClass(className) : null;
+                if (cls != null) {
+                    InputsReader.mergeClass(cls, inputData);
+                }
+            }
+        }
+
+        // Recompute the affected classes from the combined base data, as a full run would
+        final MappingDataBuilder data = new MappingDataBuilder();
+        final LazyBinaryDataContainer base = BinaryDataIO.INSTANCE.open(stateDir.resolve(BASE_DATA_FILE));
+        base.getPackages().forEach(pkg -> data.createPackage(pkg.getName()).addJavadoc(pkg.getJavadoc()));
+
+        for (String className : affectedClasses) {
+            final ClassData cls = base.getClass(className);
+            if (cls != null) {
+                MappingUtil.copyClass(cls, data);
+            }
+        }
+
+        StagingDataMerger.applyAndRemoveUndocumented(data, inputData, mode);
+
+        // Replace the affected classes and all packages in the previous staging data
+        staging.clearPackages();
+        data.getPackages().forEach(pkg -> staging.createPackage(pkg.getName()).addJavadoc(pkg.getJavadoc()));
+        affectedClasses.forEach(staging::removeClass);
+        data.getClasses().forEach(cls -> MappingUtil.copyClass(cls, staging));
+
+        return staging;
+    }
+
+    /**
+     * Saves the staging data and the contributions, completing the state for the next run.
+     *
+     * @param staging the staging data
+     * @throws IOException if an I/O error occurs while writing the state
+     */
+    void save(MappingDataBuilder staging) throws IOException {
+        BinaryDataIO.INSTANCE.write(staging, stateDir.resolve(STAGING_DATA_FILE));
+        contributions.save();
+    }
+
+    private static String relativize(Path base, Path file) {
+        return base.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+}
@@ -1,5 +1,6 @@
 package org.parchmentmc.compass.tasks;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.Named;
 import org.gradle.api.NamedDomainObjectList;
@@ -9,8 +10,10 @@ import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.VerificationTask;
+import org.gradle.api.tasks.options.Option;
 import org.parchmentmc.compass.CompassPlugin;
 import org.parchmentmc.compass.data.validation.DataValidator;
 import org.parchmentmc.compass.data.validation.ValidationIssue;
@@ -25,7 +28,9 @@ import org.parchmentmc.compass.data.validation.impl.ParameterConflictsValidator;
 import org.parchmentmc.compass.data.validation.impl.ParameterStandardsValidator;
 import org.parchmentmc.compass.data.validation.impl.RecordValidator;
 import org.parchmentmc.compass.data.validation.impl.SyntheticValidator;
+import org.parchmentmc.compass.storage.io.MappingDataReloader;
 import org.parchmentmc.compass.storage.io.MappingIOFormat;
+import org.parchmentmc.compass.util.DirectoryWatcher;
 import org.parchmentmc.compass.util.ResultContainer;
 import org.parchmentmc.compass.util.download.BlackstoneDownloader;
 import org.parchmentmc.feather.mapping.MappingDataContainer;
@@ -36,7 +41,9 @@ import org.slf4j.MarkerFactory;
 import javax.inject.Inject;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public abstract class ValidateData extends DefaultTask implements VerificationTask {
@@ -44,6 +51,7 @@ public abstract class ValidateData extends DefaultTask implements VerificationTa
 
     private final NamedDomainObjectList<Validator> validators;
     private boolean ignoreFailures = false;
+    private boolean watch = false;
 
     @InputDirectory
     public abstract DirectoryProperty getInput();
@@ -72,6 +80,23 @@ public abstract class ValidateData extends DefaultTask implements VerificationTa
         validators.add(new MemberExistenceValidator());
     }
 
+    /**
+     * Sets whether to keep watching the input for changes after validating, revalidating the classes affected by each
+     * change until the build is cancelled. This is named {@code --watch} rather than {@code --continuous} to avoid
+     * clashing with Gradle's own continuous build option.
+     *
+     * @param watch whether to watch the input for changes
+     */
+    @Option(option = "watch", description = "Keeps watching the input for changes, revalidating the changed classes.")
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
+    @Internal
+    public boolean getWatch() {
+        return watch;
+    }
+
     @TaskAction
     public void validate() throws IOException {
         File input = getInput().get().getAsFile();
@@ -81,8 +106,6 @@ public abstract class ValidateData extends DefaultTask implements VerificationTa
 
         final SourceMetadata metadata = blackstoneDownloader.retrieveMetadata();
 
-        MappingDataContainer data = getInputFormat().get().read(input);
-
         final DataValidator validator = new DataValidator();
         getValidators().forEach(validator::addValidator);
 
@@ -94,8 +117,49 @@ public abstract class ValidateData extends DefaultTask implements VerificationTa
         }
         logger.lifecycle("Validating mapping data from '{}'", input.getAbsolutePath());
 
-        final ResultContainer<List<? extends ValidationIssue>> results = validator.validate(data, metadata);
+        if (watch) {
+            watch(logger, validator, metadata, input.toPath());
+            return;
+        }
+
+        MappingDataContainer data = plugin.getParsedDataCache().read(getInputFormat().get(), input.toPath());
+
+        report(logger, validator.validate(data, metadata), !ignoreFailures);
+    }
+
+    private void watch(Logger logger, DataValidator validator, @Nullable SourceMetadata metadata, Path input) throws IOException {
+        final MappingDataReloader reloader = new MappingDataReloader(getInputFormat().get(), input);
+
+        // Open the watcher first, so changes made during the initial load are not missed
+        try (DirectoryWatcher watcher = new DirectoryWatcher(input)) {
+            reloader.load();
+            report(logger, validator.validate(reloader.getData(), metadata), false);
+
+            logger.lifecycle("Watching '{}' for changes; cancel the build to stop", input.toAbsolutePath());
+            //noinspection InfiniteLoopStatement
+            while (true) {
+                final Set<Path> changedFiles = watcher.awaitChanges(WATCH_SETTLE_MILLIS);
+
+                final Set<String> affectedClasses;
+                try {
+                    affectedClasses = reloader.reload(changedFiles);
+                } catch (IOException | RuntimeException e) {
+                    // Most likely a file which is still being edited; it will be re-read on its next change
+                    logger.error("Failed to reload changed files: {}", e.toString());
+                    continue;
+                }
+
+                logger.lifecycle("Revalidating {} classes affected by changes to {} files", affectedClasses.size(),
+                    changedFiles.size());
+                report(logger, validator.validate(reloader.getData(), metadata, affectedClasses::contains), false);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.lifecycle("Stopped watching for changes");
+        }
+    }
 
+    private void report(Logger logger, ResultContainer<List<? extends ValidationIssue>> results, boolean failOnErrors) {
         if (results.isEmpty()) {
             logger.lifecycle("No validation issues found.");
             return;
@@ -142,15 +206,16 @@ public abstract class ValidateData extends DefaultTask implements VerificationTa
         logger.warn("Found {} validation warnings and {} validation errors", count.warnings, count.errors);
 
         if (count.errors > 0) {
-            if (!ignoreFailures) {
+            if (failOnErrors) {
                 throw new ValidationFailedException("Found " + count.warnings + " validation warnings and "
                     + count.errors + " validation errors");
-            } else {
+            } else if (ignoreFailures) {
                 logger.warn("Ignoring failures.");
             }
         }
     }
 
+    private static final long WATCH_SETTLE_MILLIS = 300;
     private static final String ISSUE_LOG_TEMPLATE = "{} from '{}' [{}]: {}";
 
     private void logIssue(Logger logger, IssueCount count, List<? extends ValidationIssue> issues, String type) {
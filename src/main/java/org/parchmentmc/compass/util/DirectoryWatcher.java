@@ -0,0 +1,90 @@
+package org.parchmentmc.compass.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches a directory and all of its subdirectories for changed files, using a {@link WatchService}. Subdirectories
+ * created while watching are watched as well.
+ */
+public class DirectoryWatcher implements Closeable {
+    private final Path root;
+    private final WatchService watchService;
+
+    public DirectoryWatcher(Path root) throws IOException {
+        this.root = root;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        registerAll(root);
+    }
+
+    /**
+     * Waits for files to change, then collects the changes until no further changes occur for the given settle time.
+     * This groups the multiple events caused by an editor saving a file (or a tool writing many files) into one batch.
+     *
+     * <p>If the watch service lost track of events, the set contains the root directory itself, meaning that any
+     * file may have changed.</p>
+     *
+     * @param settleMillis the time to wait for further changes, in milliseconds
+     * @return the set of changed (created, modified, or deleted) paths
+     * @throws IOException          if an I/O error occurs while watching new subdirectories
+     * @throws InterruptedException if interrupted while waiting for changes
+     */
+    public Set<Path> awaitChanges(long settleMillis) throws IOException, InterruptedException {
+        final Set<Path> changed = new LinkedHashSet<>();
+        WatchKey key = watchService.take();
+        while (key != null) {
+            final Path dir = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    changed.add(root);
+                    continue;
+                }
+                final Path path = dir.resolve((Path) event.context());
+                changed.add(path);
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                    registerAll(path);
+                    // Files may have been created within the directory before it was registered
+                    try (Stream<Path> files = Files.walk(path)) {
+                        files.forEach(changed::add);
+                    }
+                }
+            }
+            key.reset();
+            key = watchService.poll(settleMillis, TimeUnit.MILLISECONDS);
+        }
+        return changed;
+    }
+
+    private void registerAll(Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
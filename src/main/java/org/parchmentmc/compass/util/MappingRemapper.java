@@ -0,0 +1,136 @@
+package org.parchmentmc.compass.util;
+
+import net.minecraftforge.srgutils.IMappingFile;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remaps names and descriptors according to a mapping file, using lookup tables which are built once from the mapping
+ * file. Remapped descriptors and packages are memoized, as the same descriptors are remapped many times over.
+ *
+ * <p>The remapping follows the same rules as when looking up the mapping file directly:</p>
+ * <ul>
+ *     <li>Classes, fields, and methods without a mapping keep their original names.</li>
+ *     <li>Field descriptors use the mapped descriptor of the field mapping if present, otherwise the field descriptor
+ *     is {@linkplain IMappingFile#remapDescriptor(String) remapped}.</li>
+ *     <li>Method descriptors use the mapped descriptor of the method mapping if present, otherwise the original
+ *     descriptor is kept.</li>
+ * </ul>
+ *
+ * <p>This class is safe for use by multiple threads at once.</p>
+ */
+public class MappingRemapper {
+    private final IMappingFile mapping;
+    private final Map<String, ClassEntry> classes;
+    private final Map<String, String> descriptorCache = new ConcurrentHashMap<>();
+    private final Map<String, String> packageCache = new ConcurrentHashMap<>();
+
+    public MappingRemapper(IMappingFile mapping) {
+        this.mapping = mapping;
+        this.classes = new HashMap<>(mapping.getClasses().size() * 4 / 3 + 1);
+
+        for (IMappingFile.IClass cls : mapping.getClasses()) {
+            final ClassEntry entry = new ClassEntry(StringPool.intern(cls.getMapped()));
+            for (IMappingFile.IField field : cls.getFields()) {
+                final String mappedDescriptor = field.getMappedDescriptor();
+                if (mappedDescriptor != null) {
+                    entry.fields.put(field.getOriginal(), new RemappedMember(StringPool.intern(field.getMapped()),
+                            StringPool.intern(mappedDescriptor)));
+                } else {
+                    entry.fieldNames.put(field.getOriginal(), StringPool.intern(field.getMapped()));
+                }
+            }
+            for (IMappingFile.IMethod method : cls.getMethods()) {
+                final String mappedDescriptor = method.getMappedDescriptor();
+                entry.methods.computeIfAbsent(method.getOriginal(), k -> new HashMap<>(2))
+                        .put(method.getDescriptor(), new RemappedMember(StringPool.intern(method.getMapped()),
+                                StringPool.intern(mappedDescriptor != null ? mappedDescriptor : method.getDescriptor())));
+            }
+            classes.put(cls.getOriginal(), entry);
+        }
+    }
+
+    public String remapPackage(String packageName) {
+        return packageCache.computeIfAbsent(packageName, mapping::remapPackage);
+    }
+
+    public String remapClass(String className) {
+        final ClassEntry entry = classes.get(className);
+        return entry != null ? entry.mapped : className;
+    }
+
+    public String remapDescriptor(String descriptor) {
+        return descriptorCache.computeIfAbsent(descriptor, desc -> StringPool.intern(mapping.remapDescriptor(desc)));
+    }
+
+    /**
+     * Remaps the name and descriptor of a field with a single lookup.
+     *
+     * @param owner      the original name of the class owning the field
+     * @param name       the original name of the field
+     * @param descriptor the original descriptor of the field
+     * @return the remapped name and descriptor of the field
+     */
+    public RemappedMember remapField(String owner, String name, String descriptor) {
+        final ClassEntry entry = classes.get(owner);
+        if (entry == null) {
+            return new RemappedMember(name, remapDescriptor(descriptor));
+        }
+        final RemappedMember field = entry.fields.get(name);
+        if (field != null) {
+            return field;
+        }
+        return new RemappedMember(entry.fieldNames.getOrDefault(name, name), remapDescriptor(descriptor));
+    }
+
+    /**
+     * Remaps the name and descriptor of a method with a single lookup.
+     *
+     * @param owner      the original name of the class owning the method
+     * @param name       the original name of the method
+     * @param descriptor the original descriptor of the method
+     * @return the remapped name and descriptor of the method
+     */
+    public RemappedMember remapMethod(String owner, String name, String descriptor) {
+        final ClassEntry entry = classes.get(owner);
+        final Map<String, RemappedMember> overloads = entry != null ? entry.methods.get(name) : null;
+        final RemappedMember method = overloads != null ? overloads.get(descriptor) : null;
+        return method != null ? method : new RemappedMember(name, descriptor);
+    }
+
+    /**
+     * The remapped name and descriptor of a field or method.
+     */
+    public static final class RemappedMember {
+        private final String name;
+        private final String descriptor;
+
+        RemappedMember(String name, String descriptor) {
+            this.name = name;
+            this.descriptor = descriptor;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescriptor() {
+            return descriptor;
+        }
+    }
+
+    private static class ClassEntry {
+        final String mapped;
+        final Map<String, RemappedMember> fields = new HashMap<>();
+        // Field mappings without a mapped descriptor, whose descriptors are remapped on lookup
+        final Map<String, String> fieldNames = new HashMap<>();
+        // Method name -> method descriptor -> remapped method, so lookups need no concatenated keys
+        final Map<String, Map<String, RemappedMember>> methods = new HashMap<>();
+
+        ClassEntry(String mapped) {
+            this.mapped = mapped;
+        }
+    }
+}
@@ -17,6 +17,7 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -87,27 +88,28 @@ public class MappingUtil {
         MappingDataBuilder builder = new MappingDataBuilder();
 
         // Copy packages
-        mappingFile.getPackages().forEach(pkg -> builder.createPackage(reversed ? pkg.getMapped() : pkg.getOriginal()));
+        // Names and descriptors are pooled, as the mapping file holds its own instances of them
+        mappingFile.getPackages().forEach(pkg -> builder.createPackage(StringPool.intern(reversed ? pkg.getMapped() : pkg.getOriginal())));
 
         // Copy classes
         mappingFile.getClasses().forEach(cls -> {
-            MutableClassData classBuilder = builder.createClass(reversed ? cls.getMapped() : cls.getOriginal());
+            MutableClassData classBuilder = builder.createClass(StringPool.intern(reversed ? cls.getMapped() : cls.getOriginal()));
 
             // Copy fields of classes
             cls.getFields().forEach(field ->
-                    classBuilder.createField(reversed ? field.getMapped() : field.getOriginal(),
-                            reversed ? field.getMappedDescriptor() : field.getDescriptor()));
+                    classBuilder.createField(StringPool.intern(reversed ? field.getMapped() : field.getOriginal()),
+                            StringPool.intern(reversed ? field.getMappedDescriptor() : field.getDescriptor())));
 
             // Copy methods of classes
             cls.getMethods().forEach(method -> {
                 MutableMethodData methodBuilder = classBuilder.createMethod(
-                        reversed ? method.getMapped() : method.getOriginal(),
-                        reversed ? method.getMappedDescriptor() : method.getDescriptor());
+                        StringPool.intern(reversed ? method.getMapped() : method.getOriginal()),
+                        StringPool.intern(reversed ? method.getMappedDescriptor() : method.getDescriptor()));
 
                 // Copy parameters of methods
                 method.getParameters().forEach(param ->
                         methodBuilder.createParameter((byte) param.getIndex())
-                                .setName(reversed ? param.getMapped() : param.getOriginal()));
+                                .setName(StringPool.intern(reversed ? param.getMapped() : param.getOriginal())));
             });
         });
 
@@ -185,46 +187,31 @@ public class MappingUtil {
 
     // Mapping should be names from data -> target names
     public static MappingDataContainer remapData(MappingDataContainer data, IMappingFile mapping) {
+        return remapData(data, new MappingRemapper(mapping));
+    }
+
+    // Mapping should be names from data -> target names
+    public static MappingDataContainer remapData(MappingDataContainer data, MappingRemapper mapping) {
         MappingDataBuilder builder = new MappingDataBuilder();
 
         data.getPackages().forEach(pkg -> builder.createPackage(mapping.remapPackage(pkg.getName())).addJavadoc(pkg.getJavadoc()));
 
         data.getClasses().forEach(cls -> {
-            IMappingFile.IClass mappedClass = mapping.getClass(cls.getName());
-            String clsName = cls.getName();
-            if (mappedClass != null) {
-                clsName = mappedClass.getMapped();
-            }
-            MutableClassData classData = builder.createClass(clsName).addJavadoc(cls.getJavadoc());
+            String originalName = cls.getName();
+            MutableClassData classData = builder.createClass(mapping.remapClass(originalName)).addJavadoc(cls.getJavadoc());
 
             cls.getFields().forEach(field -> {
-                String fieldName = field.getName();
-                String fieldDescriptor = mapping.remapDescriptor(field.getDescriptor());
-
-                if (mappedClass != null) {
-                    IMappingFile.IField mappedField = mappedClass.getField(field.getName());
-                    if (mappedField != null) {
-                        fieldName = mappedField.getMapped();
-                        if (mappedField.getMappedDescriptor() != null) {
-                            fieldDescriptor = mappedField.getMappedDescriptor();
-                        }
-                    }
-                }
+                MappingRemapper.RemappedMember remappedField = mapping.remapField(originalName, field.getName(), field.getDescriptor());
+                String fieldName = remappedField.getName();
+                String fieldDescriptor = remappedField.getDescriptor();
 
                 classData.createField(fieldName, fieldDescriptor).addJavadoc(field.getJavadoc());
             });
 
             cls.getMethods().forEach(method -> {
-                String methodName = method.getName();
-                String methodDescriptor = method.getDescriptor();
-
-                if (mappedClass != null) {
-                    IMappingFile.IMethod mappedMethod = mappedClass.getMethod(method.getName(), method.getDescriptor());
-                    if (mappedMethod != null) {
-                        methodName = mappedMethod.getMapped();
-                        methodDescriptor = mappedMethod.getMappedDescriptor();
-                    }
-                }
+                MappingRemapper.RemappedMember remappedMethod = mapping.remapMethod(originalName, method.getName(), method.getDescriptor());
+                String methodName = remappedMethod.getName();
+                String methodDescriptor = remappedMethod.getDescriptor();
 
                 MutableMethodData methodData = classData.createMethod(methodName, methodDescriptor)
                         .addJavadoc(method.getJavadoc());
@@ -242,20 +229,31 @@ public class MappingUtil {
         base.getPackages().forEach(pkg -> builder.createPackage(pkg.getName()).addJavadoc(pkg.getJavadoc()));
 
         // Copy classes
-        base.getClasses().forEach(cls -> {
-            MutableClassData classData = builder.createClass(cls.getName()).addJavadoc(cls.getJavadoc());
+        base.getClasses().forEach(cls -> copyClass(cls, builder));
+    }
 
-            // Copy fields
-            cls.getFields().forEach(field -> classData.createField(field.getName(), field.getDescriptor()).addJavadoc(field.getJavadoc()));
+    /**
+     * Copies the given class data and its members into the builder.
+     *
+     * @param cls     the class data to copy
+     * @param builder the builder to copy into
+     * @return the copied class data within the builder
+     */
+    public static MutableClassData copyClass(MappingDataContainer.ClassData cls, MappingDataBuilder builder) {
+        MutableClassData classData = builder.createClass(cls.getName()).addJavadoc(cls.getJavadoc());
 
-            // Copy methods
-            cls.getMethods().forEach(method -> {
-                MutableMethodData methodData = classData.createMethod(method.getName(), method.getDescriptor()).addJavadoc(method.getJavadoc());
+        // Copy fields
+        cls.getFields().forEach(field -> classData.createField(field.getName(), field.getDescriptor()).addJavadoc(field.getJavadoc()));
 
-                // Copy parameters
-                method.getParameters().forEach(param -> methodData.createParameter(param.getIndex()).setName(param.getName()).setJavadoc(param.getJavadoc()));
-            });
+        // Copy methods
+        cls.getMethods().forEach(method -> {
+            MutableMethodData methodData = classData.createMethod(method.getName(), method.getDescriptor()).addJavadoc(method.getJavadoc());
+
+            // Copy parameters
+            method.getParameters().forEach(param -> methodData.createParameter(param.getIndex()).setName(param.getName()).setJavadoc(param.getJavadoc()));
         });
+
+        return classData;
     }
 
     public static MappingDataBuilder loadOfficialData(ObfuscationMapsDownloader obfuscationMapsDownloader) {
@@ -268,32 +266,52 @@ public class MappingUtil {
     }
 
     public static void removeUndocumented(MappingDataBuilder builder) {
-        builder.getPackages().stream()
-                .filter(s -> s.getJavadoc().isEmpty())
-                .map(MutablePackageData::getName)
-                .collect(Collectors.toSet())
-                .forEach(builder::removePackage);
-
-        //noinspection Convert2MethodRef damn you javac
-        builder.getClasses().stream()
-                .peek(cls -> cls.getFields().stream()
-                        .filter(field -> field.getJavadoc().isEmpty())
-                        .map(MutableFieldData::getName)
-                        .collect(Collectors.toSet())
-                        .forEach(field -> cls.removeField(field)))
-                .peek(cls -> cls.getMethods().stream()
-                        .peek(method -> method.getParameters().stream()
-                                .filter(param -> param.getName() == null && param.getJavadoc() == null)
-                                .map(MutableParameterData::getIndex)
-                                .collect(Collectors.toSet())
-                                .forEach(method::removeParameter))
-                        .filter(method -> method.getJavadoc().isEmpty() && method.getParameters().isEmpty())
-                        .collect(Collectors.toSet())
-                        .forEach(method -> cls.removeMethod(method.getName(), method.getDescriptor())))
-                .filter(cls -> cls.getJavadoc().isEmpty() && cls.getFields().isEmpty() && cls.getMethods().isEmpty())
-                .map(MutableClassData::getName)
-                .collect(Collectors.toSet())
-                .forEach(builder::removeClass);
+        final List<String> undocumented = new ArrayList<>();
+        for (MutablePackageData pkg : builder.getPackages()) {
+            if (pkg.getJavadoc().isEmpty()) undocumented.add(pkg.getName());
+        }
+        undocumented.forEach(builder::removePackage);
+
+        undocumented.clear();
+        for (MutableClassData cls : builder.getClasses()) {
+            if (removeUndocumented(cls)) undocumented.add(cls.getName());
+        }
+        undocumented.forEach(builder::removeClass);
+    }
+
+    /**
+     * Removes the undocumented fields, methods and parameters of the given class. A parameter is undocumented if it
+     * has neither a name nor a javadoc, and a method is undocumented if it has no javadoc and no parameters left.
+     *
+     * @param cls the class
+     * @return whether the class itself is undocumented, having no javadoc, fields or methods left
+     */
+    public static boolean removeUndocumented(MutableClassData cls) {
+        if (!cls.getFields().isEmpty()) {
+            final List<String> fields = new ArrayList<>();
+            for (MutableFieldData field : cls.getFields()) {
+                if (field.getJavadoc().isEmpty()) fields.add(field.getName());
+            }
+            fields.forEach(cls::removeField);
+        }
+
+        if (!cls.getMethods().isEmpty()) {
+            final List<MutableMethodData> methods = new ArrayList<>();
+            for (MutableMethodData method : cls.getMethods()) {
+                if (!method.getParameters().isEmpty()) {
+                    final List<Byte> params = new ArrayList<>();
+                    for (MutableParameterData param : method.getParameters()) {
+                        if (param.getName() == null && param.getJavadoc() == null) params.add(param.getIndex());
+                    }
+                    params.forEach(method::removeParameter);
+                }
+
+                if (method.getJavadoc().isEmpty() && method.getParameters().isEmpty()) methods.add(method);
+            }
+            methods.forEach(method -> cls.removeMethod(method.getName(), method.getDescriptor()));
+        }
+
+        return cls.getJavadoc().isEmpty() && cls.getFields().isEmpty() && cls.getMethods().isEmpty();
     }
 
     public static Map<String, ClassMetadata> buildClassMetadataMap(@Nullable SourceMetadata metadata) {
@@ -339,6 +357,7 @@ public class MappingUtil {
      * @return the matching field metadata, or {@code null} if either the class metadata is {@code null} or there is no
      * field metadata in the class which has a matching Mojang name
      * @see #getFieldMetadata(Function, ClassMetadata, String)
+     * @see MetadataIndex#getFieldMetadata(ClassMetadata, String) for repeated lookups
      */
     @Nullable
     public static FieldMetadata getFieldMetadata(@Nullable ClassMetadata classMetadata, String fieldName) {
@@ -376,6 +395,7 @@ public class MappingUtil {
      * @return the matching method metadata, or {@code null} if either the class metadata is {@code null} or there is no
      * method metadata in the class which has a matching name and descriptor with Mojang names
      * @see #getMethodMetadata(Function, ClassMetadata, String, String)
+     * @see MetadataIndex#getMethodMetadata(ClassMetadata, String, String) for repeated lookups
      */
     @Nullable
     public static MethodMetadata getMethodMetadata(@Nullable ClassMetadata classMetadata, String methodName, String methodDesc) {
@@ -0,0 +1,154 @@
+package org.parchmentmc.compass.util;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.parchmentmc.feather.metadata.ClassMetadata;
+import org.parchmentmc.feather.metadata.FieldMetadata;
+import org.parchmentmc.feather.metadata.MethodMetadata;
+import org.parchmentmc.feather.metadata.SourceMetadata;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * An index over {@link SourceMetadata}, for looking up the metadata of classes and their members by their
+ * {@linkplain org.parchmentmc.feather.named.Named#getMojangName() Mojang names} in constant time.
+ *
+ * <p>The class metadata (including inner classes) are indexed when the index is created, while the members of each
+ * class are indexed on the first lookup within that class. The lookups match those of
+ * {@link MappingUtil#buildClassMetadataMap(SourceMetadata)}, {@link MappingUtil#getFieldMetadata(ClassMetadata, String)}
+ * and {@link MappingUtil#getMethodMetadata(ClassMetadata, String, String)}. This class is safe for use by multiple
+ * threads.</p>
+ *
+ * @see #of(SourceMetadata)
+ */
+public final class MetadataIndex {
+    /**
+     * An index without any metadata, for which every lookup returns {@code null}.
+     */
+    public static final MetadataIndex EMPTY = new MetadataIndex(Collections.emptyMap());
+
+    // Weak keys compare by identity, so each metadata instance is indexed once however deeply it compares equal
+    private static final LoadingCache<SourceMetadata, MetadataIndex> INDEXES = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(CacheLoader.from(MetadataIndex::create));
+
+    private final Map<String, ClassMetadata> classes;
+    private final Map<ClassMetadata, MemberIndex> members;
+
+    private MetadataIndex(Map<String, ClassMetadata> classes) {
+        this.classes = classes;
+        // Keyed by identity, as the lookups are for the class metadata instances held by this index
+        this.members = Collections.synchronizedMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Returns the index for the given source metadata. The index is built once per metadata instance, and reused for
+     * later calls with the same instance.
+     *
+     * @param metadata the source metadata, may be {@code null}
+     * @return the index, or {@link #EMPTY} if the metadata is {@code null}
+     */
+    public static MetadataIndex of(@Nullable SourceMetadata metadata) {
+        if (metadata == null) return EMPTY;
+        return INDEXES.getUnchecked(metadata);
+    }
+
+    private static MetadataIndex create(SourceMetadata metadata) {
+        final Map<String, ClassMetadata> classes = new HashMap<>();
+        final ArrayDeque<ClassMetadata> toTraverse = new ArrayDeque<>(metadata.getClasses());
+
+        ClassMetadata current;
+        while ((current = toTraverse.poll()) != null) {
+            classes.put(current.getName().getMojangName().orElse(""), current);
+            toTraverse.addAll(current.getInnerClasses());
+        }
+
+        return new MetadataIndex(Collections.unmodifiableMap(classes));
+    }
+
+    /**
+     * Returns the class metadata for the given class name.
+     *
+     * @param className the class name
+     * @return the class metadata, or {@code null} if there is none
+     */
+    @Nullable
+    public ClassMetadata getClassMetadata(String className) {
+        return classes.get(className);
+    }
+
+    /**
+     * Returns an unmodifiable map of class names to their class metadata.
+     *
+     * @return the class metadata map
+     */
+    public Map<String, ClassMetadata> getClassMetadataMap() {
+        return classes;
+    }
+
+    /**
+     * Returns the field metadata for the given field name within the class metadata.
+     *
+     * @param classMetadata the class metadata, may be {@code null}
+     * @param fieldName     the field name
+     * @return the field metadata, or {@code null} if either the class metadata is {@code null} or there is no matching
+     * field metadata
+     */
+    @Nullable
+    public FieldMetadata getFieldMetadata(@Nullable ClassMetadata classMetadata, String fieldName) {
+        if (classMetadata == null) return null;
+        return getMembers(classMetadata).fields.get(fieldName);
+    }
+
+    /**
+     * Returns the method metadata for the given method name and descriptor within the class metadata.
+     *
+     * @param classMetadata the class metadata, may be {@code null}
+     * @param methodName    the method name
+     * @param methodDesc    the method descriptor
+     * @return the method metadata, or {@code null} if either the class metadata is {@code null} or there is no matching
+     * method metadata
+     */
+    @Nullable
+    public MethodMetadata getMethodMetadata(@Nullable ClassMetadata classMetadata, String methodName, String methodDesc) {
+        if (classMetadata == null) return null;
+        return getMembers(classMetadata).methods.get(MemberIndex.methodKey(methodName, methodDesc));
+    }
+
+    private MemberIndex getMembers(ClassMetadata classMetadata) {
+        MemberIndex index = members.get(classMetadata);
+        if (index == null) {
+            // Indexing twice in a race is harmless, as both indexes are identical
+            index = new MemberIndex(classMetadata);
+            members.put(classMetadata, index);
+        }
+        return index;
+    }
+
+    private static class MemberIndex {
+        final Map<String, FieldMetadata> fields = new HashMap<>();
+        final Map<String, MethodMetadata> methods = new HashMap<>();
+
+        MemberIndex(ClassMetadata classMetadata) {
+            // The first member with a given name wins, as with the linear searches
+            for (FieldMetadata field : classMetadata.getFields()) {
+                fields.putIfAbsent(field.getName().getMojangName().orElse(""), field);
+            }
+            for (MethodMetadata method : classMetadata.getMethods()) {
+                methods.putIfAbsent(methodKey(method.getName().getMojangName().orElse(""),
+                        method.getDescriptor().getMojangName().orElse("")), method);
+            }
+        }
+
+        // Method descriptors always start with '(', which never appears in method names
+        static String methodKey(String name, String descriptor) {
+            return name + descriptor;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.parchmentmc.compass.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Helpers for running I/O-bound work (such as reading or writing mapping data files) on a bounded pool of threads.
+ *
+ * <p>All methods preserve the order of their inputs in their outputs, so the results of a parallel run are identical
+ * to those of a sequential run. A parallelism of {@code 1} or less runs the work sequentially on the calling thread.</p>
+ */
+public final class ParallelIO {
+    /**
+     * The default parallelism for mapping data I/O, which is the number of available processors. This may be
+     * overridden using the {@code compass.io.parallelism} system property.
+     */
+    public static final int DEFAULT_PARALLELISM = Math.max(1,
+            Integer.getInteger("compass.io.parallelism", Runtime.getRuntime().availableProcessors()));
+
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+    private ParallelIO() {
+    } // No instantiation of utilities
+
+    /**
+     * Applies the given function to each input, returning the results in the same order as the inputs.
+     *
+     * @param parallelism the maximum amount of threads to use
+     * @param inputs      the inputs
+     * @param function    the function to apply to each input
+     * @param <T>         the type of the inputs
+     * @param <R>         the type of the results
+     * @return the list of results, in the order of the inputs
+     * @throws IOException if the function throws an exception for any of the inputs
+     */
+    public static <T, R> List<R> map(int parallelism, List<? extends T> inputs, IOFunction<? super T, ? extends R> function)
+            throws IOException {
+        final int threads = Math.min(parallelism, inputs.size());
+        if (threads <= 1) {
+            final List<R> results = new ArrayList<>(inputs.size());
+            for (T input : inputs) {
+                results.add(function.apply(input));
+            }
+            return results;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, new DaemonThreadFactory());
+        try {
+            final List<Future<? extends R>> futures = new ArrayList<>(inputs.size());
+            for (T input : inputs) {
+                futures.add(executor.submit(() -> function.apply(input)));
+            }
+
+            final List<R> results = new ArrayList<>(inputs.size());
+            for (Future<? extends R> future : futures) {
+                results.add(await(future));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the given action for each input.
+     *
+     * @param parallelism the maximum amount of threads to use
+     * @param inputs      the inputs
+     * @param action      the action to run for each input
+     * @param <T>         the type of the inputs
+     * @throws IOException if the action throws an exception for any of the inputs
+     */
+    public static <T> void forEach(int parallelism, List<? extends T> inputs, IOConsumer<? super T> action) throws IOException {
+        map(parallelism, inputs, input -> {
+            action.accept(input);
+            return null;
+        });
+    }
+
+    /**
+     * Splits the given list into at most the given amount of contiguous partitions of roughly equal size. The
+     * partitions are in the same order as the original list.
+     *
+     * @param list       the list to split
+     * @param partitions the maximum amount of partitions
+     * @param <T>        the type of the list elements
+     * @return the list of partitions
+     */
+    public static <T> List<List<T>> partition(List<T> list, int partitions) {
+        if (list.isEmpty()) return new ArrayList<>();
+        final int count = Math.max(1, Math.min(partitions, list.size()));
+        final List<List<T>> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(list.subList(i * list.size() / count, (i + 1) * list.size() / count));
+        }
+        return result;
+    }
+
+    private static <R> R await(Future<? extends R> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final InterruptedIOException ex = new InterruptedIOException("Interrupted while waiting for I/O tasks");
+            ex.initCause(e);
+            throw ex;
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * A function which may throw an {@link IOException}.
+     *
+     * @param <T> the type of the input
+     * @param <R> the type of the result
+     */
+    @FunctionalInterface
+    public interface IOFunction<T, R> {
+        R apply(T input) throws IOException;
+    }
+
+    /**
+     * A consumer which may throw an {@link IOException}.
+     *
+     * @param <T> the type of the input
+     */
+    @FunctionalInterface
+    public interface IOConsumer<T> {
+        void accept(T input) throws IOException;
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final int pool = POOL_COUNTER.incrementAndGet();
+        private final AtomicInteger threadCounter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "compass-io-" + pool + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.parchmentmc.compass.util;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A pool of the names and descriptors of mapping data, shared by the mapping data readers.
+ *
+ * <p>The same class names and descriptors occur many times over in mapping data (as an example, a descriptor such as
+ * {@code (Lnet/minecraft/world/level/Level;)V} is repeated across hundreds of methods). Interning them while reading
+ * lets every occurrence share a single instance. The pool only holds weak references to the strings, so strings which
+ * are no longer used by any loaded data can still be garbage collected.</p>
+ *
+ * <p>Strings are interned by the readers as they are parsed, so that the parsed data is never copied only to intern
+ * it.</p>
+ *
+ * <p>Javadocs are not interned, as they are rarely duplicated.</p>
+ */
+public final class StringPool {
+    private static final Interner<String> INTERNER = Interners.newWeakInterner();
+
+    private StringPool() {
+    } // No instantiation of utilities
+
+    /**
+     * Returns the pooled instance of the given string.
+     *
+     * @param string the string, may be {@code null}
+     * @return the pooled instance equal to the string, or {@code null} if the string is {@code null}
+     */
+    public static String intern(@Nullable String string) {
+        return string != null ? INTERNER.intern(string) : null;
+    }
+}
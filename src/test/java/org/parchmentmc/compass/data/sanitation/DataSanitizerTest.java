@@ -0,0 +1,109 @@
+package org.parchmentmc.compass.data.sanitation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.parchmentmc.compass.data.sanitation.impl.BouncerDataMover;
+import org.parchmentmc.compass.data.sanitation.impl.DescriptorParametersSanitizer;
+import org.parchmentmc.compass.data.sanitation.impl.EnumValueOfRemover;
+import org.parchmentmc.compass.data.sanitation.impl.NonexistentMemberRemover;
+import org.parchmentmc.compass.data.sanitation.impl.SyntheticsRemover;
+import org.parchmentmc.compass.data.visitation.DataVisitor.DataType;
+import org.parchmentmc.compass.data.visitation.EditJournal;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.MappingDataBuilder.MutableClassData;
+import org.parchmentmc.feather.mapping.MappingDataBuilder.MutableMethodData;
+import org.parchmentmc.feather.mapping.MappingDataContainer;
+import org.parchmentmc.feather.metadata.ClassMetadataBuilder;
+import org.parchmentmc.feather.metadata.MethodMetadataBuilder;
+import org.parchmentmc.feather.metadata.SourceMetadata;
+import org.parchmentmc.feather.metadata.SourceMetadataBuilder;
+import org.parchmentmc.feather.named.NamedBuilder;
+import org.parchmentmc.feather.util.Constants.Names;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DataSanitizerTest {
+    private static final String CLASS_NAME = "org/example/Test";
+    private static final String METHOD_NAME = "run";
+    private static final String METHOD_DESC = "(IJ)V";
+
+    private static final SourceMetadata METADATA = SourceMetadataBuilder.create()
+            .addClass(ClassMetadataBuilder.create()
+                    .withName(NamedBuilder.create(Names.MOJANG, CLASS_NAME))
+                    .addMethod(MethodMetadataBuilder.create()
+                            .withName(NamedBuilder.create(Names.MOJANG, METHOD_NAME))
+                            .withDescriptor(NamedBuilder.create(Names.MOJANG, METHOD_DESC))
+                    )
+            );
+
+    private static DataSanitizer createSanitizer(boolean fuse) {
+        final DataSanitizer sanitizer = new DataSanitizer(5, fuse);
+        sanitizer.addSanitizer(new NonexistentMemberRemover());
+        sanitizer.addSanitizer(new BouncerDataMover());
+        sanitizer.addSanitizer(new EnumValueOfRemover());
+        sanitizer.addSanitizer(new SyntheticsRemover());
+        sanitizer.addSanitizer(new DescriptorParametersSanitizer());
+        return sanitizer;
+    }
+
+    @Test
+    @DisplayName("Consecutive order-independent sanitizers share an execution group")
+    public void order_independent_sanitizers_are_grouped() {
+        final List<List<String>> groups = createSanitizer(true).getExecutionGroups().stream()
+                .map(group -> group.stream().map(Sanitizer::getName).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(
+                Arrays.asList("non-existing members"),
+                Arrays.asList("bouncer data mover"),
+                Arrays.asList("enum valueOf remover", "synthetics", "descriptor parameter indexes")
+        ), groups);
+        assertEquals(5, createSanitizer(false).getExecutionGroups().size());
+    }
+
+    @Test
+    @DisplayName("Fused sanitizers give the same result as sanitizers run one after another")
+    public void fused_sanitizers_match_separate_runs() {
+        final MappingDataBuilder data = new MappingDataBuilder();
+        final MutableClassData cls = data.createClass(CLASS_NAME).addJavadoc("The class");
+        cls.createField("missing", "I").addJavadoc("Not in the metadata");
+        cls.createMethod("absent", "()V").addJavadoc("Not in the metadata either");
+        final MutableMethodData method = cls.createMethod(METHOD_NAME, METHOD_DESC).addJavadoc("Runs");
+        method.createParameter((byte) 1).setName("first");
+        method.createParameter((byte) 9).setName("outOfRange");
+        data.createClass("org/example/Missing").addJavadoc("Not in the metadata");
+
+        assertEquals(createSanitizer(false).sanitize(data, METADATA), createSanitizer(true).sanitize(data, METADATA));
+    }
+
+    @Test
+    @DisplayName("The edit journal records the changes made by the sanitizers")
+    public void journal_records_changes() {
+        final MappingDataBuilder data = new MappingDataBuilder();
+        final MutableClassData cls = data.createClass(CLASS_NAME).addJavadoc("The class");
+        cls.createField("missing", "I").addJavadoc("Not in the metadata");
+        cls.createMethod(METHOD_NAME, METHOD_DESC).addJavadoc("Runs")
+                .createParameter((byte) 9).setName("outOfRange");
+
+        final EditJournal journal = new EditJournal();
+        final MappingDataContainer recorded = createSanitizer(true).sanitize(data, METADATA, journal);
+        // Recording is opt-in, and does not change the result
+        assertEquals(createSanitizer(true).sanitize(data, METADATA), recorded);
+
+        final List<String> edits = new ArrayList<>();
+        for (int i = 0; i < journal.size(); i++) {
+            edits.add(journal.describe(i));
+        }
+        assertEquals(Arrays.asList(
+                "REMOVE field org/example/Test#missing",
+                "REMOVE parameter 9 of org/example/Test#run(IJ)V"
+        ), edits);
+        assertEquals(2, journal.count(EditJournal.Kind.REMOVE));
+        assertEquals(1, journal.count(DataType.PARAMETERS, EditJournal.Kind.REMOVE));
+    }
+}
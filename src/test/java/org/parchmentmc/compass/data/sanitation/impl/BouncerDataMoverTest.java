@@ -1,5 +1,6 @@
 package org.parchmentmc.compass.data.sanitation.impl;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.parchmentmc.compass.data.sanitation.DataSanitizer;
@@ -9,7 +10,9 @@ import org.parchmentmc.feather.mapping.MappingDataBuilder.MutableMethodData;
 import org.parchmentmc.feather.mapping.MappingDataContainer;
 import org.parchmentmc.feather.metadata.BouncingTargetMetadata;
 import org.parchmentmc.feather.metadata.BouncingTargetMetadataBuilder;
+import org.parchmentmc.feather.metadata.ClassMetadata;
 import org.parchmentmc.feather.metadata.ClassMetadataBuilder;
+import org.parchmentmc.feather.metadata.MethodMetadata;
 import org.parchmentmc.feather.metadata.MethodMetadataBuilder;
 import org.parchmentmc.feather.metadata.ReferenceBuilder;
 import org.parchmentmc.feather.metadata.SourceMetadata;
@@ -18,6 +21,10 @@ import org.parchmentmc.feather.named.Named;
 import org.parchmentmc.feather.named.NamedBuilder;
 import org.parchmentmc.feather.util.Constants.Names;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -151,4 +158,37 @@ public class BouncerDataMoverTest {
         assertEquals(target.getJavadoc(), targetResult.getJavadoc(), "Javadoc of original and result target do not match");
         assertEquals(target.getParameters(), targetResult.getParameters(), "Parameters of original and result target do not match");
     }
+
+    @Test
+    @DisplayName("revisits only the classes with bouncers or their targets")
+    public void testRevisitsBouncerClassesOnly() {
+        final MappingDataBuilder original = new MappingDataBuilder();
+        final MutableClassData originalClass = original.createClass(CLASS_NAME);
+        originalClass.createMethod(BOUNCER_NAME, BOUNCER_DESC).addJavadoc("Boopity boopity boop!");
+        original.createClass("org/example/Other").createMethod("other", "()V").addJavadoc("Unrelated");
+
+        final List<String> visitedClasses = new ArrayList<>();
+        final DataSanitizer sanitizer = new DataSanitizer();
+        sanitizer.addSanitizer(new BouncerDataMover() {
+            @Override
+            public Action<MappingDataContainer.MethodData> modifyMethod(MappingDataContainer.ClassData classData,
+                                                                        MappingDataContainer.MethodData methodData,
+                                                                        @Nullable ClassMetadata classMetadata,
+                                                                        @Nullable MethodMetadata methodMetadata) {
+                visitedClasses.add(classData.getName());
+                return super.modifyMethod(classData, methodData, classMetadata, methodMetadata);
+            }
+        });
+        final MappingDataContainer result = sanitizer.sanitize(original, METADATA);
+
+        // The first pass visits both classes, and the later two passes only the class with the bouncer
+        assertEquals(1, Collections.frequency(visitedClasses, "org/example/Other"), "Unrelated class was revisited");
+        assertEquals(3, Collections.frequency(visitedClasses, CLASS_NAME), "Bouncer class was not revisited");
+
+        final MappingDataContainer.ClassData classData = result.getClass(CLASS_NAME);
+        assertNotNull(classData, "Class could not be found");
+        assertNull(classData.getMethod(BOUNCER_NAME, BOUNCER_DESC), "Bouncer still exists");
+        assertNotNull(classData.getMethod(TARGET_NAME, TARGET_DESC), "Target method does not exist");
+        assertNotNull(result.getClass("org/example/Other"), "Unrelated class could not be found");
+    }
 }
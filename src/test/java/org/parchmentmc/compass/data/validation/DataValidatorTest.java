@@ -0,0 +1,111 @@
+package org.parchmentmc.compass.data.validation;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.parchmentmc.compass.data.visitation.ConcurrentDataVisitor;
+import org.parchmentmc.compass.util.ResultContainer;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.MappingDataContainer;
+import org.parchmentmc.feather.metadata.ClassMetadata;
+import org.parchmentmc.feather.metadata.MethodMetadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.parchmentmc.feather.mapping.MappingDataContainer.ClassData;
+import static org.parchmentmc.feather.mapping.MappingDataContainer.MethodData;
+
+public class DataValidatorTest {
+    private static final int CLASS_COUNT = 300;
+
+    @Test
+    @DisplayName("Issues found while validating classes concurrently are reported for their own class, in order")
+    public void concurrent_validation_reports_issues_in_order() {
+        final MappingDataContainer data = createData();
+        final DataValidator validator = new DataValidator();
+        validator.addValidator(new NamingValidator());
+
+        assertResults(data, validator.validate(data, null));
+    }
+
+    @Test
+    @DisplayName("Classes are validated on the calling thread if any validator is not concurrent")
+    public void non_concurrent_validator_validates_on_calling_thread() {
+        final MappingDataContainer data = createData();
+        final NamingValidator namingValidator = new NamingValidator();
+        final DataValidator validator = new DataValidator();
+        validator.addValidator(namingValidator);
+        validator.addValidator(new Validator("sequential") {
+        });
+
+        assertResults(data, validator.validate(data, null));
+        assertEquals(Collections.singleton(Thread.currentThread()), namingValidator.classThreads);
+    }
+
+    private static MappingDataContainer createData() {
+        final MappingDataBuilder data = new MappingDataBuilder();
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            final MappingDataBuilder.MutableClassData classData = data.createClass("com/example/Class" + i);
+            classData.createMethod("method" + i, "()V");
+            classData.createMethod("other" + i, "()V");
+        }
+        return data;
+    }
+
+    private static void assertResults(MappingDataContainer data,
+                                      ResultContainer<List<? extends ValidationIssue>> results) {
+        final List<String> expectedClasses = new ArrayList<>();
+        data.getClasses().forEach(classData -> expectedClasses.add(classData.getName()));
+        final List<String> actualClasses = new ArrayList<>();
+        results.getClasses().forEach(classResult -> actualClasses.add(classResult.getName()));
+        assertEquals(expectedClasses, actualClasses);
+
+        for (ResultContainer.ClassResult<List<? extends ValidationIssue>> classResult : results.getClasses()) {
+            assertEquals(Collections.singletonList(classResult.getName()), messages(classResult.getData()));
+            assertEquals(2, classResult.getMethods().size());
+            for (ResultContainer.MethodResult<List<? extends ValidationIssue>> methodResult : classResult.getMethods()) {
+                assertEquals(Collections.singletonList(classResult.getName() + "." + methodResult.getName()),
+                        messages(methodResult.getData()));
+            }
+        }
+    }
+
+    private static List<String> messages(List<? extends ValidationIssue> issues) {
+        final List<String> messages = new ArrayList<>();
+        issues.forEach(issue -> messages.add(issue.getMessage()));
+        return messages;
+    }
+
+    // Reports an issue for every class and method, naming the element it was reported for
+    private static class NamingValidator extends Validator implements ConcurrentDataVisitor {
+        final Set<Thread> classThreads = ConcurrentHashMap.newKeySet();
+
+        NamingValidator() {
+            super("naming");
+        }
+
+        @Override
+        public boolean preVisit(DataType type) {
+            return DataType.CLASSES.test(type) || DataType.METHODS.test(type);
+        }
+
+        @Override
+        public boolean visitClass(ClassData classData, @Nullable ClassMetadata classMetadata) {
+            classThreads.add(Thread.currentThread());
+            error(classData.getName());
+            return true;
+        }
+
+        @Override
+        public boolean visitMethod(ClassData classData, MethodData methodData,
+                                   @Nullable ClassMetadata classMetadata, @Nullable MethodMetadata methodMetadata) {
+            warning(classData.getName() + "." + methodData.getName());
+            return false;
+        }
+    }
+}
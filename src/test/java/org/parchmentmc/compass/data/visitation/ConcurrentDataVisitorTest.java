@@ -0,0 +1,202 @@
+package org.parchmentmc.compass.data.visitation;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.parchmentmc.compass.data.visitation.DataVisitor.DataType;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.MappingDataContainer;
+import org.parchmentmc.feather.metadata.ClassMetadata;
+import org.parchmentmc.feather.metadata.FieldMetadata;
+import org.parchmentmc.feather.metadata.MethodMetadata;
+import org.parchmentmc.feather.metadata.SourceMetadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.parchmentmc.feather.mapping.MappingDataContainer.ClassData;
+import static org.parchmentmc.feather.mapping.MappingDataContainer.FieldData;
+import static org.parchmentmc.feather.mapping.MappingDataContainer.MethodData;
+import static org.parchmentmc.feather.mapping.MappingDataContainer.PackageData;
+import static org.parchmentmc.feather.mapping.MappingDataContainer.ParameterData;
+
+public class ConcurrentDataVisitorTest {
+    private static final int CLASS_COUNT = 300;
+
+    @Test
+    @DisplayName("Every element is visited exactly once, between visiting the classes, in the order of each class")
+    public void concurrent_visitation_visits_everything_once_in_order() {
+        final MappingDataContainer data = createData(CLASS_COUNT);
+        final RecordingVisitor visitor = new RecordingVisitor(256);
+
+        DataVisitor.visit(0, visitor, data, null);
+
+        assertTrue(visitor.violations.isEmpty(), () -> "Visitation order violated: " + visitor.violations);
+        assertEquals(expectedEvents(data), visitor.events);
+        assertEquals(CLASS_COUNT, visitor.events.size());
+    }
+
+    @Test
+    @DisplayName("Containers with fewer classes than the threshold are visited on the calling thread")
+    public void below_threshold_is_visited_on_calling_thread() {
+        final MappingDataContainer data = createData(CLASS_COUNT);
+        final RecordingVisitor visitor = new RecordingVisitor(CLASS_COUNT + 1);
+
+        DataVisitor.visit(0, visitor, data, null);
+
+        assertTrue(visitor.violations.isEmpty(), () -> "Visitation order violated: " + visitor.violations);
+        assertEquals(expectedEvents(data), visitor.events);
+        assertEquals(Collections.singleton(Thread.currentThread()), visitor.classThreads);
+    }
+
+    private static MappingDataContainer createData(int classCount) {
+        final MappingDataBuilder builder = new MappingDataBuilder();
+        builder.createPackage("a").addJavadoc("The package");
+        for (int i = 0; i < classCount; i++) {
+            final MappingDataBuilder.MutableClassData cls = builder.createClass("a/C" + i);
+            cls.createField("first", "I");
+            cls.createField("second", "J");
+            cls.createMethod("run", "(IJ)V").createParameter((byte) 1).setName("count");
+            cls.getMethod("run", "(IJ)V").createParameter((byte) 2).setName("time");
+            cls.createMethod("stop", "()V");
+        }
+        return builder;
+    }
+
+    // The events of each class, in the order they are made for any visitor
+    private static Map<String, List<String>> expectedEvents(MappingDataContainer data) {
+        final Map<String, List<String>> expected = new HashMap<>();
+        for (ClassData cls : data.getClasses()) {
+            final List<String> events = new ArrayList<>();
+            events.add("class " + cls.getName());
+            events.add("pre FIELDS");
+            for (FieldData field : cls.getFields()) {
+                events.add("field " + field.getName());
+            }
+            events.add("post FIELDS");
+            events.add("pre METHODS");
+            for (MethodData method : cls.getMethods()) {
+                events.add("method " + method.getName() + method.getDescriptor());
+                events.add("pre PARAMETERS");
+                for (ParameterData param : method.getParameters()) {
+                    events.add("parameter " + param.getIndex());
+                }
+                events.add("post PARAMETERS");
+            }
+            events.add("post METHODS");
+            expected.put(cls.getName(), events);
+        }
+        return expected;
+    }
+
+    private static class RecordingVisitor implements ConcurrentDataVisitor {
+        private final int threshold;
+        private final Thread callingThread = Thread.currentThread();
+        private final ThreadLocal<List<String>> currentClass = new ThreadLocal<>();
+        final Map<String, List<String>> events = new ConcurrentHashMap<>();
+        final Set<Thread> classThreads = ConcurrentHashMap.newKeySet();
+        final Queue<String> violations = new ConcurrentLinkedQueue<>();
+        private volatile boolean visitingClasses = false;
+        private volatile boolean visitedClasses = false;
+
+        RecordingVisitor(int threshold) {
+            this.threshold = threshold;
+        }
+
+        @Override
+        public int getConcurrencyThreshold() {
+            return threshold;
+        }
+
+        @Override
+        public boolean preVisit(DataType type) {
+            if (type == DataType.PACKAGES || type == DataType.CLASSES) {
+                checkCallingThread("preVisit " + type);
+                if (type == DataType.CLASSES) visitingClasses = true;
+            } else {
+                record("pre " + type);
+            }
+            return true;
+        }
+
+        @Override
+        public void visitPackage(PackageData data) {
+            checkCallingThread("package " + data.getName());
+        }
+
+        @Override
+        public boolean visitClass(ClassData classData, @Nullable ClassMetadata classMetadata) {
+            classThreads.add(Thread.currentThread());
+            final List<String> classEvents = new ArrayList<>();
+            if (events.putIfAbsent(classData.getName(), classEvents) != null) {
+                violations.add("class " + classData.getName() + " visited more than once");
+            }
+            currentClass.set(classEvents);
+            record("class " + classData.getName());
+            return true;
+        }
+
+        @Override
+        public void visitField(ClassData classData, FieldData fieldData, @Nullable ClassMetadata classMetadata,
+                               @Nullable FieldMetadata fieldMetadata) {
+            record("field " + fieldData.getName());
+        }
+
+        @Override
+        public boolean visitMethod(ClassData classData, MethodData methodData, @Nullable ClassMetadata classMetadata,
+                                   @Nullable MethodMetadata methodMetadata) {
+            record("method " + methodData.getName() + methodData.getDescriptor());
+            return true;
+        }
+
+        @Override
+        public void visitParameter(ClassData classData, MethodData methodData, ParameterData paramData,
+                                   @Nullable ClassMetadata classMetadata, @Nullable MethodMetadata methodMetadata) {
+            record("parameter " + paramData.getIndex());
+        }
+
+        @Override
+        public void postVisit(DataType type) {
+            if (type == DataType.PACKAGES || type == DataType.CLASSES) {
+                checkCallingThread("postVisit " + type);
+                if (type == DataType.CLASSES) visitedClasses = true;
+            } else {
+                record("post " + type);
+            }
+        }
+
+        @Override
+        public boolean visit(MappingDataContainer container, @Nullable SourceMetadata metadata) {
+            checkCallingThread("visit");
+            return true;
+        }
+
+        private void record(String event) {
+            if (!visitingClasses || visitedClasses) {
+                violations.add(event + " outside of preVisit(CLASSES) and postVisit(CLASSES)");
+            }
+            // All calls for a class are made from the thread which visited the class
+            final List<String> classEvents = currentClass.get();
+            if (classEvents == null) {
+                violations.add(event + " before any class on " + Thread.currentThread().getName());
+            } else {
+                classEvents.add(event);
+            }
+        }
+
+        private void checkCallingThread(String event) {
+            if (Thread.currentThread() != callingThread) {
+                violations.add(event + " made from " + Thread.currentThread().getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.parchmentmc.compass.storage.cache;
+
+import net.minecraftforge.srgutils.IMappingFile;
+import org.gradle.api.logging.Logging;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parchmentmc.compass.providers.IntermediateProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChainedMappingCacheTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("A cached chain is reused without loading either intermediate")
+    public void cache_hit_skips_chaining() throws IOException {
+        final FileProvider from = provider("from", "a from/A");
+        final FileProvider to = provider("to", "a to/A");
+
+        final IMappingFile first = cache(16).reverseChain(from, to);
+        assertEquals("to/A", first.remapClass("from/A"));
+        assertEquals(1, from.loads);
+        assertEquals(1, to.loads);
+
+        // A new cache over the same directory, as in a later build
+        final IMappingFile second = cache(16).reverseChain(from, to);
+        assertEquals("to/A", second.remapClass("from/A"));
+        assertEquals(1, from.loads);
+        assertEquals(1, to.loads);
+    }
+
+    @Test
+    @DisplayName("Changing a source file of either intermediate causes a cache miss")
+    public void changed_source_file_causes_miss() throws IOException {
+        final FileProvider from = provider("from", "a from/A");
+        final FileProvider to = provider("to", "a to/A");
+        final ChainedMappingCache cache = cache(16);
+
+        cache.reverseChain(from, to);
+
+        writeMapping(to.file, "a to/Changed");
+        final IMappingFile changed = cache.reverseChain(from, to);
+        assertEquals("to/Changed", changed.remapClass("from/A"));
+        assertEquals(2, from.loads);
+        assertEquals(2, to.loads);
+
+        writeMapping(from.file, "a from/Changed");
+        final IMappingFile changedAgain = cache.reverseChain(from, to);
+        assertEquals("to/Changed", changedAgain.remapClass("from/Changed"));
+        assertEquals(3, from.loads);
+        assertEquals(3, to.loads);
+    }
+
+    @Test
+    @DisplayName("The least recently used entries are evicted when the maximum amount of entries is exceeded")
+    public void least_recently_used_entry_is_evicted() throws IOException {
+        final FileProvider to = provider("to", "a to/A");
+        final FileProvider first = provider("first", "a first/A");
+        final FileProvider second = provider("second", "a second/A");
+        final FileProvider third = provider("third", "a third/A");
+        final ChainedMappingCache cache = cache(2);
+
+        cache.reverseChain(first, to);
+        final Path firstEntry = single(entries());
+        cache.reverseChain(second, to);
+        final List<Path> entries = entries();
+        entries.remove(firstEntry);
+        final Path secondEntry = single(entries);
+
+        // Make the order of use unambiguous, regardless of the resolution of file times
+        Files.setLastModifiedTime(firstEntry, FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(secondEntry, FileTime.fromMillis(2000));
+
+        cache.reverseChain(third, to);
+        assertEquals(2, entries().size());
+        assertFalse(Files.exists(firstEntry));
+        assertTrue(Files.exists(secondEntry));
+
+        // The kept chain is still cached, while the evicted one is computed again
+        cache.reverseChain(second, to);
+        assertEquals(1, second.loads);
+        cache.reverseChain(first, to);
+        assertEquals(2, first.loads);
+    }
+
+    @Test
+    @DisplayName("Chains involving an intermediate without known source files are not cached")
+    public void unknown_sources_are_not_cached() throws IOException {
+        final FileProvider from = provider("from", "a from/A");
+        final IntermediateProvider unknown = new FileProvider("unknown", from.file) {
+            @Override
+            public Collection<File> getSourceFiles() {
+                return Collections.emptyList();
+            }
+        };
+
+        cache(16).reverseChain(from, unknown);
+        cache(16).reverseChain(from, unknown);
+
+        assertEquals(2, from.loads);
+        assertTrue(entries().isEmpty());
+    }
+
+    private ChainedMappingCache cache(int maxEntries) {
+        return new ChainedMappingCache(directory.resolve("cache"), maxEntries, Logging.getLogger(ChainedMappingCacheTest.class));
+    }
+
+    private FileProvider provider(String name, String classMapping) throws IOException {
+        final Path file = directory.resolve(name + ".tsrg");
+        writeMapping(file, classMapping);
+        return new FileProvider(name, file);
+    }
+
+    private static void writeMapping(Path file, String classMapping) throws IOException {
+        Files.write(file, ("tsrg2 left right\n" + classMapping + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Path> entries() throws IOException {
+        final Path cacheDirectory = directory.resolve("cache");
+        if (!Files.isDirectory(cacheDirectory)) return Collections.emptyList();
+        try (Stream<Path> stream = Files.list(cacheDirectory)) {
+            return stream.filter(p -> p.getFileName().toString().endsWith(".tsrg")).collect(Collectors.toList());
+        }
+    }
+
+    private static Path single(List<Path> paths) {
+        assertEquals(1, paths.size(), () -> "Expected a single entry, got " + paths);
+        return paths.get(0);
+    }
+
+    private static class FileProvider extends IntermediateProvider {
+        final Path file;
+        int loads = 0;
+
+        FileProvider(String name, Path file) {
+            super(name);
+            this.file = file;
+        }
+
+        @Override
+        public IMappingFile getMapping() throws IOException {
+            loads++;
+            return IMappingFile.load(file.toFile());
+        }
+
+        @Override
+        public Collection<File> getSourceFiles() {
+            return Collections.singletonList(file.toFile());
+        }
+    }
+}
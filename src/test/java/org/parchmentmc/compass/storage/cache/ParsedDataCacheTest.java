@@ -0,0 +1,169 @@
+package org.parchmentmc.compass.storage.cache;
+
+import org.gradle.api.logging.Logging;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parchmentmc.compass.storage.io.MappingIOFormat;
+import org.parchmentmc.compass.storage.io.binary.BinaryDataIO;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParsedDataCacheTest {
+    private static final MappingIOFormat FORMAT = MappingIOFormat.MDC_SINGLE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("A cached entry is read instead of parsing the unchanged input again")
+    public void cache_hit_reads_entry() throws IOException {
+        final Path input = writeInput("input.json", "a/A");
+        assertNotNull(cache(Long.MAX_VALUE).read(FORMAT, input).getClass("a/A"));
+        final Path entry = single(entries());
+
+        // Replace the entry with different data, which is only returned if the entry is used
+        BinaryDataIO.INSTANCE.write(data("a/Cached"), entry);
+
+        // A new cache over the same directory, as in a later build
+        final VersionedMappingDataContainer read = cache(Long.MAX_VALUE).read(FORMAT, input);
+        assertNotNull(read.getClass("a/Cached"));
+        assertNull(read.getClass("a/A"));
+    }
+
+    @Test
+    @DisplayName("Changing the input causes a cache miss")
+    public void changed_input_causes_miss() throws IOException {
+        final ParsedDataCache cache = cache(Long.MAX_VALUE);
+        final Path input = writeInput("input.json", "a/A");
+        cache.read(FORMAT, input);
+
+        writeInput("input.json", "a/Changed");
+        final VersionedMappingDataContainer read = cache.read(FORMAT, input);
+        assertNotNull(read.getClass("a/Changed"));
+        assertNull(read.getClass("a/A"));
+        assertEquals(2, entries().size());
+    }
+
+    @Test
+    @DisplayName("The key depends on the contents and relative paths of the input files and the format")
+    public void key_covers_contents_paths_and_format() throws IOException {
+        final Path first = directory.resolve("first");
+        final Path second = directory.resolve("second");
+        write(first.resolve("a.txt"), "contents");
+        write(second.resolve("a.txt"), "contents");
+        final String key = ParsedDataCache.computeKey(FORMAT, first);
+
+        // The location of the input itself does not matter
+        assertEquals(key, ParsedDataCache.computeKey(FORMAT, second));
+        assertNotEquals(key, ParsedDataCache.computeKey(MappingIOFormat.MDC_EXPLODED, first));
+
+        write(second.resolve("a.txt"), "changed");
+        assertNotEquals(key, ParsedDataCache.computeKey(FORMAT, second));
+
+        Files.delete(second.resolve("a.txt"));
+        write(second.resolve("b.txt"), "contents");
+        assertNotEquals(key, ParsedDataCache.computeKey(FORMAT, second));
+
+        // The boundary between a file's path and its contents is kept
+        Files.delete(second.resolve("b.txt"));
+        write(second.resolve("a.txtc"), "ontents");
+        assertNotEquals(key, ParsedDataCache.computeKey(FORMAT, second));
+    }
+
+    @Test
+    @DisplayName("The least recently used entries are evicted when the maximum size is exceeded")
+    public void least_recently_used_entry_is_evicted() throws IOException {
+        // Class names of equal lengths, so every entry has the same size
+        final Path first = writeInput("first.json", "a/A");
+        final Path second = writeInput("second.json", "a/B");
+        final Path third = writeInput("third.json", "a/C");
+
+        cache(Long.MAX_VALUE).read(FORMAT, first);
+        final Path firstEntry = single(entries());
+        cache(Long.MAX_VALUE).read(FORMAT, second);
+        final List<Path> entries = entries();
+        entries.remove(firstEntry);
+        final Path secondEntry = single(entries);
+
+        // Make the order of use unambiguous, regardless of the resolution of file times
+        Files.setLastModifiedTime(firstEntry, FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(secondEntry, FileTime.fromMillis(2000));
+
+        // Room for only two entries
+        final ParsedDataCache cache = cache(Files.size(firstEntry) + Files.size(secondEntry));
+        cache.read(FORMAT, third);
+        assertEquals(2, entries().size());
+        assertFalse(Files.exists(firstEntry));
+        assertTrue(Files.exists(secondEntry));
+
+        // Using an entry marks it as recently used
+        cache.read(FORMAT, second);
+        assertTrue(Files.getLastModifiedTime(secondEntry).toMillis() > 2000);
+    }
+
+    @Test
+    @DisplayName("Unreadable entries are discarded and the input is parsed again")
+    public void unreadable_entry_is_discarded() throws IOException {
+        final Path input = writeInput("input.json", "a/A");
+        cache(Long.MAX_VALUE).read(FORMAT, input);
+        final Path entry = single(entries());
+        write(entry, "not binary mapping data");
+
+        assertNotNull(cache(Long.MAX_VALUE).read(FORMAT, input).getClass("a/A"));
+        assertEquals(Collections.singletonList(entry), entries());
+        assertNotNull(BinaryDataIO.INSTANCE.read(entry).getClass("a/A"));
+    }
+
+    private ParsedDataCache cache(long maxSize) {
+        return new ParsedDataCache(directory.resolve("cache"), maxSize, Logging.getLogger(ParsedDataCacheTest.class));
+    }
+
+    private static VersionedMappingDataContainer data(String className) {
+        final MappingDataBuilder data = new MappingDataBuilder();
+        data.createClass(className).addJavadoc("A class");
+        return new VersionedMDCDelegate<>(VersionedMappingDataContainer.CURRENT_FORMAT, data);
+    }
+
+    private Path writeInput(String name, String className) throws IOException {
+        final Path input = directory.resolve(name);
+        FORMAT.write(data(className), input);
+        return input;
+    }
+
+    private static void write(Path file, String contents) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Path> entries() throws IOException {
+        final Path cacheDirectory = directory.resolve("cache");
+        if (!Files.isDirectory(cacheDirectory)) return Collections.emptyList();
+        try (Stream<Path> stream = Files.list(cacheDirectory)) {
+            return stream.filter(p -> p.getFileName().toString().endsWith(".bin")).collect(Collectors.toList());
+        }
+    }
+
+    private static Path single(List<Path> paths) {
+        assertEquals(1, paths.size(), () -> "Expected a single entry, got " + paths);
+        return paths.get(0);
+    }
+}
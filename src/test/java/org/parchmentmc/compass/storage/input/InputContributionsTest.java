@@ -0,0 +1,61 @@
+package org.parchmentmc.compass.storage.input;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parchmentmc.compass.storage.io.binary.LazyBinaryDataContainer;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InputContributionsTest {
+    @Test
+    @DisplayName("Inputs are ordered by directory, then by file name")
+    public void inputs_are_ordered_by_directory_then_file() {
+        List<String> inputs = new ArrayList<>(Arrays.asList("srg/b.txt", "srg-old/z.txt", "srg/a.txt", "official/c.json"));
+        inputs.sort(InputContributions.INPUT_ORDER);
+
+        assertEquals(Arrays.asList("official/c.json", "srg/a.txt", "srg/b.txt", "srg-old/z.txt"), inputs);
+    }
+
+    @Test
+    @DisplayName("Saved contributions are loaded with their data")
+    public void saved_contributions_are_loaded(@TempDir Path directory) throws IOException {
+        MappingDataBuilder data = new MappingDataBuilder();
+        data.createClass("com/example/Thing").addJavadoc("The class");
+        data.createClass("com/example/Other").createField("count", "I").addJavadoc("The count");
+
+        InputContributions contributions = new InputContributions(directory);
+        assertFalse(contributions.load());
+        contributions.put("srg/thing.txt", data);
+        contributions.put("srg/empty.txt", new MappingDataBuilder());
+        contributions.save();
+
+        InputContributions loaded = new InputContributions(directory);
+        assertTrue(loaded.load());
+        assertEquals(Arrays.asList("srg/empty.txt", "srg/thing.txt"), new ArrayList<>(loaded.getInputs()));
+        assertEquals(Collections.emptySet(), loaded.getClasses("srg/empty.txt"));
+        assertEquals(new TreeSet<>(Arrays.asList("com/example/Other", "com/example/Thing")),
+                loaded.getClasses("srg/thing.txt"));
+
+        final LazyBinaryDataContainer stored = loaded.open("srg/thing.txt");
+        assertNotNull(stored.getClass("com/example/Thing"));
+        assertEquals(Collections.singletonList("The class"), stored.getClass("com/example/Thing").getJavadoc());
+
+        loaded.remove("srg/thing.txt");
+        loaded.save();
+        assertTrue(contributions.load());
+        assertEquals(Collections.singleton("srg/empty.txt"), contributions.getInputs());
+    }
+}
@@ -0,0 +1,73 @@
+package org.parchmentmc.compass.storage.input;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SimpleInputFileReaderTest {
+    private static final String INPUT = "package com/example # A comment\n" +
+            "The package\n" +
+            "class com/example/Thing\n" +
+            "  The class  \n" +
+            "# Only a comment\n" +
+            "field count I\n" +
+            "method run (IJ)V\n" +
+            "Runs the thing\n" +
+            "param 1 amount\n" +
+            "The amount\n" +
+            "param 3\n" +
+            "classic documentation line\n";
+
+    @Test
+    @DisplayName("Streamed parsing matches parsing of lines")
+    public void streamed_parsing_matches_lines() throws IOException {
+        MappingDataBuilder expected = new MappingDataBuilder();
+        expected.createPackage("com/example").addJavadoc("The package");
+        MappingDataBuilder.MutableClassData cls = expected.createClass("com/example/Thing").addJavadoc("The class");
+        cls.createField("count", "I");
+        MappingDataBuilder.MutableMethodData method = cls.createMethod("run", "(IJ)V").addJavadoc("Runs the thing");
+        method.createParameter((byte) 1).setName("amount").addJavadoc("The amount");
+        method.createParameter((byte) 3).addJavadoc("classic documentation line");
+
+        MappingDataBuilder fromLines = new MappingDataBuilder();
+        SimpleInputFileReader.parseLines(fromLines, Arrays.asList(INPUT.split("\n")));
+        MappingDataBuilder streamed = new MappingDataBuilder();
+        SimpleInputFileReader.parse(streamed, new StringReader(INPUT.replace("\n", "\r\n")));
+
+        assertEquals(expected, fromLines);
+        assertEquals(expected, streamed);
+    }
+
+    @Test
+    @DisplayName("Errors report the zero-based line number")
+    public void errors_report_line_number() {
+        IOException tokens = assertThrows(IOException.class, () -> SimpleInputFileReader.parse(new MappingDataBuilder(),
+                new StringReader("class a/B\nfield onlyName\n")));
+        assertEquals("Invalid field line at #1; incorrect no. of tokens: field onlyName", tokens.getMessage());
+
+        IOException enclosing = assertThrows(IOException.class, () -> SimpleInputFileReader.parse(new MappingDataBuilder(),
+                new StringReader("# Comment\nmethod run ()V\n")));
+        assertEquals("Invalid method line at #1; No enclosing class: method run ()V", enclosing.getMessage());
+
+        IOException documentation = assertThrows(IOException.class, () -> SimpleInputFileReader.parse(new MappingDataBuilder(),
+                new StringReader("Dangling documentation")));
+        assertEquals("Invalid documentation line at #0; No enclosing definition: Dangling documentation", documentation.getMessage());
+    }
+
+    @Test
+    @DisplayName("Definition words are only recognized when followed by a space")
+    public void definition_words_need_space() {
+        assertEquals("field", SimpleInputFileReader.definitionWord("field a I"));
+        assertEquals("param", SimpleInputFileReader.definitionWord("param 0"));
+        assertEquals(null, SimpleInputFileReader.definitionWord("fields a I"));
+        assertEquals(null, SimpleInputFileReader.definitionWord("class"));
+        assertEquals(null, SimpleInputFileReader.definitionWord("Class a/B"));
+    }
+}
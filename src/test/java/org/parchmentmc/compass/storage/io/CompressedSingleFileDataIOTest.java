@@ -0,0 +1,78 @@
+package org.parchmentmc.compass.storage.io;
+
+import okio.Buffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressedSingleFileDataIOTest extends MappingDataFileIOTest {
+    // Small enough chunks for the data to span many of them
+    private static final CompressedSingleFileDataIO IO = new CompressedSingleFileDataIO(SingleFileDataIO.INSTANCE, 64,
+            Deflater.DEFAULT_COMPRESSION, 4);
+    // The magic, the format version and the chunk count
+    private static final int HEADER_LENGTH = CompressedSingleFileDataIO.MAGIC.length() + Integer.BYTES * 2;
+
+    @Override
+    protected MappingDataIO getIO() {
+        return IO;
+    }
+
+    @Override
+    protected int[] getTruncatedLengths(byte[] bytes) {
+        // Within the magic, within the chunk count, and within the lengths of the chunks
+        return new int[]{2, HEADER_LENGTH - 1, HEADER_LENGTH + 6};
+    }
+
+    @Test
+    @DisplayName("Data spanning multiple compressed chunks is read the same as the uncompressed data")
+    public void data_spans_chunks(@TempDir Path directory) throws IOException {
+        final Path file = writeData(directory);
+        final int chunkCount = ByteBuffer.wrap(Files.readAllBytes(file)).getInt(HEADER_LENGTH - Integer.BYTES);
+        assertTrue(chunkCount > 10, "Data only spans " + chunkCount + " chunks");
+
+        final Buffer json = new Buffer();
+        SingleFileDataIO.INSTANCE.write(createData(), json);
+        final VersionedMappingDataContainer expected = SingleFileDataIO.INSTANCE.read(json);
+        final VersionedMappingDataContainer actual = IO.read(file);
+
+        assertEquals(expected.getFormatVersion(), actual.getFormatVersion());
+        assertEquals(new ArrayList<>(expected.getPackages()), new ArrayList<>(actual.getPackages()));
+        assertEquals(new ArrayList<>(expected.getClasses()), new ArrayList<>(actual.getClasses()));
+
+        // The chunk size and parallelism do not affect reading
+        assertEquals(new ArrayList<>(expected.getClasses()), new ArrayList<>(CompressedSingleFileDataIO.INSTANCE.read(file).getClasses()));
+    }
+
+    @Test
+    @DisplayName("Files with corrupt or missing chunks are rejected")
+    public void corrupt_chunk_is_rejected(@TempDir Path directory) throws IOException {
+        final Path file = writeData(directory);
+        final byte[] bytes = Files.readAllBytes(file);
+        final ByteBuffer header = ByteBuffer.wrap(bytes);
+        final int chunksStart = HEADER_LENGTH + header.getInt(HEADER_LENGTH - Integer.BYTES) * Integer.BYTES * 2;
+        final int firstChunkLength = header.getInt(HEADER_LENGTH + Integer.BYTES);
+
+        // Zeroed bytes are not a valid zlib stream
+        final byte[] corrupt = bytes.clone();
+        Arrays.fill(corrupt, chunksStart, chunksStart + firstChunkLength, (byte) 0);
+        Files.write(file, corrupt);
+        assertThrows(IOException.class, () -> IO.read(file));
+
+        // The last chunk is cut short
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> IO.read(file));
+    }
+}
@@ -0,0 +1,133 @@
+package org.parchmentmc.compass.storage.io;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class ExplodedDataIOTest {
+    private static final FileTime OLD_TIME = FileTime.fromMillis(1000);
+
+    @TempDir
+    Path directory;
+
+    private static MappingDataBuilder createData() {
+        final MappingDataBuilder data = new MappingDataBuilder();
+        data.createPackage("com/example").addJavadoc("The package");
+        data.createClass("com/example/Unchanged").addJavadoc("Stays the same")
+                .createField("count", "I").addJavadoc("The count");
+        data.createClass("com/example/Changed").addJavadoc("Before the change");
+        data.createClass("com/example/Removed").addJavadoc("Removed later");
+        data.createClass("com/example/gone/AlsoRemoved").addJavadoc("Removed later, with its package");
+        return data;
+    }
+
+    private static VersionedMappingDataContainer versioned(MappingDataBuilder data) {
+        return new VersionedMDCDelegate<>(VersionedMappingDataContainer.CURRENT_FORMAT, data);
+    }
+
+    @Test
+    @DisplayName("Updating rewrites only changed files and deletes only orphaned class files")
+    public void update_touches_only_changed_files() throws IOException {
+        final Path base = directory.resolve("data");
+        final IncrementalFileWriter initial = ExplodedDataIO.INSTANCE.update(versioned(createData()), base);
+        assertEquals(6, initial.getWritten());
+        assertEquals(0, initial.getSkipped());
+        assertEquals(0, initial.getDeleted());
+
+        // Files outside of the managed layout
+        final Path readme = write(base.resolve("README.md"), "Not data");
+        final Path notes = write(base.resolve("classes/com/example/notes.txt"), "Not a class file");
+        final Path other = write(base.resolve("other/Other.json"), "{}");
+
+        // Backdate every file, so rewritten files are told apart by their modification time
+        final Set<Path> files = listFiles(base);
+        for (Path file : files) {
+            Files.setLastModifiedTime(file, OLD_TIME);
+        }
+        final byte[] unchangedBytes = Files.readAllBytes(base.resolve("classes/com/example/Unchanged.json"));
+
+        final MappingDataBuilder data = createData();
+        data.getOrCreateClass("com/example/Changed").clearJavadoc().addJavadoc("After the change");
+        data.removeClass("com/example/Removed");
+        data.removeClass("com/example/gone/AlsoRemoved");
+        data.createClass("com/example/Added").addJavadoc("A new class");
+        final IncrementalFileWriter writer = ExplodedDataIO.INSTANCE.update(versioned(data), base);
+
+        assertEquals(2, writer.getWritten());
+        assertEquals(3, writer.getSkipped());
+        assertEquals(2, writer.getDeleted());
+
+        assertEquals(new HashSet<>(Arrays.asList(
+                base.resolve("info.json"),
+                base.resolve("packages.json"),
+                base.resolve("classes/com/example/Unchanged.json"),
+                base.resolve("classes/com/example/Changed.json"),
+                base.resolve("classes/com/example/Added.json"),
+                readme, notes, other
+        )), listFiles(base));
+        // The directory of the removed package was left empty, and so was deleted
+        assertFalse(Files.exists(base.resolve("classes/com/example/gone")));
+
+        for (String unchanged : Arrays.asList("info.json", "packages.json", "classes/com/example/Unchanged.json")) {
+            assertEquals(OLD_TIME, Files.getLastModifiedTime(base.resolve(unchanged)), unchanged + " was rewritten");
+        }
+        assertArrayEquals(unchangedBytes, Files.readAllBytes(base.resolve("classes/com/example/Unchanged.json")));
+        for (Path untouched : Arrays.asList(readme, notes, other)) {
+            assertEquals(OLD_TIME, Files.getLastModifiedTime(untouched), untouched + " was touched");
+        }
+
+        // The updated data is the same as the data written from scratch, and the unmanaged files are not read as data
+        final Path fresh = directory.resolve("fresh");
+        ExplodedDataIO.INSTANCE.write(versioned(data), fresh);
+        final VersionedMappingDataContainer expected = ExplodedDataIO.INSTANCE.read(fresh);
+        final VersionedMappingDataContainer actual = ExplodedDataIO.INSTANCE.read(base);
+        assertEquals(new ArrayList<>(expected.getPackages()), new ArrayList<>(actual.getPackages()));
+        assertEquals(new ArrayList<>(expected.getClasses()), new ArrayList<>(actual.getClasses()));
+        for (String file : Arrays.asList("info.json", "packages.json", "classes/com/example/Changed.json",
+                "classes/com/example/Added.json")) {
+            assertArrayEquals(Files.readAllBytes(fresh.resolve(file)), Files.readAllBytes(base.resolve(file)), file);
+        }
+    }
+
+    @Test
+    @DisplayName("Updating with the same data writes nothing")
+    public void update_with_same_data_skips_everything() throws IOException {
+        final Path base = directory.resolve("data");
+        ExplodedDataIO.INSTANCE.update(versioned(createData()), base);
+
+        final IncrementalFileWriter writer = ExplodedDataIO.INSTANCE.update(versioned(createData()), base);
+        assertEquals(0, writer.getWritten());
+        assertEquals(6, writer.getSkipped());
+        assertEquals(0, writer.getDeleted());
+    }
+
+    private static Path write(Path file, String contents) throws IOException {
+        Files.createDirectories(file.getParent());
+        return Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Set<Path> listFiles(Path base) throws IOException {
+        try (Stream<Path> stream = Files.walk(base)) {
+            return stream.filter(Files::isRegularFile).collect(Collectors.toSet());
+        }
+    }
+}
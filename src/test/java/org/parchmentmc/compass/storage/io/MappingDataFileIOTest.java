@@ -0,0 +1,126 @@
+package org.parchmentmc.compass.storage.io;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.MappingDataBuilder.MutableClassData;
+import org.parchmentmc.feather.mapping.MappingDataBuilder.MutableMethodData;
+import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The tests shared by every file-based {@link MappingDataIO}: the shared data round trips, and files with a mismatched
+ * magic number or which are truncated are rejected. Subclasses only hold the assertions specific to their format.
+ */
+public abstract class MappingDataFileIOTest {
+    // Enough classes and strings for counts and indexes to need multiple bytes, and for data to span many chunks
+    public static final int CLASS_COUNT = 300;
+
+    /**
+     * Creates the data shared by the tests, with packages with and without javadocs, fields, methods, and parameters
+     * with and without names or javadocs, including a parameter index which does not fit in a signed byte.
+     *
+     * @return the shared data
+     */
+    public static VersionedMappingDataContainer createData() {
+        final MappingDataBuilder data = new MappingDataBuilder();
+        data.createPackage("com/example").addJavadoc("The package");
+        data.createPackage("com/example/empty");
+
+        final char[] longLine = new char[200];
+        Arrays.fill(longLine, 'x');
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            final MutableClassData cls = data.createClass("com/example/Class" + i).addJavadoc("Class number " + i);
+            cls.createField("field" + i, "I").addJavadoc("A shared line", new String(longLine));
+
+            final MutableMethodData method = cls.createMethod("method", "(IJLjava/lang/String;)V");
+            method.addJavadoc("A shared line");
+            method.createParameter((byte) 1).setName("first").setJavadoc("The first parameter");
+            method.createParameter((byte) 2).setName("second");
+            method.createParameter((byte) 4).setJavadoc("Only a javadoc");
+            method.createParameter((byte) 200); // Stored as a negative byte
+        }
+        data.createClass("com/example/Class0$Nested").addJavadoc("A nested class");
+        return new VersionedMDCDelegate<>(VersionedMappingDataContainer.CURRENT_FORMAT, data);
+    }
+
+    /**
+     * Asserts that the given data equals the {@linkplain #createData() shared data}.
+     *
+     * @param actual the data to check
+     */
+    public static void assertSharedData(VersionedMappingDataContainer actual) {
+        final VersionedMappingDataContainer expected = createData();
+        assertEquals(expected.getFormatVersion(), actual.getFormatVersion());
+        assertEquals(new ArrayList<>(MappingDataBuilder.copyOf(expected).getPackages()),
+                new ArrayList<>(MappingDataBuilder.copyOf(actual).getPackages()));
+        assertEquals(new ArrayList<>(MappingDataBuilder.copyOf(expected).getClasses()),
+                new ArrayList<>(MappingDataBuilder.copyOf(actual).getClasses()));
+    }
+
+    /**
+     * Returns the data I/O under test.
+     *
+     * @return the data I/O
+     */
+    protected abstract MappingDataIO getIO();
+
+    /**
+     * Returns the lengths to truncate a file of the shared data to, each of which must be rejected on reading.
+     *
+     * @param bytes the bytes of the file
+     * @return the lengths to truncate the file to
+     */
+    protected abstract int[] getTruncatedLengths(byte[] bytes);
+
+    protected Path writeData(Path directory) throws IOException {
+        final Path file = directory.resolve("data");
+        getIO().write(createData(), file);
+        return file;
+    }
+
+    @Test
+    @DisplayName("The shared data round trips")
+    public void data_round_trips(@TempDir Path directory) throws IOException {
+        final Path file = writeData(directory);
+        assertSharedData(getIO().read(file));
+
+        // Writing the read data again gives the same data
+        final Path copy = directory.resolve("copy");
+        getIO().write(getIO().read(file), copy);
+        assertSharedData(getIO().read(copy));
+    }
+
+    @Test
+    @DisplayName("Files with a mismatched magic number are rejected")
+    public void bad_magic_is_rejected(@TempDir Path directory) throws IOException {
+        final Path file = writeData(directory);
+        final byte[] bytes = Files.readAllBytes(file);
+        bytes[0] = 'X';
+        Files.write(file, bytes);
+
+        assertThrows(IOException.class, () -> getIO().read(file));
+    }
+
+    @Test
+    @DisplayName("Truncated files are rejected")
+    public void truncated_file_is_rejected(@TempDir Path directory) throws IOException {
+        final Path file = writeData(directory);
+        final byte[] bytes = Files.readAllBytes(file);
+
+        for (int length : getTruncatedLengths(bytes)) {
+            Files.write(file, Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> getIO().read(file), "Truncated to " + length + " bytes");
+        }
+    }
+}
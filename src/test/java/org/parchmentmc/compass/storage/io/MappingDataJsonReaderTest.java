@@ -0,0 +1,82 @@
+package org.parchmentmc.compass.storage.io;
+
+import com.squareup.moshi.JsonDataException;
+import okio.Buffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.parchmentmc.compass.util.JSONUtil;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MappingDataJsonReaderTest {
+    private static final String DATA = "{\n" +
+            "  \"version\": \"1.1.0\",\n" +
+            "  \"unknown\": {\"nested\": [1, 2, {\"deep\": null}]},\n" +
+            "  \"packages\": [\n" +
+            "    {\"name\": \"com/example\", \"javadoc\": \"A single line\"},\n" +
+            "    {\"name\": \"com/example/lines\", \"javadoc\": [\"First line\", \"Second line\"]},\n" +
+            "    {\"name\": \"com/example/none\", \"javadoc\": null, \"extra\": true}\n" +
+            "  ],\n" +
+            "  \"classes\": [\n" +
+            "    {\n" +
+            "      \"name\": \"com/example/Thing\",\n" +
+            "      \"javadoc\": [\"The thing\"],\n" +
+            "      \"extra\": [\"ignored\"],\n" +
+            "      \"fields\": [\n" +
+            "        {\"name\": \"count\", \"descriptor\": \"I\", \"javadoc\": \"The count\"},\n" +
+            "        {\"descriptor\": \"J\", \"name\": \"total\", \"javadoc\": null, \"extra\": 1}\n" +
+            "      ],\n" +
+            "      \"methods\": [\n" +
+            "        {\n" +
+            "          \"name\": \"run\",\n" +
+            "          \"descriptor\": \"(ILjava/lang/String;)V\",\n" +
+            "          \"javadoc\": \"Runs\",\n" +
+            "          \"parameters\": [\n" +
+            "            {\"index\": 1, \"name\": \"times\", \"javadoc\": \"The times\"},\n" +
+            "            {\"index\": 2, \"name\": null, \"javadoc\": null},\n" +
+            "            {\"javadoc\": \"Index last\", \"index\": 3, \"extra\": {}}\n" +
+            "          ]\n" +
+            "        },\n" +
+            "        {\"name\": \"stop\", \"descriptor\": \"()V\"}\n" +
+            "      ]\n" +
+            "    },\n" +
+            "    {\"name\": \"com/example/Thing$Empty\"}\n" +
+            "  ]\n" +
+            "}";
+
+    private static VersionedMappingDataContainer read(String json) throws IOException {
+        return SingleFileDataIO.INSTANCE.read(new Buffer().writeUtf8(json));
+    }
+
+    private static VersionedMappingDataContainer readWithMoshi(String json) throws IOException {
+        return JSONUtil.MOSHI.adapter(VersionedMappingDataContainer.class).fromJson(json);
+    }
+
+    @Test
+    @DisplayName("Mapping data is read the same as by the Moshi adapter")
+    public void reads_same_as_moshi() throws IOException {
+        final VersionedMappingDataContainer expected = readWithMoshi(DATA);
+        final VersionedMappingDataContainer actual = read(DATA);
+        assertNotNull(expected);
+
+        assertEquals(expected.getFormatVersion(), actual.getFormatVersion());
+        assertEquals(new ArrayList<>(expected.getPackages()), new ArrayList<>(actual.getPackages()));
+        assertEquals(new ArrayList<>(expected.getClasses()), new ArrayList<>(actual.getClasses()));
+    }
+
+    @Test
+    @DisplayName("A member without a descriptor is rejected, as by the Moshi adapter")
+    public void missing_descriptor_is_rejected() {
+        final String data = "{\"version\": \"1.1.0\", \"classes\": [{\"name\": \"com/example/Thing\"," +
+                " \"fields\": [{\"name\": \"count\", \"javadoc\": \"The count\"}]}]}";
+
+        assertThrows(JsonDataException.class, () -> readWithMoshi(data));
+        assertThrows(JsonDataException.class, () -> read(data));
+    }
+}
@@ -0,0 +1,155 @@
+package org.parchmentmc.compass.storage.io;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class MappingDataReloaderTest {
+    private static final MappingIOFormat ENIGMA = MappingIOFormat.ENIGMA_EXPLODED_LEXICOGRAPHIC_SORT;
+    private static final MappingIOFormat EXPLODED = MappingIOFormat.MDC_EXPLODED;
+
+    @TempDir
+    Path base;
+
+    private static MappingDataBuilder createData() {
+        final MappingDataBuilder data = new MappingDataBuilder();
+        data.createPackage("com/example").addJavadoc("The package");
+        data.createClass("com/example/A").addJavadoc("Class A");
+        data.createClass("com/example/A$Inner").addJavadoc("Inner class of A");
+        data.createClass("com/example/B").addJavadoc("Class B");
+        return data;
+    }
+
+    private void write(MappingIOFormat format, MappingDataBuilder data) throws IOException {
+        format.write(new VersionedMDCDelegate<>(VersionedMappingDataContainer.CURRENT_FORMAT, data), base);
+    }
+
+    private static List<String> javadoc(MappingDataReloader reloader, String className) {
+        return reloader.getData().getClass(className).getJavadoc();
+    }
+
+    @Test
+    @DisplayName("A changed Enigma mapping file replaces only the classes of its outer class")
+    public void enigma_file_is_patched() throws IOException {
+        write(ENIGMA, createData());
+        final MappingDataReloader reloader = new MappingDataReloader(ENIGMA, base);
+        assertEquals(new HashSet<>(Arrays.asList("com/example/A", "com/example/A$Inner", "com/example/B")), reloader.load());
+
+        // Both files change on disk, but only one is reported as changed
+        final MappingDataBuilder changed = createData();
+        changed.removeClass("com/example/A$Inner");
+        changed.getOrCreateClass("com/example/A").clearJavadoc().addJavadoc("Changed A");
+        changed.getOrCreateClass("com/example/B").clearJavadoc().addJavadoc("Changed B");
+        write(ENIGMA, changed);
+
+        final Path fileA = base.resolve("com/example/A.mapping");
+        assertEquals(new HashSet<>(Arrays.asList("com/example/A", "com/example/A$Inner")),
+                reloader.reload(Collections.singletonList(fileA)));
+        assertEquals(Collections.singletonList("Changed A"), javadoc(reloader, "com/example/A"));
+        assertNull(reloader.getData().getClass("com/example/A$Inner"));
+        assertEquals(Collections.singletonList("Class B"), javadoc(reloader, "com/example/B"));
+
+        // A deleted file removes the classes of its outer class
+        Files.delete(fileA);
+        assertEquals(Collections.singleton("com/example/A"), reloader.reload(Collections.singletonList(fileA)));
+        assertNull(reloader.getData().getClass("com/example/A"));
+        assertNotNull(reloader.getData().getClass("com/example/B"));
+    }
+
+    @Test
+    @DisplayName("A changed class file of the exploded format replaces only its class")
+    public void exploded_class_file_is_patched() throws IOException {
+        write(EXPLODED, createData());
+        final MappingDataReloader reloader = new MappingDataReloader(EXPLODED, base);
+        reloader.load();
+
+        final MappingDataBuilder changed = createData();
+        changed.getOrCreateClass("com/example/A").clearJavadoc().addJavadoc("Changed A");
+        changed.getOrCreateClass("com/example/B").clearJavadoc().addJavadoc("Changed B");
+        write(EXPLODED, changed);
+
+        final Path fileA = base.resolve("classes/com/example/A.json");
+        assertEquals(Collections.singleton("com/example/A"), reloader.reload(Collections.singletonList(fileA)));
+        assertEquals(Collections.singletonList("Changed A"), javadoc(reloader, "com/example/A"));
+        assertEquals(Collections.singletonList("Class B"), javadoc(reloader, "com/example/B"));
+
+        Files.delete(fileA);
+        assertEquals(Collections.singleton("com/example/A"), reloader.reload(Collections.singletonList(fileA)));
+        assertNull(reloader.getData().getClass("com/example/A"));
+        assertNotNull(reloader.getData().getClass("com/example/A$Inner"));
+    }
+
+    @Test
+    @DisplayName("The base directory being reported as changed reloads everything")
+    public void changed_base_directory_reloads_everything() throws IOException {
+        write(ENIGMA, createData());
+        final MappingDataReloader reloader = new MappingDataReloader(ENIGMA, base);
+        reloader.load();
+
+        final MappingDataBuilder changed = createData();
+        changed.getOrCreateClass("com/example/A").clearJavadoc().addJavadoc("Changed A");
+        changed.getOrCreateClass("com/example/B").clearJavadoc().addJavadoc("Changed B");
+        write(ENIGMA, changed);
+
+        // As reported by the watcher when it lost track of events
+        assertEquals(new HashSet<>(Arrays.asList("com/example/A", "com/example/A$Inner", "com/example/B")),
+                reloader.reload(Collections.singletonList(base)));
+        assertEquals(Collections.singletonList("Changed A"), javadoc(reloader, "com/example/A"));
+        assertEquals(Collections.singletonList("Changed B"), javadoc(reloader, "com/example/B"));
+    }
+
+    @Test
+    @DisplayName("Changes to files other than class files reload everything")
+    public void other_files_reload_everything() throws IOException {
+        for (MappingIOFormat format : Arrays.asList(ENIGMA, EXPLODED)) {
+            final Path directory = base.resolve(format.name());
+            format.write(new VersionedMDCDelegate<>(VersionedMappingDataContainer.CURRENT_FORMAT, createData()), directory);
+            final MappingDataReloader reloader = new MappingDataReloader(format, directory);
+            reloader.load();
+
+            final MappingDataBuilder changed = createData();
+            changed.getOrCreatePackage("com/example").clearJavadoc().addJavadoc("Changed package");
+            changed.getOrCreateClass("com/example/B").clearJavadoc().addJavadoc("Changed B");
+            format.write(new VersionedMDCDelegate<>(VersionedMappingDataContainer.CURRENT_FORMAT, changed), directory);
+
+            reloader.reload(Collections.singletonList(directory.resolve("packages.json")));
+            assertEquals(Collections.singletonList("Changed package"),
+                    reloader.getData().getPackage("com/example").getJavadoc(), format.name());
+            assertEquals(Collections.singletonList("Changed B"), javadoc(reloader, "com/example/B"), format.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Any change to a single-file format reloads everything")
+    public void single_file_format_reloads_everything() throws IOException {
+        final Path file = base.resolve("data.json");
+        final MappingDataReloader reloader = new MappingDataReloader(MappingIOFormat.MDC_SINGLE, file);
+        MappingIOFormat.MDC_SINGLE.write(new VersionedMDCDelegate<>(VersionedMappingDataContainer.CURRENT_FORMAT,
+                createData()), file);
+        reloader.load();
+
+        final MappingDataBuilder changed = createData();
+        changed.removeClass("com/example/B");
+        MappingIOFormat.MDC_SINGLE.write(new VersionedMDCDelegate<>(VersionedMappingDataContainer.CURRENT_FORMAT,
+                changed), file);
+
+        assertEquals(new HashSet<>(Arrays.asList("com/example/A", "com/example/A$Inner", "com/example/B")),
+                reloader.reload(Collections.singletonList(file)));
+        assertNull(reloader.getData().getClass("com/example/B"));
+    }
+}
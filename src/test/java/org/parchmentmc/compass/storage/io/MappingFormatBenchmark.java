@@ -0,0 +1,65 @@
+package org.parchmentmc.compass.storage.io;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parchmentmc.compass.util.Benchmarks;
+import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Compares the binary format against the single-file JSON and Enigma formats on the same data
+@Tag(Benchmarks.TAG)
+public class MappingFormatBenchmark {
+    private static final int CLASS_COUNT = 5000;
+    private static final List<MappingIOFormat> FORMATS = Arrays.asList(MappingIOFormat.MDC_BINARY,
+            MappingIOFormat.MDC_SINGLE, MappingIOFormat.ENIGMA_EXPLODED);
+
+    @Test
+    @DisplayName("Size and read and write times of the binary, single-file JSON, and Enigma formats")
+    public void format_sizes_and_times(@TempDir Path directory) throws Exception {
+        final VersionedMappingDataContainer data = new VersionedMDCDelegate<>(VersionedMappingDataContainer.CURRENT_FORMAT,
+                Benchmarks.generateData(CLASS_COUNT));
+
+        Benchmarks.report("MappingFormat", "%d classes", CLASS_COUNT);
+        for (MappingIOFormat format : FORMATS) {
+            final Path output = directory.resolve(format.name());
+            format.write(data, output);
+            assertEquals(CLASS_COUNT, format.read(output).getClasses().size(), format + " did not read back the data");
+
+            // Each run writes to a new location, so the exploded formats do not skip their unchanged files
+            final AtomicInteger run = new AtomicInteger();
+            final long writeTime = Benchmarks.measure(() ->
+                    format.write(data, directory.resolve(format.name() + "-" + run.getAndIncrement())));
+            final long readTime = Benchmarks.measure(() -> format.read(output));
+
+            Benchmarks.report("MappingFormat", "%-16s %,12d bytes, write %8.1f ms, read %8.1f ms", format, size(output),
+                    Benchmarks.millis(writeTime), Benchmarks.millis(readTime));
+        }
+    }
+
+    private static long size(Path path) throws IOException {
+        if (Files.isRegularFile(path)) return Files.size(path);
+
+        final List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.walk(path)) {
+            stream.filter(Files::isRegularFile).forEach(files::add);
+        }
+        long size = 0;
+        for (Path file : files) {
+            size += Files.size(file);
+        }
+        return size;
+    }
+}
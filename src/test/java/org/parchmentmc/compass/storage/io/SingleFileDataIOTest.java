@@ -0,0 +1,78 @@
+package org.parchmentmc.compass.storage.io;
+
+import okio.Buffer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.parchmentmc.compass.data.visitation.DataVisitor;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+import org.parchmentmc.feather.metadata.ClassMetadata;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.parchmentmc.feather.mapping.MappingDataContainer.ClassData;
+
+public class SingleFileDataIOTest extends MappingDataFileIOTest {
+    private static final DataVisitor NO_OP_VISITOR = new DataVisitor() {
+    };
+
+    @Override
+    protected MappingDataIO getIO() {
+        return SingleFileDataIO.INSTANCE;
+    }
+
+    @Override
+    protected int[] getTruncatedLengths(byte[] bytes) {
+        return new int[]{0, 1, bytes.length / 2, bytes.length - 2};
+    }
+
+    private static Buffer json(String json) {
+        return new Buffer().writeUtf8(json);
+    }
+
+    @Test
+    @DisplayName("Data without a version is rejected")
+    public void missing_version_is_rejected() {
+        final String data = "{\"packages\": [], \"classes\": [{\"name\": \"com/example/Thing\"}]}";
+
+        final IOException e = assertThrows(IOException.class, () -> SingleFileDataIO.INSTANCE.read(json(data)));
+        assertEquals("Mapping data has no version", e.getMessage());
+        assertThrows(IOException.class, () -> SingleFileDataIO.INSTANCE.accept(json(data), NO_OP_VISITOR, null));
+        assertThrows(IOException.class, () -> SingleFileDataIO.INSTANCE.read(json("{}")));
+    }
+
+    @Test
+    @DisplayName("Data with a version incompatible with the current version is rejected")
+    public void incompatible_version_is_rejected() {
+        final String data = "{\"version\": \"99.0.0\", \"packages\": [], \"classes\": []}";
+
+        final IOException e = assertThrows(IOException.class, () -> SingleFileDataIO.INSTANCE.read(json(data)));
+        assertEquals("Mapping data version 99.0.0 is incompatible with the current version "
+                + VersionedMappingDataContainer.CURRENT_FORMAT, e.getMessage());
+        assertThrows(IOException.class, () -> SingleFileDataIO.INSTANCE.accept(json(data), NO_OP_VISITOR, null));
+    }
+
+    @Test
+    @DisplayName("The version may come after the classes")
+    public void version_after_classes_is_accepted() throws IOException {
+        final String data = "{\"classes\": [{\"name\": \"com/example/Thing\"}], \"packages\": [], \"version\": \""
+                + VersionedMappingDataContainer.CURRENT_FORMAT + "\"}";
+
+        final VersionedMappingDataContainer read = SingleFileDataIO.INSTANCE.read(json(data));
+        assertEquals(VersionedMappingDataContainer.CURRENT_FORMAT, read.getFormatVersion());
+        assertEquals(1, read.getClasses().size());
+        assertEquals("com/example/Thing", read.getClasses().iterator().next().getName());
+
+        final int[] visited = {0};
+        SingleFileDataIO.INSTANCE.accept(json(data), new DataVisitor() {
+            @Override
+            public boolean visitClass(ClassData classData, @Nullable ClassMetadata classMetadata) {
+                visited[0]++;
+                return true;
+            }
+        }, null);
+        assertEquals(1, visited[0]);
+    }
+}
@@ -0,0 +1,45 @@
+package org.parchmentmc.compass.storage.io;
+
+import okio.Buffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.parchmentmc.compass.util.Benchmarks;
+import org.parchmentmc.compass.util.JSONUtil;
+import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Compares the streaming reader of SingleFileDataIO against the Moshi adapter of Feather
+@Tag(Benchmarks.TAG)
+public class SingleFileReaderBenchmark {
+    private static final int CLASS_COUNT = 10000;
+
+    @Test
+    @DisplayName("Read time of the streaming reader against the Moshi adapter")
+    public void streaming_reader_against_moshi_adapter() throws Exception {
+        final Buffer written = new Buffer();
+        SingleFileDataIO.INSTANCE.write(new VersionedMDCDelegate<>(VersionedMappingDataContainer.CURRENT_FORMAT,
+                Benchmarks.generateData(CLASS_COUNT)), written);
+        final byte[] json = written.readByteArray();
+
+        // Both readers must read the same data, or the comparison is meaningless
+        final VersionedMappingDataContainer expected = JSONUtil.MOSHI.adapter(VersionedMappingDataContainer.class)
+                .fromJson(new Buffer().write(json));
+        assertNotNull(expected);
+        final VersionedMappingDataContainer actual = SingleFileDataIO.INSTANCE.read(new Buffer().write(json));
+        assertEquals(new ArrayList<>(expected.getClasses()), new ArrayList<>(actual.getClasses()));
+
+        final long moshiTime = Benchmarks.measure(() ->
+                JSONUtil.MOSHI.adapter(VersionedMappingDataContainer.class).fromJson(new Buffer().write(json)));
+        final long streamingTime = Benchmarks.measure(() -> SingleFileDataIO.INSTANCE.read(new Buffer().write(json)));
+
+        Benchmarks.report("SingleFileReader", "%d classes, %,d bytes of JSON", CLASS_COUNT, json.length);
+        Benchmarks.report("SingleFileReader", "Moshi adapter:    %.1f ms", Benchmarks.millis(moshiTime));
+        Benchmarks.report("SingleFileReader", "streaming reader: %.1f ms", Benchmarks.millis(streamingTime));
+    }
+}
@@ -0,0 +1,136 @@
+package org.parchmentmc.compass.storage.io.binary;
+
+import okio.Buffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parchmentmc.compass.storage.io.MappingDataFileIOTest;
+import org.parchmentmc.compass.storage.io.MappingDataIO;
+import org.parchmentmc.feather.mapping.MappingDataContainer;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BinaryDataIOTest extends MappingDataFileIOTest {
+    @Override
+    protected MappingDataIO getIO() {
+        return BinaryDataIO.INSTANCE;
+    }
+
+    @Override
+    protected int[] getTruncatedLengths(byte[] bytes) {
+        // The eager read stops before the class index at the end, so only truncations within the body are detected
+        return new int[]{0, 2, BinaryDataIO.MAGIC.length + 1, bytes.length / 2};
+    }
+
+    @Test
+    @DisplayName("Opening a file with a mismatched magic number is rejected")
+    public void opening_bad_magic_is_rejected(@TempDir Path directory) throws IOException {
+        final Path file = writeData(directory);
+        final byte[] bytes = Files.readAllBytes(file);
+        bytes[0] = 'X';
+        Files.write(file, bytes);
+
+        assertThrows(IOException.class, () -> BinaryDataIO.INSTANCE.open(file));
+    }
+
+    @Test
+    @DisplayName("Variable-length integers round trip at the byte boundaries")
+    public void var_ints_round_trip() throws IOException {
+        final List<Integer> values = Arrays.asList(0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE);
+        final Buffer buffer = new Buffer();
+        for (int value : values) {
+            BinaryWriter.writeVarInt(buffer, value);
+        }
+        BinaryWriter.writeVarLong(buffer, Long.MAX_VALUE);
+        BinaryWriter.writeVarLong(buffer, -1L);
+
+        final ByteBuffer input = ByteBuffer.wrap(buffer.readByteArray());
+        final List<Integer> read = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            read.add(BinaryReader.readVarInt(input));
+        }
+        assertEquals(values, read);
+        assertEquals(Long.MAX_VALUE, BinaryReader.readVarLong(input));
+        assertEquals(-1L, BinaryReader.readVarLong(input));
+        assertEquals(0, input.remaining());
+    }
+
+    @Test
+    @DisplayName("Missing parameter names and javadocs, and parameter indexes above 127, survive the string encoding")
+    public void nullable_strings_and_unsigned_indexes_round_trip(@TempDir Path directory) throws IOException {
+        final Path file = writeData(directory);
+        final MappingDataContainer.MethodData method = BinaryDataIO.INSTANCE.read(file)
+                .getClass("com/example/Class" + (CLASS_COUNT - 1)).getMethod("method", "(IJLjava/lang/String;)V");
+        assertNotNull(method);
+
+        assertEquals("second", method.getParameter((byte) 2).getName());
+        assertNull(method.getParameter((byte) 2).getJavadoc());
+        assertNull(method.getParameter((byte) 4).getName());
+        assertEquals("Only a javadoc", method.getParameter((byte) 4).getJavadoc());
+        assertNull(method.getParameter((byte) 200).getName());
+        assertNull(method.getParameter((byte) 200).getJavadoc());
+    }
+
+    @Test
+    @DisplayName("Files with an unsupported binary format version are rejected")
+    public void unsupported_version_is_rejected(@TempDir Path directory) throws IOException {
+        final Buffer buffer = new Buffer().write(BinaryDataIO.MAGIC);
+        BinaryWriter.writeVarInt(buffer, BinaryDataIO.BINARY_FORMAT_VERSION + 1);
+        final Path file = directory.resolve("data.bin");
+        Files.write(file, buffer.readByteArray());
+
+        final IOException e = assertThrows(IOException.class, () -> BinaryDataIO.INSTANCE.read(file));
+        assertEquals("Unsupported binary mapping data version " + (BinaryDataIO.BINARY_FORMAT_VERSION + 1)
+                + ", expected " + BinaryDataIO.BINARY_FORMAT_VERSION, e.getMessage());
+        assertThrows(IOException.class, () -> BinaryDataIO.INSTANCE.open(file));
+    }
+
+    @Test
+    @DisplayName("Files with negative or oversized counts are rejected without allocating for them")
+    public void corrupt_count_is_rejected(@TempDir Path directory) throws IOException {
+        final Path file = directory.resolve("data.bin");
+        final byte[] version = VersionedMappingDataContainer.CURRENT_FORMAT.toString().getBytes(StandardCharsets.UTF_8);
+
+        for (int count : new int[]{-1, Integer.MIN_VALUE, Integer.MAX_VALUE, 1000}) {
+            // As the string table count
+            final Buffer stringCount = new Buffer().write(BinaryDataIO.MAGIC);
+            BinaryWriter.writeVarInt(stringCount, BinaryDataIO.BINARY_FORMAT_VERSION);
+            BinaryWriter.writeVarInt(stringCount, count);
+            Files.write(file, stringCount.readByteArray());
+            assertThrows(IOException.class, () -> BinaryDataIO.INSTANCE.read(file), "String count of " + count);
+            assertThrows(IOException.class, () -> BinaryDataIO.INSTANCE.open(file), "String count of " + count);
+
+            // As the length of a string
+            final Buffer stringLength = new Buffer().write(BinaryDataIO.MAGIC);
+            BinaryWriter.writeVarInt(stringLength, BinaryDataIO.BINARY_FORMAT_VERSION);
+            BinaryWriter.writeVarInt(stringLength, 1);
+            BinaryWriter.writeVarInt(stringLength, count);
+            Files.write(file, stringLength.readByteArray());
+            assertThrows(IOException.class, () -> BinaryDataIO.INSTANCE.read(file), "String length of " + count);
+
+            // As the package count, after a valid string table and data version
+            final Buffer packageCount = new Buffer().write(BinaryDataIO.MAGIC);
+            BinaryWriter.writeVarInt(packageCount, BinaryDataIO.BINARY_FORMAT_VERSION);
+            BinaryWriter.writeVarInt(packageCount, 1);
+            BinaryWriter.writeVarInt(packageCount, version.length);
+            packageCount.write(version);
+            BinaryWriter.writeVarInt(packageCount, 0);
+            BinaryWriter.writeVarInt(packageCount, count);
+            Files.write(file, packageCount.readByteArray());
+            assertThrows(IOException.class, () -> BinaryDataIO.INSTANCE.read(file), "Package count of " + count);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.parchmentmc.compass.storage.io.binary;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parchmentmc.compass.storage.io.MappingDataFileIOTest;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.MappingDataContainer;
+import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.parchmentmc.compass.storage.io.MappingDataFileIOTest.createData;
+
+public class LazyBinaryDataContainerTest {
+    @Test
+    @DisplayName("Lazily decoded data matches the eagerly read data")
+    public void lazy_data_matches_eager_data(@TempDir Path directory) throws IOException {
+        final Path file = directory.resolve("data.bin");
+        BinaryDataIO.INSTANCE.write(createData(), file);
+        final VersionedMappingDataContainer eager = BinaryDataIO.INSTANCE.read(file);
+
+        final LazyBinaryDataContainer lazy = BinaryDataIO.INSTANCE.open(file);
+        assertEquals(eager.getFormatVersion(), lazy.getFormatVersion());
+        assertEquals(new ArrayList<>(eager.getPackages()), new ArrayList<>(lazy.getPackages()));
+        assertEquals(eager.getPackage("com/example"), lazy.getPackage("com/example"));
+
+        final List<String> classNames = new ArrayList<>();
+        for (MappingDataContainer.ClassData cls : eager.getClasses()) {
+            classNames.add(cls.getName());
+            assertEquals(cls, lazy.getClass(cls.getName()), "Class " + cls.getName() + " does not match");
+        }
+        final List<String> expectedNames = new ArrayList<>();
+        createData().getClasses().forEach(cls -> expectedNames.add(cls.getName()));
+        assertEquals(expectedNames, classNames);
+        assertEquals(classNames, new ArrayList<>(lazy.getClassNames()));
+        assertEquals(new ArrayList<>(eager.getClasses()), new ArrayList<>(lazy.getClasses()));
+        assertNull(lazy.getClass("com/example/Missing"));
+    }
+
+    @Test
+    @DisplayName("An opened file can be replaced and deleted without affecting the opened container")
+    public void opened_file_can_be_replaced(@TempDir Path directory) throws IOException {
+        final Path file = directory.resolve("data.bin");
+        BinaryDataIO.INSTANCE.write(createData(), file);
+        final LazyBinaryDataContainer opened = BinaryDataIO.INSTANCE.open(file);
+
+        BinaryDataIO.INSTANCE.write(new VersionedMDCDelegate<>(VersionedMappingDataContainer.CURRENT_FORMAT,
+                new MappingDataBuilder()), file);
+        assertEquals(0, BinaryDataIO.INSTANCE.open(file).getClasses().size());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count(), "Temporary files were left behind");
+        }
+
+        Files.delete(file);
+        assertFalse(Files.exists(file));
+
+        // The container still holds the data of the file at the time it was opened
+        assertEquals(MappingDataFileIOTest.CLASS_COUNT + 1, opened.getClasses().size());
+        assertEquals(Collections.singletonList("A nested class"), opened.getClass("com/example/Class0$Nested").getJavadoc());
+    }
+}
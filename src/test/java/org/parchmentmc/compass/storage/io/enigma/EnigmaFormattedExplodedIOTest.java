@@ -0,0 +1,109 @@
+package org.parchmentmc.compass.storage.io.enigma;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parchmentmc.compass.storage.io.IncrementalFileWriter;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EnigmaFormattedExplodedIOTest {
+    private static final EnigmaFormattedExplodedIO IO = EnigmaFormattedExplodedIO.LEXICOGRAPHIC_SORT_INSTANCE;
+    private static final FileTime OLD_TIME = FileTime.fromMillis(1000);
+
+    private static MappingDataBuilder createData() {
+        final MappingDataBuilder data = new MappingDataBuilder();
+        data.createPackage("com/example").addJavadoc("The package");
+        data.createClass("com/example/Unchanged").addJavadoc("Stays the same")
+                .createField("count", "I").addJavadoc("The count");
+        data.createClass("com/example/Unchanged$Inner").addJavadoc("An inner class");
+        data.createClass("com/example/Changed").addJavadoc("Before the change")
+                .createMethod("run", "(I)V").createParameter((byte) 1).setName("times");
+        data.createClass("com/example/Changed$Inner").addJavadoc("Also changes");
+        data.createClass("com/example/removed/Removed").addJavadoc("Removed later");
+        return data;
+    }
+
+    private static VersionedMappingDataContainer versioned(MappingDataBuilder data) {
+        return new VersionedMDCDelegate<>(VersionedMappingDataContainer.CURRENT_FORMAT, data);
+    }
+
+    @Test
+    @DisplayName("Updating an existing tree rewrites changed classes and deletes removed ones")
+    public void update_round_trips(@TempDir Path directory) throws IOException {
+        final Path base = directory.resolve("data");
+        final IncrementalFileWriter initial = IO.update(versioned(createData()), base);
+        assertEquals(5, initial.getWritten());
+        assertEquals(0, initial.getDeleted());
+
+        final Path unchangedFile = base.resolve("com/example/Unchanged." + IO.getExtension());
+        final Path changedFile = base.resolve("com/example/Changed." + IO.getExtension());
+        final byte[] unchangedBytes = Files.readAllBytes(unchangedFile);
+        Files.setLastModifiedTime(unchangedFile, OLD_TIME);
+
+        final MappingDataBuilder data = createData();
+        data.getOrCreateClass("com/example/Changed$Inner").clearJavadoc().addJavadoc("After the change");
+        data.removeClass("com/example/removed/Removed");
+        final IncrementalFileWriter writer = IO.update(versioned(data), base);
+
+        assertEquals(1, writer.getWritten());
+        assertEquals(3, writer.getSkipped());
+        assertEquals(1, writer.getDeleted());
+
+        // The removed class's file is deleted, along with its then-empty package directory
+        assertEquals(new HashSet<>(Arrays.asList(
+                base.resolve(EnigmaFormattedExplodedIO.VERSION_INFO_JSON),
+                base.resolve(EnigmaFormattedExplodedIO.PACKAGES_DATA_JSON),
+                unchangedFile,
+                changedFile
+        )), listFiles(base));
+
+        // The unchanged class's file is left as is
+        assertEquals(OLD_TIME, Files.getLastModifiedTime(unchangedFile));
+        assertArrayEquals(unchangedBytes, Files.readAllBytes(unchangedFile));
+
+        // The changed class's file holds the change, and matches a file written from scratch
+        final String changedContents = new String(Files.readAllBytes(changedFile), StandardCharsets.UTF_8);
+        assertTrue(changedContents.contains("COMMENT After the change"), changedContents);
+        final Path fresh = directory.resolve("fresh");
+        IO.write(versioned(data), fresh);
+        assertEquals(listFiles(fresh).stream().map(fresh::relativize).collect(Collectors.toSet()),
+                listFiles(base).stream().map(base::relativize).collect(Collectors.toSet()));
+        for (Path file : listFiles(fresh)) {
+            assertArrayEquals(Files.readAllBytes(file), Files.readAllBytes(base.resolve(fresh.relativize(file))),
+                    fresh.relativize(file).toString());
+        }
+
+        // Reading the updated tree gives back the updated data
+        final VersionedMappingDataContainer read = IO.read(base);
+        assertEquals(Collections.singletonList("After the change"), read.getClass("com/example/Changed$Inner").getJavadoc());
+        assertEquals(Collections.singletonList("Stays the same"), read.getClass("com/example/Unchanged").getJavadoc());
+        assertNull(read.getClass("com/example/removed/Removed"));
+        assertEquals(new ArrayList<>(IO.read(fresh).getClasses()), new ArrayList<>(read.getClasses()));
+    }
+
+    private static Set<Path> listFiles(Path base) throws IOException {
+        try (Stream<Path> stream = Files.walk(base)) {
+            return stream.filter(Files::isRegularFile).collect(Collectors.toSet());
+        }
+    }
+}
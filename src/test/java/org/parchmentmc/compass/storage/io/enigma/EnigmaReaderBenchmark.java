@@ -0,0 +1,167 @@
+package org.parchmentmc.compass.storage.io.enigma;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parchmentmc.compass.util.Benchmarks;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.MappingDataBuilder.MutableClassData;
+import org.parchmentmc.feather.mapping.MappingDataBuilder.MutableMethodData;
+import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.parchmentmc.compass.storage.io.enigma.EnigmaFormattedExplodedIO.*;
+
+// Compares the character scanner of EnigmaReader against the previous split-based tokenization
+@Tag(Benchmarks.TAG)
+public class EnigmaReaderBenchmark {
+    private static final int CLASS_COUNT = 5000;
+
+    @Test
+    @DisplayName("Lines per second of the scanning reader against the split-based reader")
+    public void reader_lines_per_second(@TempDir Path directory) throws Exception {
+        final List<String> files = generateCorpus(directory);
+        long lineCount = 0;
+        for (String file : files) {
+            for (int i = 0; i < file.length(); i++) {
+                if (file.charAt(i) == '\n') lineCount++;
+            }
+        }
+
+        // Both readers must read the same data, or the comparison is meaningless
+        final MappingDataBuilder scanned = new MappingDataBuilder();
+        final MappingDataBuilder split = new MappingDataBuilder();
+        for (String file : files) {
+            EnigmaReader.readFile(scanned, new StringReader(file));
+            readFileWithSplit(split, new BufferedReader(new StringReader(file)));
+        }
+        assertEquals(new ArrayList<>(split.getClasses()), new ArrayList<>(scanned.getClasses()));
+
+        final long splitTime = Benchmarks.measure(() -> {
+            final MappingDataBuilder builder = new MappingDataBuilder();
+            for (String file : files) {
+                readFileWithSplit(builder, new BufferedReader(new StringReader(file)));
+            }
+        });
+        final long scannerTime = Benchmarks.measure(() -> {
+            final MappingDataBuilder builder = new MappingDataBuilder();
+            for (String file : files) {
+                EnigmaReader.readFile(builder, new StringReader(file));
+            }
+        });
+
+        Benchmarks.report("EnigmaReader", "%d files, %d lines", files.size(), lineCount);
+        Benchmarks.report("EnigmaReader", "split-based: %.1f ms, %.0f lines/s", Benchmarks.millis(splitTime),
+                lineCount / (splitTime / 1e9));
+        Benchmarks.report("EnigmaReader", "scanner:     %.1f ms, %.0f lines/s", Benchmarks.millis(scannerTime),
+                lineCount / (scannerTime / 1e9));
+    }
+
+    // Writes generated data in the Enigma format, and returns the contents of every mapping file
+    private static List<String> generateCorpus(Path directory) throws IOException {
+        final MappingDataBuilder data = new MappingDataBuilder();
+        final Random random = new Random(42);
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            // Every fourth class is an inner class of the class before it
+            final String name = i % 4 == 1
+                    ? "net/minecraft/pkg" + ((i - 1) % 50) + "/Class" + (i - 1) + "$Inner" + i
+                    : "net/minecraft/pkg" + (i % 50) + "/Class" + i;
+            final MutableClassData cls = data.createClass(name).addJavadoc("The class " + i, "Spanning two lines");
+            for (int f = 0; f < 5; f++) {
+                cls.createField("field_" + i + "_" + f, f % 2 == 0 ? "I" : "Ljava/lang/String;")
+                        .addJavadoc("The field " + f + " of\tclass " + i);
+            }
+            for (int m = 0; m < 8; m++) {
+                final MutableMethodData method = cls.createMethod("method_" + i + "_" + m,
+                        "(ILjava/lang/String;Lnet/minecraft/pkg" + random.nextInt(50) + "/Class" + random.nextInt(CLASS_COUNT) + ";)V");
+                method.addJavadoc("Does thing " + m, "@param value the value");
+                method.createParameter((byte) 1).setName("value").setJavadoc("The value");
+                method.createParameter((byte) 2).setName("name");
+                method.createParameter((byte) 3).setName("other");
+            }
+        }
+
+        final EnigmaFormattedExplodedIO io = EnigmaFormattedExplodedIO.LEXICOGRAPHIC_SORT_INSTANCE;
+        io.write(new VersionedMDCDelegate<>(VersionedMappingDataContainer.CURRENT_FORMAT, data), directory);
+        final List<String> files = new ArrayList<>();
+        for (Path file : io.gatherMappingFiles(directory)) {
+            files.add(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        }
+        return files;
+    }
+
+    // The previous implementation of EnigmaReader.readFile, kept here only as the baseline of the benchmarks; unlike
+    // the current implementation, it does not intern the names and descriptors
+    static void readFileWithSplit(MappingDataBuilder builder, BufferedReader reader) throws IOException {
+        MappingDataBuilder.MutableClassData classData = null;
+        MappingDataBuilder.MutableMethodData methodData = null;
+        MappingDataBuilder.MutableHasJavadoc<?> javadoc = null;
+        int prevClassIndent = -1;
+        Deque<String> classNames = new ArrayDeque<>();
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            final String[] tokens = line.trim().split("\\s");
+
+            String firstToken = tokens[0].toUpperCase(Locale.ROOT);
+            switch (firstToken) {
+                case CLASS: {
+                    int indent = 0;
+                    while (line.charAt(indent) == '\t') {
+                        indent++;
+                    }
+                    String className = tokens[1];
+
+                    for (int diff = prevClassIndent - indent; diff >= 0; diff--) {
+                        classNames.pop();
+                    }
+                    prevClassIndent = indent;
+
+                    if (!classNames.isEmpty()) { // Within a class
+                        className = classNames.peek() + '$' + className;
+                    }
+                    classNames.push(className);
+                    javadoc = classData = builder.createClass(className);
+
+                    break;
+                }
+                case FIELD: {
+                    if (classData == null) throw new IOException("Unexpected field line without class parent");
+                    javadoc = classData.createField(tokens[1], tokens[2]);
+                    break;
+                }
+                case METHOD: {
+                    if (classData == null) throw new IOException("Unexpected method line without class parent");
+                    javadoc = methodData = classData.createMethod(tokens[1], tokens[2]);
+                    break;
+                }
+                case PARAM: {
+                    if (methodData == null) throw new IOException("Unexpected arg line without method parent");
+                    javadoc = methodData.createParameter(Byte.parseByte(tokens[1]))
+                            .setName(tokens[2]);
+                    break;
+                }
+                case COMMENT: {
+                    if (javadoc == null)
+                        throw new IOException("Unexpected comment line without javadoc-holding parent");
+                    final ArrayList<String> strings = new ArrayList<>(Arrays.asList(tokens));
+                    if (strings.size() > 0) {
+                        strings.remove(0);
+                    }
+                    javadoc.addJavadoc(String.join(" ", strings));
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.parchmentmc.compass.storage.io.enigma;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EnigmaReaderTest {
+    private static MappingDataBuilder read(String contents) throws IOException {
+        final MappingDataBuilder builder = new MappingDataBuilder();
+        EnigmaReader.readFile(builder, new StringReader(contents));
+        return builder;
+    }
+
+    @Test
+    @DisplayName("Classes, inner classes, members, and comments are read")
+    public void reads_classes_members_and_comments() throws IOException {
+        MappingDataBuilder expected = new MappingDataBuilder();
+        expected.createClass("com/example/Outer")
+                .addJavadoc("The outer class")
+                .createField("count", "I")
+                .addJavadoc("A count");
+        expected.getOrCreateClass("com/example/Outer")
+                .createMethod("run", "(IJ)V")
+                .addJavadoc("Runs the thing")
+                .createParameter((byte) 1).setName("amount").setJavadoc("The amount");
+        expected.createClass("com/example/Outer$Inner")
+                .createField("value", "J");
+        expected.createClass("com/example/Outer$Inner$Deep");
+        expected.createClass("com/example/Outer$Other")
+                .addJavadoc("Another inner class");
+
+        MappingDataBuilder actual = read("CLASS com/example/Outer\n" +
+                "\tCOMMENT The outer class\n" +
+                "\tFIELD count I\n" +
+                "\t\tCOMMENT A count\n" +
+                "\tMETHOD run (IJ)V\n" +
+                "\t\tCOMMENT Runs the thing\n" +
+                "\t\tARG 1 amount\n" +
+                "\t\t\tCOMMENT The amount\n" +
+                "\tCLASS Inner\n" +
+                "\t\tFIELD value J\n" +
+                "\t\tCLASS Deep\n" +
+                "\tCLASS Other\n" +
+                "\t\tCOMMENT Another inner class\n");
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Keywords are case-insensitive, and CRLF line endings are accepted")
+    public void keywords_are_case_insensitive_and_crlf_is_accepted() throws IOException {
+        MappingDataBuilder expected = new MappingDataBuilder();
+        expected.createClass("a/B").addJavadoc("Doc");
+
+        assertEquals(expected, read("class a/B\r\n\tcomment Doc\r\n"));
+    }
+
+    @Test
+    @DisplayName("Comments keep their inner spacing, with whitespace characters normalized to spaces")
+    public void comments_normalize_whitespace() throws IOException {
+        MappingDataBuilder expected = new MappingDataBuilder();
+        expected.createClass("a/B")
+                .addJavadoc("")
+                .addJavadoc("Two  spaces and a tab")
+                .addJavadoc(" Leading space");
+
+        assertEquals(expected, read("CLASS a/B\n" +
+                "\tCOMMENT\n" +
+                "\tCOMMENT Two  spaces\tand a tab  \n" +
+                "\tCOMMENT  Leading space\n"));
+    }
+
+    @Test
+    @DisplayName("Members without a parent are rejected")
+    public void members_without_parent_are_rejected() {
+        assertThrows(IOException.class, () -> read("FIELD a I\n"));
+        assertThrows(IOException.class, () -> read("CLASS a/B\n\tARG 1 a\n"));
+        assertThrows(IOException.class, () -> read("COMMENT Orphan\n"));
+    }
+}
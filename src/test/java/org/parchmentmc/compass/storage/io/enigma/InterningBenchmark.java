@@ -0,0 +1,64 @@
+package org.parchmentmc.compass.storage.io.enigma;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parchmentmc.compass.util.Benchmarks;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Compares the heap retained by data read with the names and descriptors interned against data read without interning
+@Tag(Benchmarks.TAG)
+public class InterningBenchmark {
+    private static final int CLASS_COUNT = 20000;
+
+    @Test
+    @DisplayName("Retained heap of read data with and without interning")
+    public void retained_heap_with_and_without_interning(@TempDir Path directory) throws IOException {
+        final EnigmaFormattedExplodedIO io = EnigmaFormattedExplodedIO.LEXICOGRAPHIC_SORT_INSTANCE;
+        io.write(new VersionedMDCDelegate<>(VersionedMappingDataContainer.CURRENT_FORMAT,
+                Benchmarks.generateData(CLASS_COUNT)), directory);
+        // Read the files up front, so both measurements exclude the file contents
+        final List<String> files = new ArrayList<>();
+        for (Path file : io.gatherMappingFiles(directory)) {
+            files.add(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        }
+
+        // Without interning, through the previous reader; strings split out of a line do not share its characters
+        long baseline = Benchmarks.usedHeapAfterGc();
+        MappingDataBuilder data = new MappingDataBuilder();
+        for (String file : files) {
+            EnigmaReaderBenchmark.readFileWithSplit(data, new BufferedReader(new StringReader(file)));
+        }
+        final long withoutInterning = Benchmarks.usedHeapAfterGc() - baseline;
+        assertEquals(CLASS_COUNT, data.getClasses().size()); // Keeps the data reachable until measured
+        data = null;
+
+        // With interning, through the current reader
+        baseline = Benchmarks.usedHeapAfterGc();
+        data = new MappingDataBuilder();
+        for (String file : files) {
+            EnigmaReader.readFile(data, new StringReader(file));
+        }
+        final long withInterning = Benchmarks.usedHeapAfterGc() - baseline;
+        assertEquals(CLASS_COUNT, data.getClasses().size());
+
+        Benchmarks.report("Interning", "%d classes", CLASS_COUNT);
+        Benchmarks.report("Interning", "without interning: %,d bytes retained", withoutInterning);
+        Benchmarks.report("Interning", "with interning:    %,d bytes retained (%.1f%%)", withInterning,
+                100.0 * withInterning / withoutInterning);
+    }
+}
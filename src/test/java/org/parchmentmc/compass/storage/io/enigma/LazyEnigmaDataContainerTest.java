@@ -0,0 +1,99 @@
+package org.parchmentmc.compass.storage.io.enigma;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.MappingDataContainer;
+import org.parchmentmc.feather.mapping.VersionedMDCDelegate;
+import org.parchmentmc.feather.mapping.VersionedMappingDataContainer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LazyEnigmaDataContainerTest {
+    private static final EnigmaFormattedExplodedIO IO = EnigmaFormattedExplodedIO.LEXICOGRAPHIC_SORT_INSTANCE;
+
+    private static LazyEnigmaDataContainer open(Path directory, int maxCachedFiles) throws IOException {
+        final MappingDataBuilder data = new MappingDataBuilder();
+        data.createPackage("com/example").addJavadoc("The package");
+        data.createClass("com/example/A").addJavadoc("Class A")
+                .createField("count", "I").addJavadoc("The count");
+        data.createClass("com/example/A$Inner").addJavadoc("Inner class of A");
+        data.createClass("com/example/B").addJavadoc("Class B");
+        data.createClass("com/example/C").addJavadoc("Class C");
+        IO.write(new VersionedMDCDelegate<>(VersionedMappingDataContainer.CURRENT_FORMAT, data), directory);
+
+        return IO.open(directory, maxCachedFiles);
+    }
+
+    private static void writeMappingFile(Path directory, String outerClass, String contents) throws IOException {
+        Files.write(directory.resolve(outerClass + '.' + IO.getExtension()), contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Classes are looked up through the mapping file of their outer class")
+    public void classes_are_looked_up(@TempDir Path directory) throws IOException {
+        final LazyEnigmaDataContainer container = open(directory, 8);
+
+        assertEquals(Collections.singletonList("The package"), container.getPackage("com/example").getJavadoc());
+
+        final MappingDataContainer.ClassData outer = container.getClass("com/example/A");
+        assertNotNull(outer);
+        assertEquals(Collections.singletonList("Class A"), outer.getJavadoc());
+        assertEquals(Collections.singletonList("The count"), outer.getField("count").getJavadoc());
+
+        final MappingDataContainer.ClassData inner = container.getClass("com/example/A$Inner");
+        assertNotNull(inner);
+        assertEquals(Collections.singletonList("Inner class of A"), inner.getJavadoc());
+        assertTrue(container.isCached("com/example/A"));
+        assertFalse(container.isCached("com/example/B"), "Unrequested mapping file was parsed");
+
+        assertNull(container.getClass("com/example/A$Missing"));
+        assertEquals(4, container.getClasses().size());
+    }
+
+    @Test
+    @DisplayName("The absence of a mapping file is cached")
+    public void missing_mapping_file_is_cached(@TempDir Path directory) throws IOException {
+        final LazyEnigmaDataContainer container = open(directory, 8);
+
+        assertNull(container.getClass("com/example/Missing"));
+        assertNull(container.getClass("com/example/Missing$Inner"));
+        assertTrue(container.isCached("com/example/Missing"));
+
+        // The cached absence is used rather than checking for the file again
+        writeMappingFile(directory, "com/example/Missing", "CLASS com/example/Missing\n\tCOMMENT Now present\n");
+        assertNull(container.getClass("com/example/Missing"));
+    }
+
+    @Test
+    @DisplayName("The least recently used mapping files are evicted, and parsed again when requested")
+    public void least_recently_used_files_are_evicted(@TempDir Path directory) throws IOException {
+        final LazyEnigmaDataContainer container = open(directory, 2);
+
+        assertNotNull(container.getClass("com/example/A"));
+        assertNotNull(container.getClass("com/example/B"));
+        assertNotNull(container.getClass("com/example/A$Inner")); // A is now the most recently used
+        assertNotNull(container.getClass("com/example/C"));
+
+        assertTrue(container.isCached("com/example/A"));
+        assertFalse(container.isCached("com/example/B"), "Least recently used mapping file was not evicted");
+        assertTrue(container.isCached("com/example/C"));
+
+        writeMappingFile(directory, "com/example/B", "CLASS com/example/B\n\tCOMMENT Changed class B\n");
+        final MappingDataContainer.ClassData reparsed = container.getClass("com/example/B");
+        assertNotNull(reparsed);
+        assertEquals(Collections.singletonList("Changed class B"), reparsed.getJavadoc());
+        assertFalse(container.isCached("com/example/A"));
+    }
+}
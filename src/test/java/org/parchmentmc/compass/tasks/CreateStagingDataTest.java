@@ -2,6 +2,7 @@ package org.parchmentmc.compass.tasks;
 
 import org.junit.jupiter.api.Test;
 import org.parchmentmc.compass.tasks.CreateStagingData.InputMode;
+import org.parchmentmc.compass.util.MappingUtil;
 import org.parchmentmc.feather.mapping.MappingDataBuilder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -81,4 +82,25 @@ public class CreateStagingDataTest {
         // inputs if there's an element, even if data is empty), then we can pass in the input tree as the expected data
         assertEquals(input, applyInput(input, InputMode.OVERWRITE));
     }
+
+    @Test
+    public void fused_merge_matches_apply_then_removing_undocumented() {
+        MappingDataBuilder undocumentedBase = MappingDataBuilder.copyOf(CreateStagingDataTest.base);
+        undocumentedBase.createPackage("com/example");
+        undocumentedBase.createClass("com/example/Other").createField("unused", "I");
+        undocumentedBase.getOrCreateClass("com/example/TestApp")
+                .createMethod("run", "(I)V")
+                .createParameter((byte) 1);
+
+        for (InputMode mode : InputMode.values()) {
+            MappingDataBuilder expected = MappingDataBuilder.copyOf(undocumentedBase);
+            CreateStagingData.apply(expected, input, mode);
+            MappingUtil.removeUndocumented(expected);
+
+            MappingDataBuilder fused = MappingDataBuilder.copyOf(undocumentedBase);
+            StagingDataMerger.applyAndRemoveUndocumented(fused, input, mode);
+
+            assertEquals(expected, fused, "Mismatch for input mode " + mode);
+        }
+    }
 }
@@ -0,0 +1,121 @@
+package org.parchmentmc.compass.tasks;
+
+import net.minecraftforge.srgutils.IMappingFile;
+import org.gradle.api.NamedDomainObjectSet;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parchmentmc.compass.providers.IntermediateProvider;
+import org.parchmentmc.compass.storage.input.InputsReader;
+import org.parchmentmc.compass.tasks.CreateStagingData.InputMode;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StagingDataStateTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Updating the staging data with changed inputs matches creating it from the final inputs")
+    public void update_matches_create() throws IOException {
+        final Project project = ProjectBuilder.builder().withProjectDir(directory.resolve("project").toFile()).build();
+        final NamedDomainObjectSet<IntermediateProvider> intermediates =
+                project.getObjects().namedDomainObjectSet(IntermediateProvider.class);
+        intermediates.add(new IntermediateProvider("official") {
+            @Override
+            public IMappingFile getMapping() throws IOException {
+                return IMappingFile.load(new ByteArrayInputStream(
+                        "tsrg2 left right\na/A a/A\n".getBytes(StandardCharsets.UTF_8)));
+            }
+        });
+        final InputsReader inputsReader = new InputsReader(intermediates, null, 1);
+
+        final Path inputs = directory.resolve("inputs");
+        final Path one = write(inputs.resolve("official/one.txt"),
+                "class a/A", "A from one",
+                "class a/B", "B from one");
+        final Path two = write(inputs.resolve("official/two.txt"),
+                "class a/A",
+                "field f I", "f from two",
+                "class a/C", "C from two");
+        final Path three = write(inputs.resolve("official/three.txt"),
+                "class a/D", "D from three");
+
+        final Path stateDir = directory.resolve("state");
+        final StagingDataState initial = new StagingDataState(stateDir, inputs, inputsReader, InputMode.OVERRIDE, project.getLogger());
+        assertFalse(initial.load());
+        initial.save(initial.create(baseData()));
+
+        // a/A is contributed by both the unchanged one.txt and the changed two.txt
+        write(two, "class a/A",
+                "field f I", "f changed in two",
+                "class a/B",
+                "method m ()V", "m from two");
+        Files.delete(three);
+        final Path four = write(inputs.resolve("official/four.txt"),
+                "class a/C", "C from four");
+        // Not inputs: not within an intermediate's directory, or nested within one
+        final Path unknown = write(inputs.resolve("unknown/five.txt"),
+                "class a/E", "E from five");
+        final Path nested = write(inputs.resolve("official/nested/six.txt"),
+                "class a/E", "E from six");
+
+        final StagingDataState incremental = new StagingDataState(stateDir, inputs, inputsReader, InputMode.OVERRIDE, project.getLogger());
+        assertTrue(incremental.load());
+        final MappingDataBuilder updated = incremental.update(Arrays.asList(two, four, unknown, nested),
+                Collections.singletonList(three));
+        incremental.save(updated);
+
+        final StagingDataState full = new StagingDataState(directory.resolve("fullState"), inputs, inputsReader,
+                InputMode.OVERRIDE, project.getLogger());
+        final MappingDataBuilder created = full.create(baseData());
+
+        assertEquals(created, updated);
+
+        // Sanity check the result itself, so the comparison is not between two equally wrong results
+        assertEquals(Collections.singletonList("A from one"), updated.getClass("a/A").getJavadoc());
+        assertEquals(Collections.singletonList("f changed in two"), updated.getClass("a/A").getField("f").getJavadoc());
+        assertEquals(Collections.singletonList("m from two"), updated.getClass("a/B").getMethod("m", "()V").getJavadoc());
+        assertEquals(Collections.singletonList("C from four"), updated.getClass("a/C").getJavadoc());
+        assertNull(updated.getClass("a/D"));
+        assertNull(updated.getClass("a/E"));
+        assertNotNull(updated.getClass("a/F")); // Documented by the base data, and untouched by the inputs
+
+        // The saved state is complete, so the next run is incremental as well
+        assertTrue(new StagingDataState(stateDir, inputs, inputsReader, InputMode.OVERRIDE, project.getLogger()).load());
+    }
+
+    private static MappingDataBuilder baseData() {
+        final MappingDataBuilder data = new MappingDataBuilder();
+        for (String name : Arrays.asList("a/A", "a/B", "a/C", "a/D", "a/E")) {
+            final MappingDataBuilder.MutableClassData cls = data.createClass(name);
+            cls.createField("f", "I");
+            cls.createMethod("m", "()V");
+        }
+        data.createClass("a/F").addJavadoc("F from base");
+        return data;
+    }
+
+    private static Path write(Path file, String... lines) throws IOException {
+        final List<String> content = Arrays.asList(lines);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
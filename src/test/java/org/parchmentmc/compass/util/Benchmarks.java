@@ -0,0 +1,127 @@
+package org.parchmentmc.compass.util;
+
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.MappingDataBuilder.MutableClassData;
+import org.parchmentmc.feather.mapping.MappingDataBuilder.MutableMethodData;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Helpers for the benchmarks, which are tests tagged with {@value #TAG}. The benchmarks are excluded from the
+ * {@code test} task, and are run with the {@code benchmark} task instead, which shows their printed results.
+ *
+ * <p>These are simple wall-clock measurements for comparing two implementations on the same machine, not a substitute
+ * for a proper harness; each measurement is preceded by warmup runs, and the median of the measured runs is taken.</p>
+ */
+public final class Benchmarks {
+    public static final String TAG = "benchmark";
+
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 10;
+
+    private Benchmarks() {
+    } // No instantiation of utilities
+
+    /**
+     * Generates mapping data shaped like real data: classes spread over packages, some of them inner classes, with
+     * documented fields and methods whose descriptors mostly repeat the same few types. The same class count always
+     * generates the same data.
+     *
+     * @param classCount the amount of classes
+     * @return the generated data
+     */
+    public static MappingDataBuilder generateData(int classCount) {
+        final MappingDataBuilder data = new MappingDataBuilder();
+        final Random random = new Random(42);
+        final int packageCount = Math.max(1, classCount / 100);
+        for (int p = 0; p < packageCount; p++) {
+            data.createPackage("net/minecraft/pkg" + p).addJavadoc("Package number " + p);
+        }
+
+        final String[] types = {"I", "J", "Z", "Ljava/lang/String;", "Ljava/util/List;", "[B"};
+        for (int i = 0; i < classCount; i++) {
+            // Every fourth class is an inner class of the class before it
+            final String name = i % 4 == 1
+                    ? "net/minecraft/pkg" + ((i - 1) % packageCount) + "/Class" + (i - 1) + "$Inner" + i
+                    : "net/minecraft/pkg" + (i % packageCount) + "/Class" + i;
+            final MutableClassData cls = data.createClass(name).addJavadoc("The class " + i, "Spanning two lines");
+
+            for (int f = 0; f < 5; f++) {
+                cls.createField("field_" + f, types[random.nextInt(types.length)]).addJavadoc("The field " + f);
+            }
+            for (int m = 0; m < 8; m++) {
+                // Most references are to a few commonly used classes
+                final int other = random.nextInt(Math.min(classCount, 20)) * 4;
+                final String otherClass = "Lnet/minecraft/pkg" + (other % packageCount) + "/Class" + other + ";";
+                final MutableMethodData method = cls.createMethod("method_" + m, "(" + types[random.nextInt(types.length)]
+                        + otherClass + ")" + (m % 2 == 0 ? "V" : otherClass));
+                method.addJavadoc("Does thing " + m);
+                method.createParameter((byte) 1).setName("value").setJavadoc("The value");
+                method.createParameter((byte) (m % 2 == 0 ? 2 : 3)).setName("other");
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Runs the given action repeatedly, returning the median time of a single run.
+     *
+     * @param action the action to measure
+     * @return the median time of a run, in nanoseconds
+     * @throws Exception if the action throws an exception
+     */
+    public static long measure(Action action) throws Exception {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            action.run();
+        }
+
+        final long[] times = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            final long start = System.nanoTime();
+            action.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[MEASURED_RUNS / 2];
+    }
+
+    /**
+     * Returns the used heap after requesting garbage collections until the used heap stops shrinking. This is only
+     * meant for comparing the memory retained by live data between runs.
+     *
+     * @return the used heap, in bytes
+     */
+    public static long usedHeapAfterGc() {
+        final Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            final long current = runtime.totalMemory() - runtime.freeMemory();
+            if (current >= used) break;
+            used = current;
+        }
+        return used;
+    }
+
+    /**
+     * Prints a result line of a benchmark.
+     *
+     * @param benchmark the name of the benchmark
+     * @param format    the format of the result, as for {@link String#format(String, Object...)}
+     * @param args      the arguments of the format
+     */
+    public static void report(String benchmark, String format, Object... args) {
+        System.out.println("[" + benchmark + "] " + String.format(format, args));
+    }
+
+    public static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
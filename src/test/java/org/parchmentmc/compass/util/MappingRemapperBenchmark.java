@@ -0,0 +1,116 @@
+package org.parchmentmc.compass.util;
+
+import net.minecraftforge.srgutils.IMappingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.parchmentmc.feather.mapping.MappingDataBuilder;
+import org.parchmentmc.feather.mapping.MappingDataBuilder.MutableClassData;
+import org.parchmentmc.feather.mapping.MappingDataBuilder.MutableMethodData;
+import org.parchmentmc.feather.mapping.MappingDataContainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Compares remapping data through MappingRemapper against looking up the IMappingFile directly, as remapData did before
+@Tag(Benchmarks.TAG)
+public class MappingRemapperBenchmark {
+    private static final int CLASS_COUNT = 10000;
+
+    @Test
+    @DisplayName("Remapping time through MappingRemapper against direct IMappingFile lookups")
+    public void remapper_against_direct_lookups() throws Exception {
+        final MappingDataContainer data = Benchmarks.generateData(CLASS_COUNT);
+        final IMappingFile mapping = createMapping(data);
+
+        // Both must remap to the same data, or the comparison is meaningless
+        assertEquals(MappingDataBuilder.copyOf(remapWithLookups(data, mapping)),
+                MappingDataBuilder.copyOf(MappingUtil.remapData(data, mapping)));
+
+        final long lookupTime = Benchmarks.measure(() -> remapWithLookups(data, mapping));
+        // Includes building the lookup tables, as remapData does for each call taking a mapping file
+        final long remapperTime = Benchmarks.measure(() -> MappingUtil.remapData(data, mapping));
+        // InputsReader builds the remapper once per intermediate and reuses it for every input file
+        final MappingRemapper remapper = new MappingRemapper(mapping);
+        final long reusedRemapperTime = Benchmarks.measure(() -> MappingUtil.remapData(data, remapper));
+
+        Benchmarks.report("MappingRemapper", "%d classes", CLASS_COUNT);
+        Benchmarks.report("MappingRemapper", "direct lookups:  %.1f ms", Benchmarks.millis(lookupTime));
+        Benchmarks.report("MappingRemapper", "new remapper:    %.1f ms", Benchmarks.millis(remapperTime));
+        Benchmarks.report("MappingRemapper", "reused remapper: %.1f ms", Benchmarks.millis(reusedRemapperTime));
+    }
+
+    // Maps every class, and all but the last field and method of each class, so the fallbacks are also exercised
+    private static IMappingFile createMapping(MappingDataContainer data) throws IOException {
+        final StringBuilder tsrg = new StringBuilder("tsrg2 left right\n");
+        for (MappingDataContainer.ClassData cls : data.getClasses()) {
+            tsrg.append(cls.getName()).append(" mapped/").append(cls.getName()).append('\n');
+            for (MappingDataContainer.FieldData field : cls.getFields()) {
+                if (field.getName().equals("field_4")) continue;
+                tsrg.append('\t').append(field.getName()).append(' ').append(field.getName()).append("_mapped\n");
+            }
+            for (MappingDataContainer.MethodData method : cls.getMethods()) {
+                if (method.getName().equals("method_7")) continue;
+                tsrg.append('\t').append(method.getName()).append(' ').append(method.getDescriptor()).append(' ')
+                        .append(method.getName()).append("_mapped\n");
+            }
+        }
+        return IMappingFile.load(new ByteArrayInputStream(tsrg.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // The previous implementation of MappingUtil.remapData, looking up every class and member in the mapping file
+    private static MappingDataContainer remapWithLookups(MappingDataContainer data, IMappingFile mapping) {
+        MappingDataBuilder builder = new MappingDataBuilder();
+
+        data.getPackages().forEach(pkg -> builder.createPackage(mapping.remapPackage(pkg.getName())).addJavadoc(pkg.getJavadoc()));
+
+        data.getClasses().forEach(cls -> {
+            IMappingFile.IClass mappedClass = mapping.getClass(cls.getName());
+            String clsName = cls.getName();
+            if (mappedClass != null) {
+                clsName = mappedClass.getMapped();
+            }
+            MutableClassData classData = builder.createClass(clsName).addJavadoc(cls.getJavadoc());
+
+            cls.getFields().forEach(field -> {
+                String fieldName = field.getName();
+                String fieldDescriptor = mapping.remapDescriptor(field.getDescriptor());
+
+                if (mappedClass != null) {
+                    IMappingFile.IField mappedField = mappedClass.getField(field.getName());
+                    if (mappedField != null) {
+                        fieldName = mappedField.getMapped();
+                        if (mappedField.getMappedDescriptor() != null) {
+                            fieldDescriptor = mappedField.getMappedDescriptor();
+                        }
+                    }
+                }
+
+                classData.createField(fieldName, fieldDescriptor).addJavadoc(field.getJavadoc());
+            });
+
+            cls.getMethods().forEach(method -> {
+                String methodName = method.getName();
+                String methodDescriptor = method.getDescriptor();
+
+                if (mappedClass != null) {
+                    IMappingFile.IMethod mappedMethod = mappedClass.getMethod(method.getName(), method.getDescriptor());
+                    if (mappedMethod != null) {
+                        methodName = mappedMethod.getMapped();
+                        methodDescriptor = mappedMethod.getMappedDescriptor();
+                    }
+                }
+
+                MutableMethodData methodData = classData.createMethod(methodName, methodDescriptor)
+                        .addJavadoc(method.getJavadoc());
+
+                method.getParameters().forEach(param -> methodData.createParameter(param.getIndex()).setName(param.getName()).setJavadoc(param.getJavadoc()));
+            });
+        });
+
+        return builder;
+    }
+}
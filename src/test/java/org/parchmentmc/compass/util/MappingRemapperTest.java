@@ -0,0 +1,70 @@
+package org.parchmentmc.compass.util;
+
+import net.minecraftforge.srgutils.IMappingFile;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MappingRemapperTest {
+    private static final String MAPPING = "tsrg2 obf named\n"
+            + "a named/Alpha\n"
+            + "\tb I withDescriptor\n"
+            + "\tc withoutDescriptor\n"
+            + "\td (La;)La; method\n"
+            + "b named/Beta\n";
+
+    private static MappingRemapper remapper;
+
+    @BeforeAll
+    public static void load() throws IOException {
+        remapper = new MappingRemapper(IMappingFile.load(new ByteArrayInputStream(MAPPING.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    @DisplayName("Members of unmapped classes keep their names, with only field descriptors remapped")
+    public void unmapped_class_keeps_names() {
+        assertEquals("z", remapper.remapClass("z"));
+
+        assertRemapped("f", "Lnamed/Alpha;", remapper.remapField("z", "f", "La;"));
+        assertRemapped("m", "(La;)V", remapper.remapMethod("z", "m", "(La;)V"));
+    }
+
+    @Test
+    @DisplayName("Mapped fields use the mapped descriptor if present, and remap the descriptor otherwise")
+    public void mapped_fields_use_mapped_descriptor_if_present() {
+        assertEquals("named/Alpha", remapper.remapClass("a"));
+
+        assertRemapped("withDescriptor", "I", remapper.remapField("a", "b", "I"));
+        assertRemapped("withoutDescriptor", "Lnamed/Beta;", remapper.remapField("a", "c", "Lb;"));
+    }
+
+    @Test
+    @DisplayName("Unmapped fields of mapped classes keep their names, with their descriptors remapped")
+    public void unmapped_field_keeps_name() {
+        assertRemapped("x", "Lnamed/Beta;", remapper.remapField("a", "x", "Lb;"));
+    }
+
+    @Test
+    @DisplayName("Mapped methods use the mapped name and descriptor")
+    public void mapped_method_is_remapped() {
+        assertRemapped("method", "(Lnamed/Alpha;)Lnamed/Alpha;", remapper.remapMethod("a", "d", "(La;)La;"));
+    }
+
+    @Test
+    @DisplayName("Unmapped methods, including overloads of mapped methods, keep their names and descriptors")
+    public void unmapped_method_keeps_name_and_descriptor() {
+        assertRemapped("e", "(La;)V", remapper.remapMethod("a", "e", "(La;)V"));
+        assertRemapped("d", "()V", remapper.remapMethod("a", "d", "()V"));
+    }
+
+    private static void assertRemapped(String name, String descriptor, MappingRemapper.RemappedMember member) {
+        assertEquals(name, member.getName());
+        assertEquals(descriptor, member.getDescriptor());
+    }
+}